@@ -2,6 +2,10 @@
 """
 CSV Results Generator for Assignment 3
 Converts JSON output to CSV format for analysis
+
+The runner can write the same CSV directly while it runs:
+    java Assignment3Runner ass_3_input.json assignment3_results.csv
+This script is kept for converting existing JSON outputs.
 """
 
 import json
@@ -1,9 +1,22 @@
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Main class for Assignment 3 - MST Algorithm Comparison
- * Reads graphs from JSON, runs both algorithms, and writes JSON output
+ * Streams graphs from JSON, runs both algorithms, and writes JSON, NDJSON or
+ * CSV output one record per graph in input order (either file may be
+ * gzipped: input is detected, output when named *.gz). Reading, computing
+ * and writing run as a pipeline (see RunnerPipeline), so I/O and CPU overlap
+ * and at most --in-flight graphs are held in memory.
+ *
+ * Usage: java Assignment3Runner [--workers=N] [--in-flight=N] [--reuse-workspace] [--reduce-edges]
+ *                               [--forced-edges] [--format=json|ndjson|csv] [input.json] [output.json]
+ *   --workers sets the compute threads (default: available processors; --parse-threads is an alias)
+ *   --in-flight caps graphs read but not yet written (default: 4 per worker)
+ *   --reduce-edges drops self-loops and all but the lightest parallel edge before the MST runs
+ *   --forced-edges peels degree-1 vertices and contracts bridges, so the MST runs on the core only
+ *   without --format the output format follows the extension (.csv, .ndjson/.jsonl)
  * 
  * @author Almas
  */
@@ -12,87 +25,84 @@ public class Assignment3Runner {
     public static void main(String[] args) {
         String inputFile = "ass_3_input.json";
         String outputFile = "ass_3_output.json";
+        int workers = Runtime.getRuntime().availableProcessors();
+        int inFlight = 0;
+        boolean reuseWorkspace = false;
+        boolean reduceEdges = false;
+        boolean forcedEdges = false;
+        ResultStreamWriter.Format format = null;
         
-        if (args.length >= 1) {
-            inputFile = args[0];
+        // Options start with "--", everything else is positional
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--workers=")) {
+                workers = Integer.parseInt(arg.substring("--workers=".length()));
+            } else if (arg.startsWith("--parse-threads=")) {
+                workers = Integer.parseInt(arg.substring("--parse-threads=".length()));
+            } else if (arg.startsWith("--in-flight=")) {
+                inFlight = Integer.parseInt(arg.substring("--in-flight=".length()));
+            } else if (arg.equals("--reuse-workspace")) {
+                reuseWorkspace = true;
+            } else if (arg.equals("--reduce-edges")) {
+                reduceEdges = true;
+            } else if (arg.equals("--forced-edges")) {
+                forcedEdges = true;
+            } else if (arg.startsWith("--format=")) {
+                format = ResultStreamWriter.Format.parse(arg.substring("--format=".length()));
+            } else {
+                positional.add(arg);
+            }
+        }
+        
+        if (positional.size() >= 1) {
+            inputFile = positional.get(0);
+        }
+        if (positional.size() >= 2) {
+            outputFile = positional.get(1);
+        }
+        if (format == null) {
+            format = ResultStreamWriter.Format.fromFileName(outputFile);
         }
-        if (args.length >= 2) {
-            outputFile = args[1];
+        if (inFlight <= 0) {
+            inFlight = 4 * Math.max(1, workers);
         }
         
+        RunnerMetrics metrics = RunnerMetrics.register();
+        
         try {
             System.err.println("Reading graphs from: " + inputFile);
+            System.err.println("Processing with " + workers + " worker(s), at most " + inFlight + " graphs in flight...");
             
-            // Read all graphs from input file
-            List<GraphReader.GraphData> graphDataList = GraphReader.readGraphsFromJSON(inputFile);
-            
-            System.err.println("Loaded " + graphDataList.size() + " graphs");
-            System.err.println("Processing...");
-            
-            // Process each graph
-            List<ResultWriter.TestResult> results = new ArrayList<>();
-            
-            for (int i = 0; i < graphDataList.size(); i++) {
-                GraphReader.GraphData graphData = graphDataList.get(i);
-                int graphId = graphData.id;
+            // Per-graph progress only makes sense when graphs finish in order
+            boolean verbose = workers == 1;
+            boolean reuse = reuseWorkspace;
+            boolean reduce = reduceEdges;
+            boolean forced = forcedEdges;
+            AtomicInteger started = new AtomicInteger();
+            RunnerPipeline pipeline = new RunnerPipeline(workers, inFlight, metrics, graphData -> {
                 Graph graph = graphData.graph;
-                
-                System.err.printf("Processing graph %d/%d (ID=%d, V=%d, E=%d)...\n", 
-                                 i+1, graphDataList.size(), graphId, 
-                                 graph.getVertexCount(), graph.getEdgeCount());
-                
-                // Check if graph is connected
-                if (!graph.isConnected()) {
-                    System.err.println("  Skipped (disconnected)");
-                    continue;
-                }
-                
-                // Run Prim's algorithm
-                PrimAlgorithm prim = new PrimAlgorithm(graph);
-                boolean primSuccess = prim.findMST();
-                
-                // Run Kruskal's algorithm
-                KruskalAlgorithm kruskal = new KruskalAlgorithm(graph);
-                boolean kruskalSuccess = kruskal.findMST();
-                
-                if (!primSuccess || !kruskalSuccess) {
-                    System.err.println("  Failed");
-                    continue;
+                if (verbose) {
+                    System.err.printf("Processing graph %d (ID=%d, V=%d, E=%d)...\n",
+                                     started.incrementAndGet(), graphData.id,
+                                     graph.getVertexCount(), graph.getEdgeCount());
                 }
-                
-                System.err.printf("  Prim: cost=%d, time=%dms, ops=%d\n",
-                                 prim.getTotalCost(), prim.getExecutionTime(), 
-                                 prim.getOperationCount());
-                System.err.printf("  Kruskal: cost=%d, time=%dms, ops=%d\n",
-                                 kruskal.getTotalCost(), kruskal.getExecutionTime(),
-                                 kruskal.getOperationCount());
-                
-                // Store result
-                ResultWriter.TestResult result = new ResultWriter.TestResult(
-                    graphId,
-                    graph.getVertexCount(),
-                    graph.getEdgeCount(),
-                    prim.getMSTEdges(),
-                    prim.getTotalCost(),
-                    prim.getOperationCount(),
-                    prim.getExecutionTime() * 1000,
-                    kruskal.getMSTEdges(),
-                    kruskal.getTotalCost(),
-                    kruskal.getOperationCount(),
-                    kruskal.getExecutionTime() * 1000
-                );
-                results.add(result);
-            }
-            
-            System.err.println("\nWriting results to: " + outputFile);
+                return processGraph(graphData, metrics, verbose,
+                    reuse ? MSTWorkspace.forCurrentThread() : null, reduce, forced);
+            });
             
-            // Write JSON output to file
-            try (PrintWriter writer = new PrintWriter(new FileWriter(outputFile))) {
-                printJSONOutput(results, writer);
+            // Stream graphs in and results out, one record per graph in input order
+            System.err.println("Writing " + format + " results to: " + outputFile);
+            // Bytes are counted as they stream; the reader and writer each emit their own JFR event
+            int written;
+            try (GraphReader.GraphStream input = GraphReader.openGraphStream(inputFile, metrics::addBytesRead);
+                 ResultStreamWriter writer = ResultStreamWriter.open(outputFile, format, metrics::addBytesWritten)) {
+                written = pipeline.run(input, writer);
             }
+            System.err.println("Read " + metrics.getGraphsLoaded() + " graphs");
             
-            System.err.println("Done! Processed " + results.size() + " graphs");
+            System.err.println("\nDone! Processed " + written + " graphs");
             System.err.println("Output saved to: " + outputFile);
+            System.err.println("Metrics: " + metrics);
             
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
@@ -102,76 +112,131 @@ public class Assignment3Runner {
     }
     
     /**
-     * Print results in JSON format
+     * Run both algorithms on one graph and build its result
+     * 
+     * @param graphData Graph with its ID
+     * @param metrics Metrics to update
+     * @param verbose Whether to print per-graph progress to stderr
+     * @param workspace Reusable workspace of the calling thread, or null to allocate per graph
+     * @return result, or null if the graph was skipped or failed
+     */
+    static ResultWriter.TestResult processGraph(GraphReader.GraphData graphData, RunnerMetrics metrics,
+                                                boolean verbose, MSTWorkspace workspace) {
+        return processGraph(graphData, metrics, verbose, workspace, false, false);
+    }
+    
+    /**
+     * Run both algorithms on one graph and build its result
+     * 
+     * @param graphData Graph with its ID
+     * @param metrics Metrics to update
+     * @param verbose Whether to print per-graph progress to stderr
+     * @param workspace Reusable workspace of the calling thread, or null to allocate per graph
+     * @param reduceEdges Whether to drop self-loops and parallel edges first (input stats stay unreduced)
+     * @param forcedEdges Whether to run the algorithms on the core left after peeling leaves and contracting bridges
+     * @return result, or null if the graph was skipped or failed
      */
-    private static void printJSONOutput(List<ResultWriter.TestResult> results, PrintWriter out) {
-        out.println("{");
-        out.println("  \"results\": [");
+    static ResultWriter.TestResult processGraph(GraphReader.GraphData graphData, RunnerMetrics metrics,
+                                                boolean verbose, MSTWorkspace workspace,
+                                                boolean reduceEdges, boolean forcedEdges) {
+        int graphId = graphData.id;
+        Graph graph = graphData.graph;
         
-        for (int i = 0; i < results.size(); i++) {
-            ResultWriter.TestResult result = results.get(i);
-            
-            out.println("    {");
-            out.printf("      \"graph_id\": %d,%n", result.graphId);
-            
-            // Input stats
-            out.println("      \"input_stats\": {");
-            out.printf("        \"vertices\": %d,%n", result.vertices);
-            out.printf("        \"edges\": %d%n", result.edges);
-            out.println("      },");
-            
-            // Prim results
-            out.println("      \"prim\": {");
-            out.print("        \"mst_edges\": [");
-            printEdges(result.primEdges, out);
-            out.println("        ],");
-            out.printf("        \"total_cost\": %d,%n", result.primCost);
-            out.printf("        \"operations_count\": %d,%n", result.primOperations);
-            out.printf("        \"execution_time_ms\": %.2f%n", result.primTime / 1000.0);
-            out.println("      },");
-            
-            // Kruskal results
-            out.println("      \"kruskal\": {");
-            out.print("        \"mst_edges\": [");
-            printEdges(result.kruskalEdges, out);
-            out.println("        ],");
-            out.printf("        \"total_cost\": %d,%n", result.kruskalCost);
-            out.printf("        \"operations_count\": %d,%n", result.kruskalOperations);
-            out.printf("        \"execution_time_ms\": %.2f%n", result.kruskalTime / 1000.0);
-            out.println("      }");
-            
-            out.print("    }");
-            if (i < results.size() - 1) {
-                out.println(",");
-            } else {
-                out.println();
+        MSTEvents.GraphProcessed event = new MSTEvents.GraphProcessed();
+        event.begin();
+        
+        // Check if graph is connected
+        if (!graph.isConnected()) {
+            if (verbose) System.err.println("  Skipped (disconnected)");
+            metrics.recordSkippedDisconnected();
+            commitGraphEvent(event, graphId, graph, "disconnected");
+            return null;
+        }
+        
+        Graph mstGraph = graph;
+        if (reduceEdges) {
+            mstGraph = EdgeReducer.reduce(graph);
+            if (verbose && mstGraph.getEdgeCount() < graph.getEdgeCount()) {
+                System.err.printf("  Reduced edges: %d -> %d\n", graph.getEdgeCount(), mstGraph.getEdgeCount());
             }
         }
+        ForcedEdgeReducer forced = null;
+        if (forcedEdges) {
+            forced = new ForcedEdgeReducer(mstGraph, true);
+            mstGraph = forced.getCoreGraph();
+            if (verbose) {
+                System.err.printf("  Forced edges: %d (%d leaves, %d bridges), core V=%d, E=%d\n",
+                                 forced.getForcedEdges().size(), forced.getPeeledVertexCount(),
+                                 forced.getBridgeCount(), mstGraph.getVertexCount(), mstGraph.getEdgeCount());
+            }
+        }
+        
+        // Run Prim's algorithm
+        long primStart = System.nanoTime();
+        PrimAlgorithm prim = new PrimAlgorithm(mstGraph);
+        boolean primSuccess = workspace != null ? prim.findMST(workspace) : prim.findMST();
+        
+        // Run Kruskal's algorithm
+        long kruskalStart = System.nanoTime();
+        KruskalAlgorithm kruskal = new KruskalAlgorithm(mstGraph);
+        boolean kruskalSuccess = workspace != null ? kruskal.findMST(workspace) : kruskal.findMST();
+        long kruskalEnd = System.nanoTime();
+        
+        if (!primSuccess || !kruskalSuccess) {
+            if (verbose) System.err.println("  Failed");
+            metrics.recordFailed();
+            commitGraphEvent(event, graphId, graph, "failed");
+            return null;
+        }
+        
+        if (verbose) {
+            System.err.printf("  Prim: cost=%d, time=%dms, ops=%d\n",
+                             prim.getTotalCost(), prim.getExecutionTime(), 
+                             prim.getOperationCount());
+            System.err.printf("  Kruskal: cost=%d, time=%dms, ops=%d\n",
+                             kruskal.getTotalCost(), kruskal.getExecutionTime(),
+                             kruskal.getOperationCount());
+        }
+        
+        // Store result (forced edges are added back to both trees)
+        List<Edge> primEdges = prim.getMSTEdges();
+        List<Edge> kruskalEdges = kruskal.getMSTEdges();
+        int forcedCost = 0;
+        if (forced != null) {
+            primEdges = forced.expand(primEdges);
+            kruskalEdges = forced.expand(kruskalEdges);
+            forcedCost = forced.getForcedCost();
+        }
+        ResultWriter.TestResult result = new ResultWriter.TestResult(
+            graphId,
+            graph.getVertexCount(),
+            graph.getEdgeCount(),
+            primEdges,
+            forcedCost + prim.getTotalCost(),
+            prim.getOperationCount(),
+            prim.getExecutionTime() * 1000,
+            kruskalEdges,
+            forcedCost + kruskal.getTotalCost(),
+            kruskal.getOperationCount(),
+            kruskal.getExecutionTime() * 1000
+        );
+        metrics.recordProcessed(kruskalStart - primStart, kruskalEnd - kruskalStart);
         
-        out.println("  ]");
-        out.println("}");
+        commitGraphEvent(event, graphId, graph, "ok");
+        return result;
     }
     
     /**
-     * Print edges array
+     * Commit a JFR graph event if it is enabled (fields are only filled then)
      */
-    private static void printEdges(List<Edge> edges, PrintWriter out) {
-        if (edges.isEmpty()) {
-            out.println();
-            return;
-        }
-        
-        out.println();
-        for (int i = 0; i < edges.size(); i++) {
-            Edge edge = edges.get(i);
-            out.printf("          {\"from\": \"%s\", \"to\": \"%s\", \"weight\": %d}",
-                      edge.getFrom(), edge.getTo(), edge.getWeight());
-            
-            if (i < edges.size() - 1) {
-                out.println(",");
-            } else {
-                out.println();
-            }
+    private static void commitGraphEvent(MSTEvents.GraphProcessed event, int graphId, Graph graph,
+                                         String outcome) {
+        if (event.shouldCommit()) {
+            event.graphId = graphId;
+            event.vertices = graph.getVertexCount();
+            event.edges = graph.getEdgeCount();
+            event.outcome = outcome;
+            event.commit();
         }
     }
 }
@@ -0,0 +1,200 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongConsumer;
+import java.util.zip.*;
+
+/**
+ * Opens input and output files with transparent gzip support
+ * Input is decompressed on the fly when the file starts with the gzip magic
+ * bytes (whatever its name); output is compressed when the file name ends
+ * with ".gz". All streams use large buffers, so a gzipped input is read
+ * without a temporary decompressed copy on disk.
+ *
+ * @author Almas
+ */
+public final class CompressedIO {
+    public static final int BUFFER_SIZE = 1 << 16;
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+
+    private CompressedIO() {
+    }
+
+    /**
+     * Check if an output file name asks for gzip compression
+     * @param filename File name
+     * @return true if it ends with ".gz"
+     */
+    public static boolean isGzipName(String filename) {
+        return filename.endsWith(".gz");
+    }
+
+    /**
+     * Open a file for reading, decompressing it if it is gzipped
+     * @param filename Input file
+     * @return buffered stream of the (decompressed) content
+     * @throws IOException if the file cannot be opened or has a corrupt gzip header
+     */
+    public static InputStream openInput(String filename) throws IOException {
+        return openInput(filename, null);
+    }
+
+    /**
+     * Open a file for reading, decompressing it if it is gzipped, and report
+     * the bytes read from the file (compressed size) as they are consumed
+     * @param filename Input file
+     * @param bytesRead Receives each number of file bytes read (may be null)
+     * @return buffered stream of the (decompressed) content
+     * @throws IOException if the file cannot be opened or has a corrupt gzip header
+     */
+    public static InputStream openInput(String filename, LongConsumer bytesRead) throws IOException {
+        InputStream file = new FileInputStream(filename);
+        if (bytesRead != null) {
+            file = new CountingInputStream(file, bytesRead);
+        }
+        InputStream in = new BufferedInputStream(file, BUFFER_SIZE);
+        try {
+            in.mark(2);
+            int first = in.read();
+            int second = in.read();
+            in.reset();
+            if (first == GZIP_MAGIC_1 && second == GZIP_MAGIC_2) {
+                return new BufferedInputStream(new GZIPInputStream(in, BUFFER_SIZE), BUFFER_SIZE);
+            }
+            return in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a UTF-8 text file for reading, decompressing it if it is gzipped
+     * @param filename Input file
+     * @return buffered reader
+     * @throws IOException if the file cannot be opened
+     */
+    public static BufferedReader openReader(String filename) throws IOException {
+        return openReader(filename, null);
+    }
+
+    /**
+     * Open a UTF-8 text file for reading, decompressing it if it is gzipped
+     * @param filename Input file
+     * @param bytesRead Receives each number of file bytes read (may be null)
+     * @return buffered reader
+     * @throws IOException if the file cannot be opened
+     */
+    public static BufferedReader openReader(String filename, LongConsumer bytesRead) throws IOException {
+        return new BufferedReader(new InputStreamReader(openInput(filename, bytesRead), StandardCharsets.UTF_8),
+                                  BUFFER_SIZE);
+    }
+
+    /**
+     * Open a file for writing, compressing it if the name ends with ".gz"
+     * @param filename Output file
+     * @return buffered stream
+     * @throws IOException if the file cannot be created
+     */
+    public static OutputStream openOutput(String filename) throws IOException {
+        return openOutput(filename, null);
+    }
+
+    /**
+     * Open a file for writing, compressing it if the name ends with ".gz", and
+     * report the bytes written to the file (compressed size) as they are flushed
+     * @param filename Output file
+     * @param bytesWritten Receives each number of file bytes written (may be null)
+     * @return buffered stream
+     * @throws IOException if the file cannot be created
+     */
+    public static OutputStream openOutput(String filename, LongConsumer bytesWritten) throws IOException {
+        OutputStream out = new FileOutputStream(filename);
+        if (bytesWritten != null) {
+            out = new CountingOutputStream(out, bytesWritten);
+        }
+        if (isGzipName(filename)) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedOutputStream(out, BUFFER_SIZE);
+    }
+
+    /**
+     * Open a UTF-8 text file for writing, compressing it if the name ends with ".gz"
+     * @param filename Output file
+     * @return buffered writer
+     * @throws IOException if the file cannot be created
+     */
+    public static BufferedWriter openWriter(String filename) throws IOException {
+        return openWriter(filename, null);
+    }
+
+    /**
+     * Open a UTF-8 text file for writing, compressing it if the name ends with ".gz"
+     * @param filename Output file
+     * @param bytesWritten Receives each number of file bytes written (may be null)
+     * @return buffered writer
+     * @throws IOException if the file cannot be created
+     */
+    public static BufferedWriter openWriter(String filename, LongConsumer bytesWritten) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(openOutput(filename, bytesWritten), StandardCharsets.UTF_8),
+                                  BUFFER_SIZE);
+    }
+
+    /**
+     * Reports the bytes read through it
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final LongConsumer bytesRead;
+
+        CountingInputStream(InputStream in, LongConsumer bytesRead) {
+            super(in);
+            this.bytesRead = bytesRead;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) bytesRead.accept(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = in.read(buffer, offset, length);
+            if (n > 0) bytesRead.accept(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            if (skipped > 0) bytesRead.accept(skipped);
+            return skipped;
+        }
+    }
+
+    /**
+     * Reports the bytes written through it
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private final LongConsumer bytesWritten;
+
+        CountingOutputStream(OutputStream out, LongConsumer bytesWritten) {
+            super(out);
+            this.bytesWritten = bytesWritten;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytesWritten.accept(1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            bytesWritten.accept(length);
+        }
+    }
+}
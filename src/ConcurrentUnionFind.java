@@ -0,0 +1,132 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free Union-Find (Disjoint Set) over dense int vertex ids
+ * Thread-safe variant of IntUnionFind: any number of threads may call
+ * find, union and connected at the same time. Parent links live in an
+ * AtomicIntegerArray and every change is a single compare-and-set:
+ *   - linking makes one root point to another, and only succeeds while the
+ *     linked vertex is still a root (otherwise the union retries)
+ *   - path halving swings a vertex from its parent to its grandparent, and
+ *     is simply skipped if another thread changed the link first
+ * A vertex stops being a root exactly once, so links never form cycles.
+ *
+ * Roots are linked by a fixed random priority (a bijective hash of the
+ * id), which keeps trees shallow like union by rank without a second word
+ * per vertex that would have to be updated atomically with the parent.
+ *
+ * @author Almas
+ */
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+    private final AtomicInteger setCount;
+
+    /**
+     * Constructor - every vertex starts in its own set
+     * @param size Number of vertices (ids 0..size-1)
+     */
+    public ConcurrentUnionFind(int size) {
+        parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parent.set(i, i);
+        }
+        setCount = new AtomicInteger(size);
+    }
+
+    /**
+     * Find the root of the set containing vertex
+     * Uses path halving (by compare-and-set) for optimization
+     *
+     * @param vertex Vertex id
+     * @return Root of the set at some moment during the call
+     */
+    public int find(int vertex) {
+        while (true) {
+            int p = parent.get(vertex);
+            if (p == vertex) {
+                return vertex;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(vertex, p, grandparent);
+            }
+            vertex = grandparent;
+        }
+    }
+
+    /**
+     * Union two sets containing vertices u and v
+     * Links the root of lower priority under the other one
+     *
+     * @param u First vertex id
+     * @param v Second vertex id
+     * @return true if this call merged two different sets
+     */
+    public boolean union(int u, int v) {
+        while (true) {
+            int rootU = find(u);
+            int rootV = find(v);
+            if (rootU == rootV) {
+                return false; // Already in same set
+            }
+            if (priority(rootU) > priority(rootV)) {
+                int swap = rootU;
+                rootU = rootV;
+                rootV = swap;
+            }
+            if (parent.compareAndSet(rootU, rootU, rootV)) {
+                setCount.decrementAndGet();
+                return true;
+            }
+            // rootU was linked by another thread meanwhile: retry from the new roots
+        }
+    }
+
+    /**
+     * Check if two vertices are in the same set (connected)
+     * A false answer is only returned if the first root found was still a
+     * root after the second one was found, i.e. the sets were different at
+     * that moment.
+     *
+     * @param u First vertex id
+     * @param v Second vertex id
+     * @return true if connected
+     */
+    public boolean connected(int u, int v) {
+        while (true) {
+            int rootU = find(u);
+            int rootV = find(v);
+            if (rootU == rootV) {
+                return true;
+            }
+            if (parent.get(rootU) == rootU) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Get the number of disjoint sets (exact once concurrent unions have finished)
+     * @return set count
+     */
+    public int getSetCount() {
+        return setCount.get();
+    }
+
+    /**
+     * Get the number of vertices
+     * @return size
+     */
+    public int size() {
+        return parent.length();
+    }
+
+    /**
+     * Fixed link priority: a bijective mix of the id, so equal priorities cannot occur
+     */
+    private static int priority(int vertex) {
+        int h = vertex * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
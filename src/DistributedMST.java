@@ -0,0 +1,785 @@
+import java.io.*;
+import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Distributed Minimum Spanning Tree over worker JVMs
+ * The coordinator splits the edge list into one contiguous chunk per
+ * worker and ships each chunk over a socket; every worker computes the
+ * minimum spanning forest of its chunk with KruskalAlgorithm and sends back
+ * only the forest edges (at most V-1 per worker). The coordinator merges
+ * the forests with one more Kruskal run. An edge outside its chunk's forest
+ * is the heaviest on some cycle, so it cannot be in the MST either.
+ *
+ * Chunks keep the input edge order and Kruskal sorts stably, so ties are
+ * broken by edge index everywhere and the tree matches KruskalAlgorithm's.
+ *
+ * A binary edge file (GraphGenerator.BinaryEdgeWriter format) is streamed
+ * to the workers range by range instead of being loaded, so for it the
+ * coordinator holds only O(V) plus the forests the workers send back.
+ *
+ * Wire format (big-endian ints, one request per connection):
+ *   request:  OP_FOREST, m, then m x (from, to, weight)  |  OP_SHUTDOWN
+ *   response: k, then k ascending positions of forest edges in the chunk
+ *
+ * The protocol has no authentication, so workers listen on loopback only
+ * unless a bind address is given explicitly; only expose them on a trusted
+ * network. Workers reject negative edge counts and grow their arrays as
+ * edges arrive, so a bogus count cannot force a large allocation.
+ *
+ * Usage:
+ *   java DistributedMST --worker [port] [bind-address]      (run one worker, loopback by default)
+ *   java DistributedMST [--workers=host:port,...] [--local-workers=N] [input.json]
+ *
+ * @author Almas
+ */
+public class DistributedMST implements Closeable {
+    static final int OP_FOREST = 1;
+    static final int OP_SHUTDOWN = 2;
+    static final String READY_PREFIX = "DistributedMST worker listening on port ";
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final int READ_TIMEOUT_MILLIS = 10 * 60_000;  // per read; covers a worker's compute time
+    private static final int INITIAL_CHUNK_CAPACITY = 1 << 16;
+
+    private final List<InetSocketAddress> workers;
+    private final ExecutorService senders;
+
+    private Graph graph;
+    private int[] mstEdgeIndices;
+    private int[] mstFrom;      // endpoints and weights of the MST edges only, so no input is retained
+    private int[] mstTo;
+    private int[] mstWeight;
+    private List<Edge> mstEdges;
+    private int totalCost;
+    private int candidateEdgeCount;
+    private long executionTime;
+
+    /**
+     * Writes edges [start, end) of the input to a worker as (from, to, weight) ints
+     */
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(DataOutputStream out, int start, int end) throws IOException;
+    }
+
+    /**
+     * Constructor
+     * @param workers Worker addresses (one chunk is sent to each)
+     */
+    public DistributedMST(List<InetSocketAddress> workers) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        this.workers = new ArrayList<>(workers);
+        this.senders = Executors.newFixedThreadPool(workers.size(), runnable -> {
+            Thread thread = new Thread(runnable, "mst-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mstEdgeIndices = new int[0];
+        this.mstFrom = new int[0];
+        this.mstTo = new int[0];
+        this.mstWeight = new int[0];
+    }
+
+    /**
+     * Find the Minimum Spanning Tree of a graph
+     * @param graph Input graph
+     * @return true if MST found, false if graph is disconnected
+     * @throws IOException if a worker cannot be reached or fails
+     */
+    public boolean findMST(Graph graph) throws IOException {
+        List<Edge> edges = graph.getEdgeView();
+        Map<String, Integer> ids = new HashMap<>(graph.getVertexCount() * 2);
+        for (String vertex : graph.getVertexView()) {
+            ids.put(vertex, ids.size());
+        }
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            Edge edge = edges.get(i);
+            from[i] = ids.get(edge.getFrom());
+            to[i] = ids.get(edge.getTo());
+            weight[i] = edge.getWeight();
+        }
+        boolean success = findMST(ids.size(), from, to, weight, m);
+        this.graph = graph;
+        return success;
+    }
+
+    /**
+     * Find the Minimum Spanning Tree of a graph given as int edge arrays (arrays are not copied)
+     * @param vertexCount Number of vertices (ids 0..vertexCount-1)
+     * @param from Edge start vertex ids
+     * @param to Edge end vertex ids
+     * @param weight Edge weights
+     * @param edgeCount Number of edges to use from the arrays
+     * @return true if MST found, false if graph is disconnected
+     * @throws IOException if a worker cannot be reached or fails
+     */
+    public boolean findMST(int vertexCount, int[] from, int[] to, int[] weight, int edgeCount)
+            throws IOException {
+        long startTime = System.nanoTime();
+        reset();
+        if (vertexCount == 0) {
+            executionTime = 0;
+            return false;
+        }
+
+        int[] candidates = collectForests(edgeCount, (out, start, end) -> {
+            for (int i = start; i < end; i++) {
+                out.writeInt(from[i]);
+                out.writeInt(to[i]);
+                out.writeInt(weight[i]);
+            }
+        });
+        int k = candidates.length;
+        int[] candidateFrom = new int[k];
+        int[] candidateTo = new int[k];
+        int[] candidateWeight = new int[k];
+        for (int i = 0; i < k; i++) {
+            candidateFrom[i] = from[candidates[i]];
+            candidateTo[i] = to[candidates[i]];
+            candidateWeight[i] = weight[candidates[i]];
+        }
+        mergeForests(candidates, candidateFrom, candidateTo, candidateWeight);
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000; // Convert to milliseconds
+        return mstEdgeIndices.length == vertexCount - 1;
+    }
+
+    /**
+     * Find the Minimum Spanning Tree of a binary edge file without loading it
+     * The file holds big-endian (from, to, weight) int triples, as written by
+     * GraphGenerator.BinaryEdgeWriter. Each sender streams its byte range of
+     * the file straight to its worker, and the coordinator reads back only
+     * the candidate edges, so it holds O(V) plus the returned forests.
+     *
+     * @param edgeFile Binary edge file (edge indices are record positions)
+     * @param vertexCount Number of vertices (ids 0..vertexCount-1)
+     * @return true if MST found, false if graph is disconnected
+     * @throws IOException if the file is truncated or has more than Integer.MAX_VALUE
+     *                     edges, holds an invalid vertex id, or a worker fails
+     */
+    public boolean findMST(Path edgeFile, int vertexCount) throws IOException {
+        long startTime = System.nanoTime();
+        reset();
+        if (vertexCount == 0) {
+            executionTime = 0;
+            return false;
+        }
+
+        long size = Files.size(edgeFile);
+        if (size % ExternalKruskalAlgorithm.RECORD_BYTES != 0) {
+            throw new IOException("truncated edge file: " + size % ExternalKruskalAlgorithm.RECORD_BYTES
+                                  + " trailing bytes");
+        }
+        long edgeCount = size / ExternalKruskalAlgorithm.RECORD_BYTES;
+        if (edgeCount > Integer.MAX_VALUE) {
+            throw new IOException("Too many edges for int indices: " + edgeCount);
+        }
+
+        int[] candidates = collectForests((int) edgeCount,
+                                          (out, start, end) -> copyRecords(edgeFile, start, end, out));
+
+        // Read back the candidate records; positions ascend, so this is one forward pass
+        int k = candidates.length;
+        int[] candidateFrom = new int[k];
+        int[] candidateTo = new int[k];
+        int[] candidateWeight = new int[k];
+        try (FileChannel channel = FileChannel.open(edgeFile, StandardOpenOption.READ)) {
+            ByteBuffer record = ByteBuffer.allocate(ExternalKruskalAlgorithm.RECORD_BYTES);
+            for (int i = 0; i < k; i++) {
+                long position = (long) candidates[i] * ExternalKruskalAlgorithm.RECORD_BYTES;
+                record.clear();
+                while (record.hasRemaining()) {
+                    if (channel.read(record, position + record.position()) < 0) {
+                        throw new IOException("Edge file shrank while reading edge " + candidates[i]);
+                    }
+                }
+                candidateFrom[i] = record.getInt(0);
+                candidateTo[i] = record.getInt(4);
+                candidateWeight[i] = record.getInt(8);
+                if (candidateFrom[i] >= vertexCount || candidateTo[i] >= vertexCount) {
+                    throw new IOException("Invalid vertex id in edge " + candidates[i]);
+                }
+            }
+        }
+        mergeForests(candidates, candidateFrom, candidateTo, candidateWeight);
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000; // Convert to milliseconds
+        return mstEdgeIndices.length == vertexCount - 1;
+    }
+
+    private void reset() {
+        this.graph = null;
+        this.mstEdges = null;
+        this.mstEdgeIndices = new int[0];
+        this.mstFrom = new int[0];
+        this.mstTo = new int[0];
+        this.mstWeight = new int[0];
+        this.totalCost = 0;
+        this.candidateEdgeCount = 0;
+    }
+
+    /**
+     * Ship one contiguous chunk to every worker at once and gather their forests
+     * @return input indices of all forest edges, ascending
+     */
+    private int[] collectForests(int edgeCount, ChunkWriter chunks) throws IOException {
+        int parts = workers.size();
+        List<Future<int[]>> forests = new ArrayList<>(parts);
+        for (int p = 0; p < parts; p++) {
+            InetSocketAddress worker = workers.get(p);
+            int start = (int) ((long) edgeCount * p / parts);
+            int end = (int) ((long) edgeCount * (p + 1) / parts);
+            forests.add(senders.submit(() -> requestForest(worker, chunks, start, end)));
+        }
+
+        // Forest edges of all chunks, in input order
+        int[] candidates = new int[0];
+        for (Future<int[]> forest : forests) {
+            int[] chunk = await(forest);
+            int offset = candidates.length;
+            candidates = Arrays.copyOf(candidates, offset + chunk.length);
+            System.arraycopy(chunk, 0, candidates, offset, chunk.length);
+        }
+        candidateEdgeCount = candidates.length;
+        return candidates;
+    }
+
+    /**
+     * Merge the workers' forests and keep the MST edges
+     */
+    private void mergeForests(int[] candidates, int[] candidateFrom, int[] candidateTo, int[] candidateWeight) {
+        int[] merged = localForest(candidateFrom, candidateTo, candidateWeight, candidates.length);
+        mstEdgeIndices = new int[merged.length];
+        mstFrom = new int[merged.length];
+        mstTo = new int[merged.length];
+        mstWeight = new int[merged.length];
+        for (int i = 0; i < merged.length; i++) {
+            int c = merged[i];
+            mstEdgeIndices[i] = candidates[c];
+            mstFrom[i] = candidateFrom[c];
+            mstTo[i] = candidateTo[c];
+            mstWeight[i] = candidateWeight[c];
+            totalCost += candidateWeight[c];
+        }
+    }
+
+    /**
+     * Copy records [start, end) of a binary edge file to a worker; they are already in wire format
+     */
+    private static void copyRecords(Path edgeFile, int start, int end, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(edgeFile, StandardOpenOption.READ)) {
+            channel.position((long) start * ExternalKruskalAlgorithm.RECORD_BYTES);
+            InputStream in = Channels.newInputStream(channel);
+            byte[] buffer = new byte[CompressedIO.BUFFER_SIZE];
+            long remaining = (long) (end - start) * ExternalKruskalAlgorithm.RECORD_BYTES;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new IOException("Edge file shrank while sending edges " + start + ".." + end);
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    /**
+     * Send one chunk to a worker and read back its forest
+     * @return input indices of the chunk's forest edges, ascending
+     */
+    private static int[] requestForest(InetSocketAddress worker, ChunkWriter chunks, int start, int end)
+            throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(worker, CONNECT_TIMEOUT_MILLIS);
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(socket.getOutputStream(), CompressedIO.BUFFER_SIZE));
+            out.writeInt(OP_FOREST);
+            out.writeInt(end - start);
+            chunks.write(out, start, end);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(
+                new BufferedInputStream(socket.getInputStream(), CompressedIO.BUFFER_SIZE));
+            int count = in.readInt();
+            if (count < 0 || count > end - start) {
+                throw new IOException("Invalid forest size: " + count);
+            }
+            int[] forest = new int[count];
+            for (int i = 0; i < count; i++) {
+                int position = in.readInt();
+                if (position < 0 || position >= end - start) {
+                    throw new IOException("Invalid forest position: " + position);
+                }
+                forest[i] = start + position;
+            }
+            return forest;
+        } catch (IOException e) {
+            throw new IOException("Worker " + worker + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static int[] await(Future<int[]> forest) throws IOException {
+        try {
+            return forest.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a worker");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Minimum spanning forest of an edge list, Kruskal over int arrays
+     * Vertex ids are compressed to the ones that occur in the list, so memory
+     * follows the edge count whatever the ids are. Edges are ordered by
+     * weight, ties by position, which is KruskalAlgorithm's stable order.
+     *
+     * @return positions of the forest edges in the given arrays, ascending
+     */
+    static int[] localForest(int[] from, int[] to, int[] weight, int count) {
+        // Dense ids: rank of each endpoint among the distinct ids
+        int[] ids = new int[2 * count];
+        System.arraycopy(from, 0, ids, 0, count);
+        System.arraycopy(to, 0, ids, count, count);
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = IndexSort.longKey(weight[i]);
+        }
+        int[] order = IndexSort.sortedIndices(keys, count);
+
+        IntUnionFind uf = new IntUnionFind(distinct);
+        int[] result = new int[Math.max(distinct - 1, 0)];
+        int size = 0;
+        for (int k = 0; k < count && size < result.length; k++) {
+            int edge = order[k];
+            if (uf.union(Arrays.binarySearch(ids, 0, distinct, from[edge]),
+                         Arrays.binarySearch(ids, 0, distinct, to[edge]))) {
+                result[size++] = edge;
+            }
+        }
+        result = Arrays.copyOf(result, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Get the indices of the MST edges (into the input edge order), ascending
+     * @return edge indices
+     */
+    public int[] getMSTEdgeIndices() {
+        return mstEdgeIndices.clone();
+    }
+
+    /**
+     * Get the MST edges
+     * @return List of edges in MST
+     */
+    public List<Edge> getMSTEdges() {
+        if (mstEdges == null) {
+            // Graph edges as given, or "V{id}" names for array and file input
+            mstEdges = new ArrayList<>(mstEdgeIndices.length);
+            for (int i = 0; i < mstEdgeIndices.length; i++) {
+                mstEdges.add(graph != null ? graph.getEdgeView().get(mstEdgeIndices[i])
+                    : new Edge(GraphGenerator.vertexName(mstFrom[i]), GraphGenerator.vertexName(mstTo[i]),
+                               mstWeight[i]));
+            }
+        }
+        return new ArrayList<>(mstEdges);
+    }
+
+    /**
+     * Get the total cost of MST
+     * @return total cost
+     */
+    public int getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Get the number of forest edges the workers sent back (input of the merge)
+     * @return candidate edge count
+     */
+    public int getCandidateEdgeCount() {
+        return candidateEdgeCount;
+    }
+
+    /**
+     * Get execution time in milliseconds, including transfer
+     * @return execution time
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Get formatted results string
+     * @return results string
+     */
+    public String getResultsString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Distributed MST Results:\n");
+        sb.append("Workers: ").append(workers.size()).append("\n");
+        sb.append("Total Cost: ").append(totalCost).append("\n");
+        sb.append("Number of Edges: ").append(mstEdgeIndices.length).append("\n");
+        sb.append("Candidate Edges: ").append(candidateEdgeCount).append("\n");
+        sb.append("Execution Time: ").append(executionTime).append(" ms\n");
+        sb.append("MST Edges:\n");
+        for (Edge edge : getMSTEdges()) {
+            sb.append("  ").append(edge).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Stop the coordinator's sender threads (workers keep running)
+     */
+    @Override
+    public void close() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * Ask a worker to shut down
+     * @param worker Worker address
+     * @throws IOException if the worker cannot be reached
+     */
+    public static void shutdownWorker(InetSocketAddress worker) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(worker, CONNECT_TIMEOUT_MILLIS);
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeInt(OP_SHUTDOWN);
+            out.flush();
+            socket.getInputStream().read(); // Wait until the worker closes the connection
+        }
+    }
+
+    /**
+     * Worker: computes the spanning forest of every chunk it receives
+     * Each connection is served on its own thread, so one worker can serve
+     * several coordinators.
+     */
+    public static final class Worker implements Closeable {
+        private final ServerSocket serverSocket;
+        private final ExecutorService connections;
+        private final Thread acceptor;
+        private final CountDownLatch stopped;
+        private volatile boolean running;
+
+        /**
+         * Constructor - binds the port on loopback; call start() to accept requests
+         * @param port Port to listen on (0 = any free port)
+         * @throws IOException if the port cannot be bound
+         */
+        public Worker(int port) throws IOException {
+            this(InetAddress.getLoopbackAddress(), port);
+        }
+
+        /**
+         * Constructor - binds the port on the given address; call start() to accept requests
+         * The protocol is unauthenticated: bind beyond loopback only on a trusted network
+         * @param bindAddress Address to listen on
+         * @param port Port to listen on (0 = any free port)
+         * @throws IOException if the port cannot be bound
+         */
+        public Worker(InetAddress bindAddress, int port) throws IOException {
+            this.serverSocket = new ServerSocket(port, 0, bindAddress);
+            this.connections = Executors.newCachedThreadPool();
+            this.acceptor = new Thread(this::acceptLoop, "mst-worker-" + serverSocket.getLocalPort());
+            this.acceptor.setDaemon(true);
+            this.stopped = new CountDownLatch(1);
+        }
+
+        /**
+         * Start accepting requests
+         */
+        public void start() {
+            running = true;
+            acceptor.start();
+        }
+
+        /**
+         * Get the port the worker listens on
+         * @return port
+         */
+        public int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        /**
+         * Get the address to reach the worker (loopback if it listens on all interfaces)
+         * @return address
+         */
+        public InetSocketAddress getAddress() {
+            InetAddress bound = serverSocket.getInetAddress();
+            return new InetSocketAddress(bound.isAnyLocalAddress() ? InetAddress.getLoopbackAddress() : bound,
+                                         getPort());
+        }
+
+        /**
+         * Wait until the worker is closed or receives OP_SHUTDOWN
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public void awaitShutdown() throws InterruptedException {
+            stopped.await();
+        }
+
+        private void acceptLoop() {
+            while (running) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    try {
+                        connections.execute(() -> serve(socket));
+                    } catch (RejectedExecutionException e) {
+                        socket.close(); // Closed while accepting
+                    }
+                } catch (IOException e) {
+                    if (running) {
+                        System.err.println("Worker accept failed: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (Socket s = socket) {
+                s.setSoTimeout(READ_TIMEOUT_MILLIS);
+                DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(s.getInputStream(), CompressedIO.BUFFER_SIZE));
+                int op = in.readInt();
+                if (op == OP_SHUTDOWN) {
+                    close();
+                    return;
+                }
+                if (op != OP_FOREST) {
+                    throw new IOException("Unknown request: " + op);
+                }
+
+                int m = in.readInt();
+                if (m < 0) {
+                    throw new IOException("Invalid edge count: " + m);
+                }
+
+                // Grow as edges arrive: memory follows the bytes actually sent, not the claimed count
+                int capacity = Math.min(m, INITIAL_CHUNK_CAPACITY);
+                int[] from = new int[capacity];
+                int[] to = new int[capacity];
+                int[] weight = new int[capacity];
+                for (int i = 0; i < m; i++) {
+                    if (i == from.length) {
+                        capacity = (int) Math.min(m, 2L * capacity);
+                        from = Arrays.copyOf(from, capacity);
+                        to = Arrays.copyOf(to, capacity);
+                        weight = Arrays.copyOf(weight, capacity);
+                    }
+                    from[i] = in.readInt();
+                    to[i] = in.readInt();
+                    weight[i] = in.readInt();
+                    if (from[i] < 0 || to[i] < 0) {
+                        throw new IOException("Invalid vertex id in edge " + i);
+                    }
+                }
+                int[] forest = localForest(from, to, weight, m);
+
+                DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(s.getOutputStream(), CompressedIO.BUFFER_SIZE));
+                out.writeInt(forest.length);
+                for (int position : forest) {
+                    out.writeInt(position);
+                }
+                out.flush();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Worker request failed: " + e);
+            }
+        }
+
+        /**
+         * Stop accepting requests (requests in progress are abandoned)
+         */
+        @Override
+        public void close() {
+            running = false;
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+            connections.shutdownNow();
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Worker JVMs started on this machine
+     */
+    public static final class LocalCluster implements Closeable {
+        private final List<Process> processes;
+        private final List<InetSocketAddress> addresses;
+
+        private LocalCluster(List<Process> processes, List<InetSocketAddress> addresses) {
+            this.processes = processes;
+            this.addresses = addresses;
+        }
+
+        /**
+         * Get the worker addresses
+         * @return addresses, one per process
+         */
+        public List<InetSocketAddress> getAddresses() {
+            return new ArrayList<>(addresses);
+        }
+
+        /**
+         * Shut every worker down, killing any that do not exit in time
+         */
+        @Override
+        public void close() {
+            for (int i = 0; i < processes.size(); i++) {
+                try {
+                    shutdownWorker(addresses.get(i));
+                } catch (IOException e) {
+                    // Worker already gone
+                }
+            }
+            for (Process process : processes) {
+                try {
+                    if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                        process.destroyForcibly();
+                    }
+                } catch (InterruptedException e) {
+                    process.destroyForcibly();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Launch worker JVMs on localhost with this JVM's java binary and class path
+     * @param count Number of workers
+     * @param jvmOptions Extra JVM options for the workers (e.g. "-Xmx2g")
+     * @return running cluster
+     * @throws IOException if a worker cannot be started
+     */
+    public static LocalCluster launchLocalWorkers(int count, String... jvmOptions) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<Process> processes = new ArrayList<>(count);
+        List<InetSocketAddress> addresses = new ArrayList<>(count);
+        LocalCluster cluster = new LocalCluster(processes, addresses);
+        try {
+            for (int i = 0; i < count; i++) {
+                List<String> command = new ArrayList<>();
+                command.add(java);
+                command.addAll(Arrays.asList(jvmOptions));
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add("DistributedMST");
+                command.add("--worker");
+                command.add("0");
+                Process process = new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+                processes.add(process);
+
+                // The worker prints its port once it is listening
+                BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+                String line = reader.readLine();
+                if (line == null || !line.startsWith(READY_PREFIX)) {
+                    throw new IOException("Worker " + i + " did not start: " + line);
+                }
+                int port = Integer.parseInt(line.substring(READY_PREFIX.length()).trim());
+                addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Process process : processes) {
+                process.destroyForcibly();
+            }
+            throw e;
+        }
+        return cluster;
+    }
+
+    /**
+     * Run a worker, or coordinate the graphs of an input file and compare with Kruskal
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 1 && args[0].equals("--worker")) {
+            int port = args.length >= 2 ? Integer.parseInt(args[1]) : 0;
+            InetAddress bindAddress = args.length >= 3 ? InetAddress.getByName(args[2])
+                                                       : InetAddress.getLoopbackAddress();
+            Worker worker = new Worker(bindAddress, port);
+            worker.start();
+            System.out.println(READY_PREFIX + worker.getPort());
+            System.out.flush();
+            worker.awaitShutdown();
+            return;
+        }
+
+        String inputFile = "ass_3_input.json";
+        List<InetSocketAddress> workers = new ArrayList<>();
+        int localWorkers = 2;
+        for (String arg : args) {
+            if (arg.startsWith("--workers=")) {
+                for (String hostPort : arg.substring("--workers=".length()).split(",")) {
+                    int colon = hostPort.lastIndexOf(':');
+                    workers.add(new InetSocketAddress(hostPort.substring(0, colon),
+                                                      Integer.parseInt(hostPort.substring(colon + 1))));
+                }
+            } else if (arg.startsWith("--local-workers=")) {
+                localWorkers = Integer.parseInt(arg.substring("--local-workers=".length()));
+            } else {
+                inputFile = arg;
+            }
+        }
+
+        LocalCluster cluster = null;
+        if (workers.isEmpty()) {
+            System.err.println("Launching " + localWorkers + " local workers");
+            cluster = launchLocalWorkers(localWorkers);
+            workers = cluster.getAddresses();
+        }
+        try (DistributedMST coordinator = new DistributedMST(workers)) {
+            for (GraphReader.GraphData graphData : GraphReader.readGraphsFromJSON(inputFile)) {
+                boolean success = coordinator.findMST(graphData.graph);
+                KruskalAlgorithm kruskal = new KruskalAlgorithm(graphData.graph);
+                kruskal.findMST();
+                System.out.printf("Graph %d: V=%d, E=%d, %s cost=%d, candidates=%d, time=%dms (Kruskal cost=%d)%n",
+                                  graphData.id, graphData.graph.getVertexCount(), graphData.graph.getEdgeCount(),
+                                  success ? "MST" : "forest", coordinator.getTotalCost(),
+                                  coordinator.getCandidateEdgeCount(), coordinator.getExecutionTime(),
+                                  kruskal.getTotalCost());
+            }
+        } finally {
+            if (cluster != null) {
+                cluster.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+import java.util.*;
+
+/**
+ * Kruskal's Algorithm for graphs with double edge weights
+ * Edges are ordered with a stable radix index sort on the primitive weights
+ * and joined with IntUnionFind; the total cost is a Kahan-compensated double.
+ *
+ * @author Almas
+ */
+public class DoubleKruskalAlgorithm {
+    private final DoubleWeightedGraph graph;
+    private int[] mstEdges;
+    private int mstEdgeCount;
+    private double totalCost;
+    private double costCompensation;
+    private long operationCount;
+    private long executionTime;
+
+    /**
+     * Constructor
+     * @param graph Input graph
+     */
+    public DoubleKruskalAlgorithm(DoubleWeightedGraph graph) {
+        this.graph = graph;
+        this.mstEdges = new int[0];
+    }
+
+    /**
+     * Find the Minimum Spanning Tree using Kruskal's algorithm
+     * @return true if MST found, false if graph is disconnected
+     */
+    public boolean findMST() {
+        long startTime = System.nanoTime();
+
+        int n = graph.getVertexCount();
+        if (n == 0) {
+            executionTime = 0;
+            return false;
+        }
+
+        // Reset
+        mstEdges = new int[n - 1];
+        mstEdgeCount = 0;
+        totalCost = 0;
+        costCompensation = 0;
+        operationCount = 0;
+
+        IntUnionFind uf = new IntUnionFind(n);
+        operationCount++; // Initialize UF
+
+        // Sort edge indices by weight
+        int m = graph.getEdgeCount();
+        long[] keys = new long[m];
+        for (int i = 0; i < m; i++) {
+            keys[i] = IndexSort.doubleKey(graph.getWeight(i));
+        }
+        int[] order = IndexSort.sortedIndices(keys, m);
+        operationCount += (long) m * (int) (Math.log(Math.max(m, 1)) / Math.log(2)); // Sorting complexity
+
+        // Process edges in order of weight
+        for (int k = 0; k < m && mstEdgeCount < n - 1; k++) {
+            int edge = order[k];
+            operationCount++; // Processing edge
+
+            if (uf.union(graph.getFrom(edge), graph.getTo(edge))) {
+                operationCount += 4; // Find and union operations
+                mstEdges[mstEdgeCount++] = edge;
+                addCost(graph.getWeight(edge));
+            }
+        }
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000; // Convert to milliseconds
+        return mstEdgeCount == n - 1;
+    }
+
+    /**
+     * Kahan-compensated addition, so long trees of fractional weights do not drift
+     */
+    private void addCost(double weight) {
+        double y = weight - costCompensation;
+        double t = totalCost + y;
+        costCompensation = (t - totalCost) - y;
+        totalCost = t;
+    }
+
+    /**
+     * Get the indices of the MST edges in selection order
+     * @return edge indices into the graph
+     */
+    public int[] getMSTEdges() {
+        return Arrays.copyOf(mstEdges, mstEdgeCount);
+    }
+
+    /**
+     * Get the number of MST edges found
+     * @return edge count
+     */
+    public int getMSTEdgeCount() {
+        return mstEdgeCount;
+    }
+
+    /**
+     * Get the total cost of MST
+     * @return total cost
+     */
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Get the number of operations performed
+     * @return operation count
+     */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Get execution time in milliseconds
+     * @return execution time
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Get formatted results string
+     * @return results string
+     */
+    public String getResultsString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Kruskal's Algorithm Results (double weights):\n");
+        sb.append("Total Cost: ").append(totalCost).append("\n");
+        sb.append("Number of Edges: ").append(mstEdgeCount).append("\n");
+        sb.append("Operations: ").append(operationCount).append("\n");
+        sb.append("Execution Time: ").append(executionTime).append(" ms\n");
+        sb.append("MST Edges:\n");
+        for (int i = 0; i < mstEdgeCount; i++) {
+            int edge = mstEdges[i];
+            sb.append("  ").append(graph.getVertexName(graph.getFrom(edge)))
+              .append(" --").append(graph.getWeight(edge)).append("-- ")
+              .append(graph.getVertexName(graph.getTo(edge))).append("\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,238 @@
+import java.util.*;
+
+/**
+ * Prim's Algorithm for graphs with double edge weights
+ * Same lazy strategy as PrimAlgorithm, but the priority queue is a binary
+ * heap over parallel primitive arrays (weight, edge index, target vertex),
+ * so nothing is boxed; the total cost is a Kahan-compensated double.
+ *
+ * @author Almas
+ */
+public class DoublePrimAlgorithm {
+    private final DoubleWeightedGraph graph;
+    private int[] mstEdges;
+    private int mstEdgeCount;
+    private double totalCost;
+    private double costCompensation;
+    private long operationCount;
+    private long executionTime;
+
+    // Heap entries ordered by (weight, edge index)
+    private double[] heapWeight;
+    private int[] heapEdge;
+    private int[] heapTarget;
+    private int heapSize;
+
+    /**
+     * Constructor
+     * @param graph Input graph
+     */
+    public DoublePrimAlgorithm(DoubleWeightedGraph graph) {
+        this.graph = graph;
+        this.mstEdges = new int[0];
+    }
+
+    /**
+     * Find the Minimum Spanning Tree using Prim's algorithm
+     * @return true if MST found, false if graph is disconnected
+     */
+    public boolean findMST() {
+        long startTime = System.nanoTime();
+
+        int n = graph.getVertexCount();
+        if (n == 0) {
+            executionTime = 0;
+            return false;
+        }
+
+        // Reset
+        mstEdges = new int[n - 1];
+        mstEdgeCount = 0;
+        totalCost = 0;
+        costCompensation = 0;
+        operationCount = 0;
+        int capacity = Math.max(16, Math.min(2 * graph.getEdgeCount(), 1 << 20));
+        heapWeight = new double[capacity];
+        heapEdge = new int[capacity];
+        heapTarget = new int[capacity];
+        heapSize = 0;
+
+        int[] start = graph.getAdjacencyStart();
+        int[] adjacent = graph.getAdjacentEdges();
+        boolean[] inMST = new boolean[n];
+
+        // Start from vertex 0
+        int inMSTCount = 1;
+        inMST[0] = true;
+        operationCount++; // Adding vertex to MST
+        for (int k = start[0]; k < start[1]; k++) {
+            int edge = adjacent[k];
+            push(edge, graph.opposite(edge, 0));
+            operationCount++; // Adding edge to PQ
+        }
+
+        // Process edges until MST is complete or PQ is empty
+        while (heapSize > 0 && inMSTCount < n) {
+            int edge = heapEdge[0];
+            int vertex = heapTarget[0];
+            pop();
+            operationCount++; // Polling from PQ
+
+            // Skip if vertex already in MST
+            if (inMST[vertex]) {
+                operationCount++; // Comparison
+                continue;
+            }
+
+            // Add edge to MST
+            mstEdges[mstEdgeCount++] = edge;
+            addCost(graph.getWeight(edge));
+            inMST[vertex] = true;
+            inMSTCount++;
+            operationCount += 3; // Add edge, add cost, add vertex
+
+            // Add all adjacent edges of the new vertex
+            for (int k = start[vertex]; k < start[vertex + 1]; k++) {
+                int next = adjacent[k];
+                int nextVertex = graph.opposite(next, vertex);
+                if (!inMST[nextVertex]) {
+                    push(next, nextVertex);
+                    operationCount += 2; // Check + Add to PQ
+                }
+            }
+        }
+
+        // Release the heap between runs
+        heapWeight = null;
+        heapEdge = null;
+        heapTarget = null;
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000; // Convert to milliseconds
+        return inMSTCount == n;
+    }
+
+    /**
+     * Heap order: by weight, ties by edge index so results are deterministic
+     */
+    private static boolean before(double weight, int edge, double otherWeight, int otherEdge) {
+        return weight < otherWeight || (weight == otherWeight && edge < otherEdge);
+    }
+
+    private void push(int edge, int target) {
+        if (heapSize == heapEdge.length) {
+            int capacity = heapSize + (heapSize >> 1);
+            heapWeight = Arrays.copyOf(heapWeight, capacity);
+            heapEdge = Arrays.copyOf(heapEdge, capacity);
+            heapTarget = Arrays.copyOf(heapTarget, capacity);
+        }
+        double weight = graph.getWeight(edge);
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (!before(weight, edge, heapWeight[up], heapEdge[up])) break;
+            heapWeight[i] = heapWeight[up];
+            heapEdge[i] = heapEdge[up];
+            heapTarget[i] = heapTarget[up];
+            i = up;
+        }
+        heapWeight[i] = weight;
+        heapEdge[i] = edge;
+        heapTarget[i] = target;
+    }
+
+    private void pop() {
+        int last = --heapSize;
+        double weight = heapWeight[last];
+        int edge = heapEdge[last];
+        int target = heapTarget[last];
+
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize
+                    && before(heapWeight[child + 1], heapEdge[child + 1], heapWeight[child], heapEdge[child])) {
+                child++;
+            }
+            if (!before(heapWeight[child], heapEdge[child], weight, edge)) break;
+            heapWeight[i] = heapWeight[child];
+            heapEdge[i] = heapEdge[child];
+            heapTarget[i] = heapTarget[child];
+            i = child;
+        }
+        heapWeight[i] = weight;
+        heapEdge[i] = edge;
+        heapTarget[i] = target;
+    }
+
+    /**
+     * Kahan-compensated addition, so long trees of fractional weights do not drift
+     */
+    private void addCost(double weight) {
+        double y = weight - costCompensation;
+        double t = totalCost + y;
+        costCompensation = (t - totalCost) - y;
+        totalCost = t;
+    }
+
+    /**
+     * Get the indices of the MST edges in selection order
+     * @return edge indices into the graph
+     */
+    public int[] getMSTEdges() {
+        return Arrays.copyOf(mstEdges, mstEdgeCount);
+    }
+
+    /**
+     * Get the number of MST edges found
+     * @return edge count
+     */
+    public int getMSTEdgeCount() {
+        return mstEdgeCount;
+    }
+
+    /**
+     * Get the total cost of MST
+     * @return total cost
+     */
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Get the number of operations performed
+     * @return operation count
+     */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Get execution time in milliseconds
+     * @return execution time
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Get formatted results string
+     * @return results string
+     */
+    public String getResultsString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Prim's Algorithm Results (double weights):\n");
+        sb.append("Total Cost: ").append(totalCost).append("\n");
+        sb.append("Number of Edges: ").append(mstEdgeCount).append("\n");
+        sb.append("Operations: ").append(operationCount).append("\n");
+        sb.append("Execution Time: ").append(executionTime).append(" ms\n");
+        sb.append("MST Edges:\n");
+        for (int i = 0; i < mstEdgeCount; i++) {
+            int edge = mstEdges[i];
+            sb.append("  ").append(graph.getVertexName(graph.getFrom(edge)))
+              .append(" --").append(graph.getWeight(edge)).append("-- ")
+              .append(graph.getVertexName(graph.getTo(edge))).append("\n");
+        }
+        return sb.toString();
+    }
+}
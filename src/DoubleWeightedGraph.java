@@ -0,0 +1,245 @@
+import java.util.*;
+
+/**
+ * Weighted undirected graph with double edge weights
+ * Primitive counterpart of Graph for fractional weights (distances, costs)
+ * that would otherwise be scaled to ints by hand: vertices are interned to
+ * dense ids, edges live in parallel int/int/double arrays, and the
+ * adjacency is a compressed (CSR) index built on first use. No Edge objects or boxed weights are created.
+ *
+ * @author Almas
+ */
+public class DoubleWeightedGraph {
+    private final SymbolTable symbols;
+    private int[] from;
+    private int[] to;
+    private double[] weight;
+    private int size;
+
+    // Adjacency in CSR form, rebuilt after edges are added
+    private int[] adjacencyStart;
+    private int[] adjacencyEdge;
+
+    /**
+     * Constructor
+     */
+    public DoubleWeightedGraph() {
+        this(16);
+    }
+
+    /**
+     * Constructor with an edge capacity hint
+     * @param edgeCapacity Expected number of edges
+     */
+    public DoubleWeightedGraph(int edgeCapacity) {
+        this.symbols = new SymbolTable();
+        int capacity = Math.max(1, edgeCapacity);
+        this.from = new int[capacity];
+        this.to = new int[capacity];
+        this.weight = new double[capacity];
+    }
+
+    /**
+     * Add a vertex to the graph
+     * @param vertex Vertex name
+     * @return vertex id
+     */
+    public int addVertex(String vertex) {
+        int before = symbols.size();
+        int id = symbols.intern(vertex);
+        if (id == before) {
+            adjacencyStart = null;
+        }
+        return id;
+    }
+
+    /**
+     * Add an edge to the graph (undirected)
+     * @param from Starting vertex
+     * @param to Ending vertex
+     * @param weight Edge weight
+     */
+    public void addEdge(String from, String to, double weight) {
+        addEdge(addVertex(from), addVertex(to), weight);
+    }
+
+    /**
+     * Add an edge between vertices that already have ids
+     * @param from Starting vertex id
+     * @param to Ending vertex id
+     * @param weight Edge weight
+     * @throws IllegalArgumentException if a vertex id is unknown or the weight is NaN
+     */
+    public void addEdge(int from, int to, double weight) {
+        if (from < 0 || from >= symbols.size() || to < 0 || to >= symbols.size()) {
+            throw new IllegalArgumentException("Unknown vertex id: " + from + " or " + to);
+        }
+        if (Double.isNaN(weight)) {
+            throw new IllegalArgumentException("Edge weight is NaN");
+        }
+        if (size == this.from.length) {
+            int capacity = size + (size >> 1) + 1;
+            this.from = Arrays.copyOf(this.from, capacity);
+            this.to = Arrays.copyOf(this.to, capacity);
+            this.weight = Arrays.copyOf(this.weight, capacity);
+        }
+        this.from[size] = from;
+        this.to[size] = to;
+        this.weight[size] = weight;
+        size++;
+        adjacencyStart = null;
+    }
+
+    /**
+     * Get the number of vertices
+     * @return vertex count
+     */
+    public int getVertexCount() {
+        return symbols.size();
+    }
+
+    /**
+     * Get the number of edges
+     * @return edge count
+     */
+    public int getEdgeCount() {
+        return size;
+    }
+
+    /**
+     * Get the start vertex id of edge i
+     * @param i Edge index
+     * @return vertex id
+     */
+    public int getFrom(int i) {
+        return from[i];
+    }
+
+    /**
+     * Get the end vertex id of edge i
+     * @param i Edge index
+     * @return vertex id
+     */
+    public int getTo(int i) {
+        return to[i];
+    }
+
+    /**
+     * Get the weight of edge i
+     * @param i Edge index
+     * @return weight
+     */
+    public double getWeight(int i) {
+        return weight[i];
+    }
+
+    /**
+     * Get the name of a vertex
+     * @param id Vertex id
+     * @return vertex name
+     */
+    public String getVertexName(int id) {
+        return symbols.getName(id);
+    }
+
+    /**
+     * Get the vertex id of a name
+     * @param vertex Vertex name
+     * @return id, or -1 if the vertex is not in the graph
+     */
+    public int getVertexId(String vertex) {
+        return symbols.getId(vertex);
+    }
+
+    /**
+     * Get the start offset of a vertex's incident edges in getAdjacentEdges()
+     * Incident edges of v are at positions [start(v), start(v + 1))
+     *
+     * @return array of vertexCount + 1 offsets (do not modify)
+     */
+    public int[] getAdjacencyStart() {
+        buildAdjacency();
+        return adjacencyStart;
+    }
+
+    /**
+     * Get the incident edge indices of all vertices, grouped by vertex
+     * @return edge indices (do not modify)
+     */
+    public int[] getAdjacentEdges() {
+        buildAdjacency();
+        return adjacencyEdge;
+    }
+
+    /**
+     * Get the other endpoint of an edge
+     * @param edge Edge index
+     * @param vertex One endpoint
+     * @return the other endpoint
+     */
+    public int opposite(int edge, int vertex) {
+        return from[edge] == vertex ? to[edge] : from[edge];
+    }
+
+    /**
+     * Check if the graph is connected using an iterative DFS
+     * @return true if connected
+     */
+    public boolean isConnected() {
+        int n = getVertexCount();
+        if (n == 0) return true;
+        buildAdjacency();
+
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n];
+        int top = 0;
+        int seen = 1;
+        visited[0] = true;
+        stack[top++] = 0;
+        while (top > 0) {
+            int vertex = stack[--top];
+            for (int k = adjacencyStart[vertex]; k < adjacencyStart[vertex + 1]; k++) {
+                int neighbor = opposite(adjacencyEdge[k], vertex);
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    stack[top++] = neighbor;
+                    seen++;
+                }
+            }
+        }
+        return seen == n;
+    }
+
+    /**
+     * Build the CSR adjacency from the edge arrays (counting sort by endpoint)
+     */
+    private void buildAdjacency() {
+        if (adjacencyStart != null) return;
+        int n = getVertexCount();
+        int[] start = new int[n + 1];
+        for (int i = 0; i < size; i++) {
+            start[from[i] + 1]++;
+            if (to[i] != from[i]) start[to[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] next = Arrays.copyOf(start, n);
+        int[] edges = new int[start[n]];
+        for (int i = 0; i < size; i++) {
+            edges[next[from[i]]++] = i;
+            if (to[i] != from[i]) edges[next[to[i]]++] = i;
+        }
+        adjacencyEdge = edges;
+        adjacencyStart = start;
+    }
+
+    /**
+     * String representation of the graph
+     * @return formatted graph string
+     */
+    @Override
+    public String toString() {
+        return "DoubleWeightedGraph with " + getVertexCount() + " vertices and " + size + " edges";
+    }
+}
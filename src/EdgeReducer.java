@@ -0,0 +1,113 @@
+import java.util.*;
+
+/**
+ * Multi-edge and self-loop reduction before running an MST algorithm
+ * Keeps only the lightest edge between each unordered vertex pair (the
+ * first one on equal weights) and drops self-loops; neither change can
+ * alter the MST cost. Runs in linear time: every edge is looked up once in
+ * an open-addressing table keyed by its packed (min id, max id) pair.
+ * Kept edges stay in order of the first occurrence of their pair.
+ *
+ * @author Almas
+ */
+public final class EdgeReducer {
+    private static final long EMPTY = -1L;
+
+    private EdgeReducer() {
+    }
+
+    /**
+     * Reduce a graph
+     * @param graph Input graph
+     * @return new immutable graph with the same vertices and at most one edge per pair
+     */
+    public static Graph reduce(Graph graph) {
+        List<Edge> edges = graph.getEdgeView();
+        int m = edges.size();
+        GraphBuilder builder = new GraphBuilder(graph.getVertexCount(), m);
+
+        // Keep every vertex, even one that only had self-loops
+        for (String vertex : graph.getVertexView()) {
+            builder.addVertex(vertex);
+        }
+
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            Edge edge = edges.get(i);
+            from[i] = builder.addVertex(edge.getFrom());
+            to[i] = builder.addVertex(edge.getTo());
+            weight[i] = edge.getWeight();
+        }
+
+        for (int i : keptEdges(from, to, weight, m)) {
+            builder.addEdge(from[i], to[i], weight[i]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reduce a packed edge store
+     * @param store Input edges
+     * @return new store over the same symbol table with at most one edge per pair
+     */
+    public static PackedEdgeStore reduce(PackedEdgeStore store) {
+        int m = store.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = store.getFrom(i);
+            to[i] = store.getTo(i);
+            weight[i] = store.getWeight(i);
+        }
+
+        int[] kept = keptEdges(from, to, weight, m);
+        PackedEdgeStore reduced = new PackedEdgeStore(store.getSymbols(), kept.length);
+        for (int i : kept) {
+            reduced.addEdge(from[i], to[i], weight[i]);
+        }
+        return reduced;
+    }
+
+    /**
+     * Select the lightest edge of every vertex pair, skipping self-loops
+     * @param from Starting vertex ids (non-negative)
+     * @param to Ending vertex ids (non-negative)
+     * @param weight Edge weights
+     * @param count Number of edges
+     * @return indices of kept edges, in order of first occurrence of their pair
+     */
+    public static int[] keptEdges(int[] from, int[] to, int[] weight, int count) {
+        int capacity = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+        int mask = capacity - 1;
+        int shift = Long.numberOfLeadingZeros(mask);
+        long[] keys = new long[capacity];
+        int[] positions = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+
+        int[] kept = new int[count];
+        int keptCount = 0;
+        for (int i = 0; i < count; i++) {
+            int u = from[i];
+            int v = to[i];
+            if (u == v) continue; // Self-loop
+
+            long key = PackedEdgeStore.pack(Math.min(u, v), Math.max(u, v));
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                positions[slot] = keptCount;
+                kept[keptCount++] = i;
+            } else if (weight[i] < weight[kept[positions[slot]]]) {
+                kept[positions[slot]] = i; // Lighter parallel edge
+            }
+        }
+        return Arrays.copyOf(kept, keptCount);
+    }
+}
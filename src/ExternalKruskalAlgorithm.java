@@ -0,0 +1,501 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Out-of-core (semi-external) Kruskal's Algorithm
+ * Edges are buffered in primitive arrays, spilled to weight-sorted runs on
+ * local disk and merged in weight order with NIO streaming. Only the
+ * int-array IntUnionFind and the V-1 result edges live in memory, so the
+ * edge set can be much larger than the heap.
+ *
+ * At most maxFanIn runs are open at once, each with a 64 KiB read buffer.
+ * With more runs, groups of maxFanIn consecutive runs are first merged into
+ * longer runs, in as many passes as needed. Equal weights keep insertion
+ * order in every pass, so the MST does not depend on the fan-in.
+ *
+ * Binary edge format (runs and input files): big-endian int triples
+ * (from, to, weight), 12 bytes per edge.
+ *
+ * @author Almas
+ */
+public class ExternalKruskalAlgorithm implements Closeable {
+    /** Size of one edge record in bytes */
+    public static final int RECORD_BYTES = 12;
+
+    private static final int DEFAULT_RUN_CAPACITY = 1 << 22; // ~4M edges, ~80 MB buffer
+    private static final int IO_BUFFER_BYTES = 1 << 20;
+    private static final int MERGE_BUFFER_BYTES = 1 << 16;
+    private static final int DEFAULT_MAX_FAN_IN = 64;
+
+    private final int vertexCount;
+    private final Path workDir;
+    private final int runCapacity;
+    private final int maxFanIn;
+    private final List<Path> runs;
+    private int spilledRuns;
+    private int mergePasses;
+
+    // Edge buffer for the current run
+    private final int[] bufferFrom;
+    private final int[] bufferTo;
+    private final int[] bufferWeight;
+    private final long[] sortKeys;
+    private int buffered;
+    private long edgeCount;
+
+    // Result
+    private int[] mstFrom;
+    private int[] mstTo;
+    private int[] mstWeight;
+    private int mstSize;
+    private long totalCost;
+    private long operationCount;
+    private long executionTime;
+
+    /**
+     * Constructor with default run size
+     * @param vertexCount Number of vertices (ids 0..vertexCount-1)
+     * @param workDir Directory for temporary run files
+     */
+    public ExternalKruskalAlgorithm(int vertexCount, Path workDir) {
+        this(vertexCount, workDir, DEFAULT_RUN_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     * @param vertexCount Number of vertices (ids 0..vertexCount-1)
+     * @param workDir Directory for temporary run files
+     * @param runCapacity Number of edges buffered in memory per sorted run
+     */
+    public ExternalKruskalAlgorithm(int vertexCount, Path workDir, int runCapacity) {
+        this(vertexCount, workDir, runCapacity, DEFAULT_MAX_FAN_IN);
+    }
+
+    /**
+     * Constructor
+     * @param vertexCount Number of vertices (ids 0..vertexCount-1)
+     * @param workDir Directory for temporary run files
+     * @param runCapacity Number of edges buffered in memory per sorted run
+     * @param maxFanIn Maximum number of runs merged at once (at least 2)
+     */
+    public ExternalKruskalAlgorithm(int vertexCount, Path workDir, int runCapacity, int maxFanIn) {
+        if (runCapacity <= 0) {
+            throw new IllegalArgumentException("Run capacity must be positive");
+        }
+        if (maxFanIn < 2) {
+            throw new IllegalArgumentException("Merge fan-in must be at least 2: " + maxFanIn);
+        }
+        this.vertexCount = vertexCount;
+        this.workDir = workDir;
+        this.runCapacity = runCapacity;
+        this.maxFanIn = maxFanIn;
+        this.runs = new ArrayList<>();
+        this.bufferFrom = new int[runCapacity];
+        this.bufferTo = new int[runCapacity];
+        this.bufferWeight = new int[runCapacity];
+        this.sortKeys = new long[runCapacity];
+        this.mstFrom = new int[0];
+        this.mstTo = new int[0];
+        this.mstWeight = new int[0];
+    }
+
+    /**
+     * Add an edge; spills a sorted run to disk when the buffer is full
+     * @param from Starting vertex id
+     * @param to Ending vertex id
+     * @param weight Edge weight
+     * @throws IOException if a run cannot be written
+     */
+    public void addEdge(int from, int to, int weight) throws IOException {
+        if (from < 0 || from >= vertexCount || to < 0 || to >= vertexCount) {
+            throw new IllegalArgumentException("Vertex id out of range: " + from + ", " + to);
+        }
+        bufferFrom[buffered] = from;
+        bufferTo[buffered] = to;
+        bufferWeight[buffered] = weight;
+        buffered++;
+        edgeCount++;
+        if (buffered == runCapacity) {
+            spillRun();
+        }
+    }
+
+    /**
+     * Stream all edges of a binary edge file into the algorithm
+     * @param file File of big-endian (from, to, weight) int triples
+     * @throws IOException if read error occurs
+     */
+    public void addEdgesFromBinaryFile(Path file) throws IOException {
+        try (RunReader reader = new RunReader(file, 0, IO_BUFFER_BYTES)) {
+            while (reader.advance()) {
+                addEdge(reader.from, reader.to, reader.weight);
+            }
+        }
+    }
+
+    /**
+     * Sort the buffered edges by weight and write them as one run
+     */
+    private void spillRun() throws IOException {
+        if (buffered == 0) return;
+
+        // Pack (weight, index) into one long so a primitive sort orders by weight
+        for (int i = 0; i < buffered; i++) {
+            sortKeys[i] = ((long) bufferWeight[i] << 32) | i;
+        }
+        Arrays.sort(sortKeys, 0, buffered);
+        operationCount += (long) buffered * (64 - Long.numberOfLeadingZeros(buffered)); // Sorting complexity
+
+        Path run = Files.createTempFile(workDir, "kruskal-run-", ".bin");
+        runs.add(run);
+        spilledRuns++;
+        try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES);
+            for (int k = 0; k < buffered; k++) {
+                int i = (int) sortKeys[k];
+                if (buffer.remaining() < RECORD_BYTES) {
+                    drain(channel, buffer);
+                }
+                buffer.putInt(bufferFrom[i]).putInt(bufferTo[i]).putInt(bufferWeight[i]);
+            }
+            drain(channel, buffer);
+        }
+        buffered = 0;
+    }
+
+    /**
+     * Write out a filled buffer completely
+     */
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Find the Minimum Spanning Tree by merging all runs in weight order
+     * @return true if MST found, false if graph is disconnected
+     * @throws IOException if a run cannot be read
+     */
+    public boolean findMST() throws IOException {
+        long startTime = System.nanoTime();
+
+        if (vertexCount == 0) {
+            executionTime = 0;
+            return false;
+        }
+
+        spillRun();
+        mergePasses = 0;
+        reduceRuns();
+
+        int target = vertexCount - 1;
+        mstFrom = new int[target];
+        mstTo = new int[target];
+        mstWeight = new int[target];
+        mstSize = 0;
+        totalCost = 0;
+
+        IntUnionFind uf = new IntUnionFind(vertexCount);
+        operationCount++; // Initialize UF
+
+        PriorityQueue<RunReader> merge = openMerge(runs);
+        try {
+            while (!merge.isEmpty() && mstSize < target) {
+                RunReader reader = merge.poll();
+                operationCount++; // Processing edge
+
+                if (uf.union(reader.from, reader.to)) {
+                    mstFrom[mstSize] = reader.from;
+                    mstTo[mstSize] = reader.to;
+                    mstWeight[mstSize] = reader.weight;
+                    mstSize++;
+                    totalCost += reader.weight;
+                    operationCount += 4; // Find + union operations
+                }
+
+                if (reader.advance()) {
+                    merge.offer(reader);
+                } else {
+                    reader.close();
+                }
+            }
+        } finally {
+            for (RunReader reader : merge) {
+                reader.close();
+            }
+        }
+
+        long endTime = System.nanoTime();
+        executionTime = (endTime - startTime) / 1_000_000; // Convert to milliseconds
+
+        return mstSize == target;
+    }
+
+    /**
+     * Merge groups of maxFanIn consecutive runs into single runs until at
+     * most maxFanIn are left for the final merge
+     */
+    private void reduceRuns() throws IOException {
+        while (runs.size() > maxFanIn) {
+            List<Path> merged = new ArrayList<>((runs.size() + maxFanIn - 1) / maxFanIn);
+            try {
+                for (int start = 0; start < runs.size(); start += maxFanIn) {
+                    List<Path> group = runs.subList(start, Math.min(start + maxFanIn, runs.size()));
+                    merged.add(group.size() == 1 ? group.get(0) : mergeGroup(group));
+                }
+            } catch (IOException e) {
+                runs.addAll(merged); // So close() deletes the runs merged so far
+                throw e;
+            }
+            runs.clear();
+            runs.addAll(merged);
+            mergePasses++;
+        }
+    }
+
+    /**
+     * Merge sorted runs into one new run and delete them
+     */
+    private Path mergeGroup(List<Path> group) throws IOException {
+        Path run = Files.createTempFile(workDir, "kruskal-merge-", ".bin");
+        PriorityQueue<RunReader> merge = openMerge(group);
+        try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES);
+            while (!merge.isEmpty()) {
+                RunReader reader = merge.poll();
+                operationCount++; // Merging edge
+                if (buffer.remaining() < RECORD_BYTES) {
+                    drain(channel, buffer);
+                }
+                buffer.putInt(reader.from).putInt(reader.to).putInt(reader.weight);
+                if (reader.advance()) {
+                    merge.offer(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            drain(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(run);
+            throw e;
+        } finally {
+            for (RunReader reader : merge) {
+                reader.close();
+            }
+        }
+        for (Path path : group) {
+            Files.deleteIfExists(path);
+        }
+        return run;
+    }
+
+    /**
+     * Open a reader on each run, positioned on its first edge
+     * Ties on weight go to the earlier run, so merging keeps insertion order
+     */
+    private static PriorityQueue<RunReader> openMerge(List<Path> group) throws IOException {
+        PriorityQueue<RunReader> merge = new PriorityQueue<>(Math.max(1, group.size()),
+            Comparator.comparingInt((RunReader r) -> r.weight).thenComparingInt(r -> r.order));
+        try {
+            for (int i = 0; i < group.size(); i++) {
+                RunReader reader = new RunReader(group.get(i), i, MERGE_BUFFER_BYTES);
+                if (reader.advance()) {
+                    merge.offer(reader);
+                } else {
+                    reader.close();
+                }
+            }
+        } catch (IOException e) {
+            for (RunReader reader : merge) {
+                reader.close();
+            }
+            throw e;
+        }
+        return merge;
+    }
+
+    /**
+     * Delete all temporary run files
+     * @throws IOException if a file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+    }
+
+    /**
+     * Get the number of MST edges found
+     * @return MST edge count
+     */
+    public int getMSTEdgeCount() {
+        return mstSize;
+    }
+
+    /**
+     * Get the start vertex of the i-th MST edge
+     * @param i Edge index
+     * @return vertex id
+     */
+    public int getMSTFrom(int i) {
+        return mstFrom[i];
+    }
+
+    /**
+     * Get the end vertex of the i-th MST edge
+     * @param i Edge index
+     * @return vertex id
+     */
+    public int getMSTTo(int i) {
+        return mstTo[i];
+    }
+
+    /**
+     * Get the weight of the i-th MST edge
+     * @param i Edge index
+     * @return weight
+     */
+    public int getMSTWeight(int i) {
+        return mstWeight[i];
+    }
+
+    /**
+     * Materialize the MST as Edge objects using vertex names
+     * @param vertexNames Name for each vertex id
+     * @return List of edges in MST
+     */
+    public List<Edge> getMSTEdges(String[] vertexNames) {
+        List<Edge> edges = new ArrayList<>(mstSize);
+        for (int i = 0; i < mstSize; i++) {
+            edges.add(new Edge(vertexNames[mstFrom[i]], vertexNames[mstTo[i]], mstWeight[i]));
+        }
+        return edges;
+    }
+
+    /**
+     * Get the total cost of MST (long, since billions of edges overflow int)
+     * @return total cost
+     */
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Get the number of edges added so far
+     * @return edge count
+     */
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Get the number of sorted runs spilled to disk
+     * @return run count
+     */
+    public int getRunCount() {
+        return spilledRuns;
+    }
+
+    /**
+     * Get the number of intermediate merge passes of the last findMST
+     * @return 0 if all runs fit in one merge
+     */
+    public int getMergePassCount() {
+        return mergePasses;
+    }
+
+    /**
+     * Get the number of operations performed
+     * @return operation count
+     */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Get execution time in milliseconds (merge phase)
+     * @return execution time
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Get formatted results string
+     * @return results string
+     */
+    public String getResultsString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("External Kruskal's Algorithm Results:\n");
+        sb.append("Total Cost: ").append(totalCost).append("\n");
+        sb.append("Number of Edges: ").append(mstSize).append("\n");
+        sb.append("Input Edges: ").append(edgeCount).append(" in ").append(spilledRuns).append(" runs, ")
+          .append(mergePasses).append(" merge passes\n");
+        sb.append("Operations: ").append(operationCount).append("\n");
+        sb.append("Execution Time: ").append(executionTime).append(" ms\n");
+        return sb.toString();
+    }
+
+    /**
+     * Sequential reader over a binary edge file, one record at a time
+     */
+    private static class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private boolean exhausted;
+        final int order; // position of the run in its merge
+        int from;
+        int to;
+        int weight;
+
+        RunReader(Path file, int order, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+            this.buffer.flip(); // Start empty
+            this.order = order;
+        }
+
+        /**
+         * Load the next record into from/to/weight
+         * @return false at end of file
+         * @throws IOException if the file ends inside a record
+         */
+        boolean advance() throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                if (!exhausted) {
+                    buffer.compact();
+                    while (buffer.position() < RECORD_BYTES) {
+                        if (channel.read(buffer) < 0) {
+                            exhausted = true;
+                            break;
+                        }
+                    }
+                    buffer.flip();
+                }
+                if (buffer.remaining() < RECORD_BYTES) {
+                    if (buffer.hasRemaining()) {
+                        throw new IOException("truncated edge file: " + buffer.remaining() + " trailing bytes");
+                    }
+                    return false;
+                }
+            }
+            from = buffer.getInt();
+            to = buffer.getInt();
+            weight = buffer.getInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
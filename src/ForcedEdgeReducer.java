@@ -0,0 +1,298 @@
+import java.util.*;
+
+/**
+ * Forced-edge preprocessing for MST algorithms
+ * Every edge of a degree-1 vertex is in the MST, and so is every bridge.
+ * This stage peels degree-1 vertices repeatedly (a tree hanging off the
+ * graph disappears completely), optionally finds the bridges of what is
+ * left with an iterative Tarjan DFS and contracts them, and hands only the
+ * remaining core graph to Prim/Kruskal. expand() turns the core MST back
+ * into an MST of the original graph.
+ *
+ * Usage:
+ *   ForcedEdgeReducer reducer = new ForcedEdgeReducer(graph, true);
+ *   KruskalAlgorithm kruskal = new KruskalAlgorithm(reducer.getCoreGraph());
+ *   kruskal.findMST();
+ *   List<Edge> mst = reducer.expand(kruskal.getMSTEdges());
+ *
+ * Self-loops are never forced and are dropped from the core.
+ *
+ * @author Almas
+ */
+public class ForcedEdgeReducer {
+    private final List<Edge> edges;
+    private final List<Edge> forcedEdges;
+    private final int forcedCost;
+    private final int peeledVertexCount;
+    private final int bridgeCount;
+    private final Graph coreGraph;
+    private final int[] coreToOriginal;
+    private final Map<Edge, Integer> coreEdgeIndex;
+    private int operationCount;
+
+    /**
+     * Constructor - peels degree-1 vertices only
+     * @param graph Input graph
+     */
+    public ForcedEdgeReducer(Graph graph) {
+        this(graph, false);
+    }
+
+    /**
+     * Constructor
+     * @param graph Input graph
+     * @param contractBridges Whether to also find and contract bridges of the peeled graph
+     */
+    public ForcedEdgeReducer(Graph graph, boolean contractBridges) {
+        this.edges = graph.getEdgeView();
+        int m = edges.size();
+
+        // Vertex ids in the graph's iteration order
+        String[] names = graph.getVertexView().toArray(new String[0]);
+        int n = names.length;
+        Map<String, Integer> ids = new HashMap<>(n * 2);
+        for (int v = 0; v < n; v++) {
+            ids.put(names[v], v);
+        }
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = ids.get(edges.get(i).getFrom());
+            to[i] = ids.get(edges.get(i).getTo());
+        }
+
+        // Adjacency (CSR) over non-loop edges
+        int[] start = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            if (from[i] == to[i]) continue;
+            start[from[i] + 1]++;
+            start[to[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] adjacent = new int[start[n]];
+        int[] next = Arrays.copyOf(start, n);
+        for (int i = 0; i < m; i++) {
+            if (from[i] == to[i]) continue;
+            adjacent[next[from[i]]++] = i;
+            adjacent[next[to[i]]++] = i;
+        }
+        operationCount += n + 2 * m;
+
+        // Peel degree-1 vertices
+        boolean[] forced = new boolean[m];
+        boolean[] removed = new boolean[n];
+        int[] degree = new int[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            degree[v] = start[v + 1] - start[v];
+            if (degree[v] == 1) queue[tail++] = v;
+        }
+        int peeled = 0;
+        while (head < tail) {
+            int v = queue[head++];
+            if (degree[v] != 1) continue; // Its last neighbour was peeled first
+            for (int k = start[v]; k < start[v + 1]; k++) {
+                int e = adjacent[k];
+                if (forced[e]) continue;
+                int u = from[e] == v ? to[e] : from[e];
+                if (removed[u]) continue;
+                forced[e] = true;
+                removed[v] = true;
+                peeled++;
+                degree[v] = 0;
+                if (--degree[u] == 1) queue[tail++] = u;
+                operationCount++;
+                break;
+            }
+        }
+        this.peeledVertexCount = peeled;
+
+        // Bridges of the remaining graph, contracted with a union-find
+        IntUnionFind contracted = new IntUnionFind(n);
+        int bridges = 0;
+        if (contractBridges) {
+            boolean[] bridge = findBridges(n, from, to, start, adjacent, forced, removed);
+            for (int i = 0; i < m; i++) {
+                if (bridge[i]) {
+                    forced[i] = true;
+                    contracted.union(from[i], to[i]);
+                    bridges++;
+                }
+            }
+        }
+        this.bridgeCount = bridges;
+
+        // Forced edges and their cost
+        List<Edge> forcedList = new ArrayList<>();
+        int cost = 0;
+        for (int i = 0; i < m; i++) {
+            if (forced[i]) {
+                forcedList.add(edges.get(i));
+                cost += edges.get(i).getWeight();
+            }
+        }
+        this.forcedEdges = forcedList;
+        this.forcedCost = cost;
+
+        // Core graph on contracted representatives, remembering each core edge's origin
+        GraphBuilder builder = new GraphBuilder(n - peeled, m - forcedList.size());
+        int[] coreId = new int[n];
+        for (int v = 0; v < n; v++) {
+            if (!removed[v] && contracted.find(v) == v) {
+                coreId[v] = builder.addVertex(names[v]);
+            }
+        }
+        int[] origin = new int[m];
+        int coreEdges = 0;
+        for (int i = 0; i < m; i++) {
+            if (forced[i] || from[i] == to[i]) continue;
+            builder.addEdge(coreId[contracted.find(from[i])], coreId[contracted.find(to[i])],
+                            edges.get(i).getWeight());
+            origin[coreEdges++] = i;
+        }
+        this.coreGraph = builder.build();
+        this.coreToOriginal = Arrays.copyOf(origin, coreEdges);
+
+        // Core edges compare by endpoints and weight, so this also finds Prim's reversed copies
+        List<Edge> coreEdgeList = coreGraph.getEdgeView();
+        this.coreEdgeIndex = new HashMap<>(coreEdges * 2);
+        for (int i = 0; i < coreEdges; i++) {
+            coreEdgeIndex.putIfAbsent(coreEdgeList.get(i), i);
+        }
+        operationCount += n + m;
+    }
+
+    /**
+     * Find bridges among non-forced edges of non-removed vertices
+     * Iterative Tarjan lowlink DFS; skips the tree edge by id, so parallel edges are not bridges
+     */
+    private boolean[] findBridges(int n, int[] from, int[] to, int[] start, int[] adjacent,
+                                  boolean[] forced, boolean[] removed) {
+        boolean[] bridge = new boolean[from.length];
+        int[] discovery = new int[n];
+        int[] low = new int[n];
+        int[] parentEdge = new int[n];
+        int[] cursor = new int[n];
+        int[] stack = new int[n];
+        Arrays.fill(discovery, -1);
+        int time = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (removed[root] || discovery[root] >= 0) continue;
+            int top = 0;
+            stack[top++] = root;
+            discovery[root] = low[root] = time++;
+            parentEdge[root] = -1;
+            cursor[root] = start[root];
+
+            while (top > 0) {
+                int v = stack[top - 1];
+                if (cursor[v] < start[v + 1]) {
+                    int e = adjacent[cursor[v]++];
+                    operationCount++;
+                    if (forced[e] || e == parentEdge[v]) continue;
+                    int u = from[e] == v ? to[e] : from[e];
+                    if (discovery[u] < 0) {
+                        discovery[u] = low[u] = time++;
+                        parentEdge[u] = e;
+                        cursor[u] = start[u];
+                        stack[top++] = u;
+                    } else {
+                        low[v] = Math.min(low[v], discovery[u]);
+                    }
+                } else {
+                    top--;
+                    int e = parentEdge[v];
+                    if (e >= 0) {
+                        int parent = from[e] == v ? to[e] : from[e];
+                        low[parent] = Math.min(low[parent], low[v]);
+                        if (low[v] > discovery[parent]) {
+                            bridge[e] = true;
+                        }
+                    }
+                }
+            }
+        }
+        return bridge;
+    }
+
+    /**
+     * Get the reduced core graph to run Prim/Kruskal on
+     * @return immutable core graph
+     */
+    public Graph getCoreGraph() {
+        return coreGraph;
+    }
+
+    /**
+     * Get the edges that are in every MST (peeled leaf edges and contracted bridges)
+     * @return forced edges of the original graph
+     */
+    public List<Edge> getForcedEdges() {
+        return new ArrayList<>(forcedEdges);
+    }
+
+    /**
+     * Get the total weight of the forced edges
+     * @return forced cost
+     */
+    public int getForcedCost() {
+        return forcedCost;
+    }
+
+    /**
+     * Get the original edge index of a core edge
+     * @param coreEdge Index into getCoreGraph().getEdges()
+     * @return index into the original graph's getEdges()
+     */
+    public int getOriginalEdgeIndex(int coreEdge) {
+        return coreToOriginal[coreEdge];
+    }
+
+    /**
+     * Expand an MST of the core graph into an MST of the original graph
+     * @param coreMSTEdges MST edges of getCoreGraph() (from any algorithm)
+     * @return forced edges followed by the original edges of the core MST
+     * @throws IllegalArgumentException if an edge is not in the core graph
+     */
+    public List<Edge> expand(List<Edge> coreMSTEdges) {
+        List<Edge> result = new ArrayList<>(forcedEdges.size() + coreMSTEdges.size());
+        result.addAll(forcedEdges);
+        for (Edge edge : coreMSTEdges) {
+            Integer coreEdge = coreEdgeIndex.get(edge);
+            if (coreEdge == null) {
+                throw new IllegalArgumentException("Not an edge of the core graph: " + edge);
+            }
+            result.add(edges.get(coreToOriginal[coreEdge]));
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of peeled degree-1 vertices
+     * @return peeled vertex count
+     */
+    public int getPeeledVertexCount() {
+        return peeledVertexCount;
+    }
+
+    /**
+     * Get the number of contracted bridges
+     * @return bridge count (0 if bridges were not requested)
+     */
+    public int getBridgeCount() {
+        return bridgeCount;
+    }
+
+    /**
+     * Get the number of operations performed
+     * @return operation count
+     */
+    public int getOperationCount() {
+        return operationCount;
+    }
+}
@@ -10,6 +10,7 @@ public class Graph {
     private final Map<String, List<Edge>> adjacencyList;
     private final List<Edge> edges;
     private final Set<String> vertices;
+    private final boolean frozen;
     
     /**
      * Constructor for Graph
@@ -18,13 +19,30 @@ public class Graph {
         this.adjacencyList = new HashMap<>();
         this.edges = new ArrayList<>();
         this.vertices = new HashSet<>();
+        this.frozen = false;
+    }
+    
+    /**
+     * Constructor for a graph from presized structures (see GraphBuilder)
+     * @param adjacencyList Adjacency lists, one per vertex
+     * @param edges All edges
+     * @param vertices All vertices
+     * @param frozen Whether addVertex/addEdge are rejected
+     */
+    Graph(Map<String, List<Edge>> adjacencyList, List<Edge> edges, Set<String> vertices, boolean frozen) {
+        this.adjacencyList = adjacencyList;
+        this.edges = edges;
+        this.vertices = vertices;
+        this.frozen = frozen;
     }
     
     /**
      * Add a vertex to the graph
      * @param vertex Vertex name
+     * @throws UnsupportedOperationException if the graph was built by GraphBuilder
      */
     public void addVertex(String vertex) {
+        checkMutable();
         vertices.add(vertex);
         adjacencyList.putIfAbsent(vertex, new ArrayList<>());
     }
@@ -34,8 +52,10 @@ public class Graph {
      * @param from Starting vertex
      * @param to Ending vertex
      * @param weight Edge weight
+     * @throws UnsupportedOperationException if the graph was built by GraphBuilder
      */
     public void addEdge(String from, String to, int weight) {
+        checkMutable();
         // Add vertices if they don't exist
         addVertex(from);
         addVertex(to);
@@ -49,6 +69,20 @@ public class Graph {
         adjacencyList.get(to).add(new Edge(to, from, weight));
     }
     
+    /**
+     * Check if the graph is immutable (built by GraphBuilder)
+     * @return true if vertices and edges cannot be added
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+    
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Graph is immutable");
+        }
+    }
+    
     /**
      * Get all edges in the graph
      * @return List of edges
@@ -65,6 +99,22 @@ public class Graph {
         return new HashSet<>(vertices);
     }
     
+    /**
+     * Get a read-only view of all edges (no copy)
+     * @return unmodifiable list of edges
+     */
+    public List<Edge> getEdgeView() {
+        return Collections.unmodifiableList(edges);
+    }
+    
+    /**
+     * Get a read-only view of all vertices (no copy)
+     * @return unmodifiable set of vertices
+     */
+    public Set<String> getVertexView() {
+        return Collections.unmodifiableSet(vertices);
+    }
+    
     /**
      * Get adjacent edges for a vertex
      * @param vertex Vertex name
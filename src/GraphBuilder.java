@@ -0,0 +1,191 @@
+import java.util.*;
+
+/**
+ * Bulk builder for Graph
+ * Collects vertices and edges into primitive arrays (vertex names are
+ * interned once, edges are int triples), then build() creates every map,
+ * set and adjacency list at its final size in one pass: no rehashing, no
+ * list growth, and no per-edge vertex lookups in the Graph itself.
+ * build() returns an immutable graph; buildMutable() returns one that can
+ * still grow (GraphReader uses it, so parsed graphs stay mutable).
+ *
+ * Usage:
+ *   GraphBuilder builder = new GraphBuilder(vertexCount, edgeCount);
+ *   builder.addEdge("A", "B", 4);
+ *   Graph graph = builder.build();
+ *
+ * @author Almas
+ */
+public class GraphBuilder {
+    private final SymbolTable symbols;
+    private int[] from;
+    private int[] to;
+    private int[] weight;
+    private int edgeCount;
+
+    /**
+     * Constructor
+     */
+    public GraphBuilder() {
+        this(16, 16);
+    }
+
+    /**
+     * Constructor with capacity hints
+     * @param expectedVertices Expected number of vertices
+     * @param expectedEdges Expected number of edges
+     */
+    public GraphBuilder(int expectedVertices, int expectedEdges) {
+        this.symbols = new SymbolTable(Math.max(1, expectedVertices));
+        int capacity = Math.max(1, expectedEdges);
+        this.from = new int[capacity];
+        this.to = new int[capacity];
+        this.weight = new int[capacity];
+    }
+
+    /**
+     * Add a vertex (no-op if already present)
+     * @param vertex Vertex name
+     * @return vertex id, in order of first addition
+     */
+    public int addVertex(String vertex) {
+        return symbols.intern(vertex);
+    }
+
+    /**
+     * Add an edge (undirected), adding its vertices if needed
+     * @param from Starting vertex
+     * @param to Ending vertex
+     * @param weight Edge weight
+     */
+    public void addEdge(String from, String to, int weight) {
+        int fromId = addVertex(from);
+        addEdge(fromId, addVertex(to), weight);
+    }
+
+    /**
+     * Add an edge between vertex ids returned by addVertex
+     * @param from Starting vertex id
+     * @param to Ending vertex id
+     * @param weight Edge weight
+     * @throws IllegalArgumentException if a vertex id is unknown
+     */
+    public void addEdge(int from, int to, int weight) {
+        checkVertex(from);
+        checkVertex(to);
+        ensureEdgeCapacity(edgeCount + 1);
+        this.from[edgeCount] = from;
+        this.to[edgeCount] = to;
+        this.weight[edgeCount] = weight;
+        edgeCount++;
+    }
+
+    /**
+     * Add many edges between vertex ids at once
+     * @param from Starting vertex ids
+     * @param to Ending vertex ids
+     * @param weight Edge weights
+     * @param count Number of edges to take from the arrays
+     * @throws IllegalArgumentException if a vertex id is unknown
+     */
+    public void addEdges(int[] from, int[] to, int[] weight, int count) {
+        for (int i = 0; i < count; i++) {
+            checkVertex(from[i]);
+            checkVertex(to[i]);
+        }
+        ensureEdgeCapacity(edgeCount + count);
+        System.arraycopy(from, 0, this.from, edgeCount, count);
+        System.arraycopy(to, 0, this.to, edgeCount, count);
+        System.arraycopy(weight, 0, this.weight, edgeCount, count);
+        edgeCount += count;
+    }
+
+    /**
+     * Get the number of vertices added so far
+     * @return vertex count
+     */
+    public int getVertexCount() {
+        return symbols.size();
+    }
+
+    /**
+     * Get the number of edges added so far
+     * @return edge count
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Build the immutable graph
+     * Same vertices, edges and adjacency order as adding the vertices and
+     * then the edges one by one to a new Graph
+     *
+     * @return graph whose addVertex/addEdge throw UnsupportedOperationException
+     */
+    public Graph build() {
+        return build(true);
+    }
+
+    /**
+     * Build a graph that vertices and edges can still be added to
+     * Same contents and order as build(); the structures are presized the
+     * same way and grow as usual afterwards
+     *
+     * @return mutable graph
+     */
+    public Graph buildMutable() {
+        return build(false);
+    }
+
+    private Graph build(boolean frozen) {
+        String[] names = symbols.getNames();
+        int n = names.length;
+
+        // Exact adjacency list sizes
+        int[] degree = new int[n];
+        for (int i = 0; i < edgeCount; i++) {
+            degree[from[i]]++;
+            degree[to[i]]++;
+        }
+
+        // Tables sized as the default growth would leave them, so iteration order is unchanged
+        int tableCapacity = Math.max(16, (int) Math.ceil(n / 0.75));
+        Set<String> vertices = new HashSet<>(tableCapacity);
+        Map<String, List<Edge>> adjacencyList = new HashMap<>(tableCapacity);
+        List<List<Edge>> lists = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            vertices.add(names[v]);
+            List<Edge> list = new ArrayList<>(degree[v]);
+            lists.add(list);
+            adjacencyList.put(names[v], frozen ? Collections.unmodifiableList(list) : list);
+        }
+
+        List<Edge> edges = new ArrayList<>(edgeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            String fromName = names[from[i]];
+            String toName = names[to[i]];
+            Edge edge = new Edge(fromName, toName, weight[i]);
+            edges.add(edge);
+            lists.get(from[i]).add(edge);
+            lists.get(to[i]).add(new Edge(toName, fromName, weight[i]));
+        }
+
+        return new Graph(adjacencyList, edges, vertices, frozen);
+    }
+
+    private void checkVertex(int id) {
+        if (id < 0 || id >= symbols.size()) {
+            throw new IllegalArgumentException("Unknown vertex id: " + id);
+        }
+    }
+
+    private void ensureEdgeCapacity(int needed) {
+        if (needed > from.length) {
+            int capacity = Math.max(needed, from.length + (from.length >> 1));
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            weight = Arrays.copyOf(weight, capacity);
+        }
+    }
+}
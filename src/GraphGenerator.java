@@ -0,0 +1,467 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Seeded synthetic graph generator for benchmarks and stress tests
+ * Produces random multigraphs, grid, random-geometric and power-law graphs
+ * and streams every edge into an EdgeSink (a Graph, a GraphBuilder, a
+ * PackedEdgeStore, a binary edge file or a JSON input file), so output size
+ * is not limited by memory. The same seed always gives the same edges.
+ * Vertices are ids 0..n-1, named "V{id}" when names are needed.
+ *
+ * Usage: java GraphGenerator <random|grid|geometric|powerlaw> <n> <m> <seed> <output.json|output.bin> [count]
+ *   grid uses n rows and m columns; the other types generate about m edges;
+ *   JSON output named *.json.gz is gzip-compressed
+ *
+ * @author Almas
+ */
+public class GraphGenerator {
+    private final SplittableRandom random;
+    private final int minWeight;
+    private final int maxWeight;
+
+    /**
+     * Receives generated edges one at a time
+     */
+    public interface EdgeSink {
+        void accept(int from, int to, int weight) throws IOException;
+    }
+
+    /**
+     * Constructor with weights in [1, 100] (same as generate_graphs.py)
+     * @param seed Random seed
+     */
+    public GraphGenerator(long seed) {
+        this(seed, 1, 100);
+    }
+
+    /**
+     * Constructor
+     * @param seed Random seed
+     * @param minWeight Minimum edge weight (inclusive)
+     * @param maxWeight Maximum edge weight (inclusive)
+     */
+    public GraphGenerator(long seed, int minWeight, int maxWeight) {
+        if (minWeight > maxWeight) {
+            throw new IllegalArgumentException("minWeight > maxWeight");
+        }
+        this.random = new SplittableRandom(seed);
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Random weight in [minWeight, maxWeight]
+     */
+    private int nextWeight() {
+        return minWeight + random.nextInt(maxWeight - minWeight + 1);
+    }
+
+    /**
+     * Random multigraph: m edges with uniformly random endpoints, no self-loops
+     * Unlike G(n,m), pairs are drawn independently, so parallel edges occur
+     * (about m^2/n^2 of them); deduplicating would need O(m) memory.
+     * If connected is set, the first n-1 edges form a random spanning tree
+     *
+     * @param n Number of vertices
+     * @param m Number of edges
+     * @param connected Whether to guarantee connectivity
+     * @param sink Edge consumer
+     * @throws IOException if the sink fails
+     */
+    public void randomMultigraph(int n, long m, boolean connected, EdgeSink sink) throws IOException {
+        if (n < 2) return;
+        long generated = 0;
+
+        if (connected) {
+            for (int v = 1; v < n && generated < m; v++, generated++) {
+                sink.accept(random.nextInt(v), v, nextWeight());
+            }
+        }
+
+        for (; generated < m; generated++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n - 1);
+            if (v >= u) v++; // Skip self-loop without rejection
+            sink.accept(u, v, nextWeight());
+        }
+    }
+
+    /**
+     * Grid graph: rows x cols vertices, each connected to its right and lower neighbor
+     *
+     * @param rows Number of rows
+     * @param cols Number of columns
+     * @param sink Edge consumer
+     * @throws IOException if the sink fails
+     * @throws IllegalArgumentException if rows * cols does not fit in an int
+     */
+    public void grid(int rows, int cols, EdgeSink sink) throws IOException {
+        gridVertexCount(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int v = r * cols + c;
+                if (c + 1 < cols) sink.accept(v, v + 1, nextWeight());
+                if (r + 1 < rows) sink.accept(v, v + cols, nextWeight());
+            }
+        }
+    }
+
+    /**
+     * Number of vertices of a grid, computed without overflow
+     * @param rows Number of rows
+     * @param cols Number of columns
+     * @return rows * cols
+     * @throws IllegalArgumentException if the count is negative or does not fit in an int
+     */
+    public static int gridVertexCount(long rows, long cols) {
+        if (rows < 0 || cols < 0 || rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid " + rows + " x " + cols + " has too many vertices");
+        }
+        return (int) (rows * cols);
+    }
+
+    /**
+     * Random geometric graph: n points in the unit square, an edge between
+     * every pair closer than radius, weighted by scaled distance.
+     * Points are bucketed into radius-sized cells, so work is O(n + m).
+     *
+     * @param n Number of vertices
+     * @param radius Connection radius
+     * @param sink Edge consumer
+     * @throws IOException if the sink fails
+     */
+    public void geometric(int n, double radius, EdgeSink sink) throws IOException {
+        if (n < 2) return;
+        int cells = Math.max(1, Math.min((int) (1.0 / radius), (int) Math.sqrt(n)));
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int[] cellStart = new int[cells * cells + 1];
+        int[] cellOf = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextDouble();
+            ys[i] = random.nextDouble();
+            cellOf[i] = Math.min(cells - 1, (int) (ys[i] * cells)) * cells
+                      + Math.min(cells - 1, (int) (xs[i] * cells));
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(cellStart, cells * cells);
+        for (int i = 0; i < n; i++) {
+            members[fill[cellOf[i]]++] = i;
+        }
+
+        double radiusSq = radius * radius;
+        int range = maxWeight - minWeight;
+        for (int i = 0; i < n; i++) {
+            int cx = cellOf[i] % cells;
+            int cy = cellOf[i] / cells;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int nx = cx + dx;
+                    int ny = cy + dy;
+                    if (nx < 0 || ny < 0 || nx >= cells || ny >= cells) continue;
+                    int cell = ny * cells + nx;
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int j = members[k];
+                        if (j <= i) continue; // Each pair once
+                        double ddx = xs[i] - xs[j];
+                        double ddy = ys[i] - ys[j];
+                        double distSq = ddx * ddx + ddy * ddy;
+                        if (distSq < radiusSq) {
+                            int weight = minWeight + (int) Math.round(range * Math.sqrt(distSq) / radius);
+                            sink.accept(i, j, weight);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Power-law graph (Chung-Lu style): endpoints are drawn with probability
+     * proportional to (i+1)^(-1/(exponent-1)), giving a degree distribution
+     * with the given exponent. Needs O(n) memory regardless of m.
+     *
+     * @param n Number of vertices
+     * @param m Number of edges
+     * @param exponent Degree distribution exponent (> 2, e.g. 2.5)
+     * @param sink Edge consumer
+     * @throws IOException if the sink fails
+     */
+    public void powerLaw(int n, long m, double exponent, EdgeSink sink) throws IOException {
+        if (n < 2) return;
+        if (exponent <= 1) {
+            throw new IllegalArgumentException("Exponent must be > 1");
+        }
+        double alpha = 1.0 / (exponent - 1);
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += Math.pow(i + 1, -alpha);
+            cumulative[i] = total;
+        }
+
+        for (long e = 0; e < m; e++) {
+            int u = sample(cumulative, total);
+            int v = sample(cumulative, total);
+            if (u == v) {
+                v = (v + 1 + random.nextInt(n - 1)) % n; // Avoid self-loop
+            }
+            sink.accept(u, v, nextWeight());
+        }
+    }
+
+    /**
+     * Inverse-CDF sampling by binary search
+     */
+    private int sample(double[] cumulative, double total) {
+        double target = random.nextDouble() * total;
+        int index = Arrays.binarySearch(cumulative, target);
+        if (index < 0) index = -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+
+    /**
+     * Name of a generated vertex
+     * @param id Vertex id
+     * @return name "V{id}"
+     */
+    public static String vertexName(int id) {
+        return "V" + id;
+    }
+
+    /**
+     * Sink that adds edges to a Graph, naming vertices "V{id}"
+     * @param graph Target graph
+     * @return sink
+     */
+    public static EdgeSink graphSink(Graph graph) {
+        return (from, to, weight) -> graph.addEdge(vertexName(from), vertexName(to), weight);
+    }
+
+    /**
+     * Sink that adds edges to a GraphBuilder, naming vertices "V{id}"
+     * Vertices are added on first use (same order as graphSink), then looked
+     * up by id, so each name is created and hashed once
+     *
+     * @param builder Target builder
+     * @param vertexCount Number of generated vertex ids
+     * @return sink
+     */
+    public static EdgeSink builderSink(GraphBuilder builder, int vertexCount) {
+        int[] builderId = new int[vertexCount];
+        Arrays.fill(builderId, -1);
+        return (from, to, weight) -> {
+            if (builderId[from] < 0) builderId[from] = builder.addVertex(vertexName(from));
+            if (builderId[to] < 0) builderId[to] = builder.addVertex(vertexName(to));
+            builder.addEdge(builderId[from], builderId[to], weight);
+        };
+    }
+
+    /**
+     * Sink that adds edges to a PackedEdgeStore, interning "V{id}" names in
+     * the store's symbol table on first use
+     *
+     * @param store Target store
+     * @param vertexCount Number of generated vertex ids
+     * @return sink
+     */
+    public static EdgeSink packedSink(PackedEdgeStore store, int vertexCount) {
+        SymbolTable symbols = store.getSymbols();
+        int[] storeId = new int[vertexCount];
+        Arrays.fill(storeId, -1);
+        return (from, to, weight) -> {
+            if (storeId[from] < 0) storeId[from] = symbols.intern(vertexName(from));
+            if (storeId[to] < 0) storeId[to] = symbols.intern(vertexName(to));
+            store.addEdge(storeId[from], storeId[to], weight);
+        };
+    }
+
+    /**
+     * Writes edges in the binary format read by ExternalKruskalAlgorithm:
+     * big-endian (from, to, weight) int triples
+     */
+    public static class BinaryEdgeWriter implements EdgeSink, Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long edgeCount;
+
+        public BinaryEdgeWriter(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(1 << 20);
+        }
+
+        @Override
+        public void accept(int from, int to, int weight) throws IOException {
+            if (buffer.remaining() < ExternalKruskalAlgorithm.RECORD_BYTES) {
+                flush();
+            }
+            buffer.putInt(from).putInt(to).putInt(weight);
+            edgeCount++;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        public long getEdgeCount() {
+            return edgeCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            channel.close();
+        }
+    }
+
+    /**
+     * Streams graphs in the JSON input format read by GraphReader:
+     * { "graphs": [ { "id": 1, "nodes": [...], "edges": [...] } ] }
+     * Call beginGraph, then send edges, then endGraph, for each graph
+     */
+    public static class JsonGraphWriter implements EdgeSink, Closeable {
+        private final Writer out;
+        private boolean firstGraph = true;
+        private boolean firstEdge = true;
+        private boolean inGraph = false;
+
+        public JsonGraphWriter(Path file) throws IOException {
+            this(CompressedIO.openWriter(file.toString()));
+        }
+
+        public JsonGraphWriter(Writer out) throws IOException {
+            this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out, 1 << 16);
+            this.out.write("{\n  \"graphs\": [\n");
+        }
+
+        public void beginGraph(int id, int vertexCount) throws IOException {
+            if (inGraph) endGraph();
+            if (!firstGraph) out.write(",\n");
+            firstGraph = false;
+            firstEdge = true;
+            inGraph = true;
+
+            out.write("    {\n      \"id\": " + id + ",\n      \"nodes\": [");
+            for (int v = 0; v < vertexCount; v++) {
+                if (v > 0) out.write(", ");
+                out.write('"');
+                out.write(vertexName(v));
+                out.write('"');
+            }
+            out.write("],\n      \"edges\": [\n");
+        }
+
+        @Override
+        public void accept(int from, int to, int weight) throws IOException {
+            if (!firstEdge) out.write(",\n");
+            firstEdge = false;
+            out.write("        {\"from\": \"V");
+            out.write(Integer.toString(from));
+            out.write("\", \"to\": \"V");
+            out.write(Integer.toString(to));
+            out.write("\", \"weight\": ");
+            out.write(Integer.toString(weight));
+            out.write('}');
+        }
+
+        public void endGraph() throws IOException {
+            out.write("\n      ]\n    }");
+            inGraph = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (inGraph) endGraph();
+            out.write("\n  ]\n}\n");
+            out.close();
+        }
+    }
+
+    /**
+     * Generate one graph of the given type into a sink
+     */
+    private void generate(String type, int n, long m, EdgeSink sink) throws IOException {
+        switch (type) {
+            case "random":
+                randomMultigraph(n, m, true, sink);
+                break;
+            case "grid":
+                grid(n, (int) Math.min(m, Integer.MAX_VALUE), sink);
+                break;
+            case "geometric":
+                // Expected edges ~ n^2/2 * pi r^2
+                geometric(n, Math.sqrt(2.0 * m / (Math.PI * (double) n * n)), sink);
+                break;
+            case "powerlaw":
+                powerLaw(n, m, 2.5, sink);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown graph type: " + type);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 5) {
+            System.err.println("Usage: java GraphGenerator <random|grid|geometric|powerlaw> "
+                + "<n> <m> <seed> <output.json[.gz]|output.bin> [count]");
+            System.exit(1);
+        }
+
+        String type = args[0];
+        int n = Integer.parseInt(args[1]);
+        long m = Long.parseLong(args[2]);
+        long seed = Long.parseLong(args[3]);
+        Path output = Paths.get(args[4]);
+        int count = args.length >= 6 ? Integer.parseInt(args[5]) : 1;
+
+        try {
+            int vertexCount = type.equals("grid") ? gridVertexCount(n, m) : n;
+            long startTime = System.nanoTime();
+            long edges = 0;
+
+            if (output.toString().endsWith(".bin")) {
+                if (count != 1) {
+                    throw new IllegalArgumentException("Binary output holds a single graph");
+                }
+                try (BinaryEdgeWriter writer = new BinaryEdgeWriter(output)) {
+                    new GraphGenerator(seed).generate(type, n, m, writer);
+                    edges = writer.getEdgeCount();
+                }
+            } else {
+                try (JsonGraphWriter writer = new JsonGraphWriter(output)) {
+                    long[] counter = new long[1];
+                    for (int i = 0; i < count; i++) {
+                        writer.beginGraph(i + 1, vertexCount);
+                        new GraphGenerator(seed + i).generate(type, n, m, (from, to, weight) -> {
+                            writer.accept(from, to, weight);
+                            counter[0]++;
+                        });
+                        writer.endGraph();
+                    }
+                    edges = counter[0];
+                }
+            }
+
+            System.err.printf("Generated %d graph(s), %d vertices each, %d edges total in %d ms -> %s%n",
+                             count, vertexCount, edges, (System.nanoTime() - startTime) / 1_000_000, output);
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
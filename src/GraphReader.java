@@ -1,5 +1,7 @@
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.LongConsumer;
 
 /**
  * Class for reading graphs from JSON files
@@ -10,22 +12,193 @@ import java.util.*;
 public class GraphReader {
     
     /**
-     * Read all graphs from JSON file
+     * Read all graphs from JSON file (gzipped files are detected and decompressed)
      * 
      * @param filename Path to JSON file
      * @return List of GraphData objects
      * @throws IOException if file not found or read error
      */
     public static List<GraphData> readGraphsFromJSON(String filename) throws IOException {
+        return readGraphsFromJSON(filename, new SymbolTable());
+    }
+    
+    /**
+     * Read all graphs from JSON file, interning vertex names into a shared symbol table
+     * 
+     * @param filename Path to JSON file
+     * @param symbols Symbol table shared by all graphs (and files) read with it
+     * @return List of GraphData objects
+     * @throws IOException if file not found or read error
+     */
+    public static List<GraphData> readGraphsFromJSON(String filename, SymbolTable symbols) throws IOException {
+        MSTEvents.GraphRead event = new MSTEvents.GraphRead();
+        event.begin();
         List<GraphData> graphDataList = new ArrayList<>();
         
-        // Read entire file
-        StringBuilder json = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                json.append(line.trim());
+        // Parse each graph object
+        List<String> graphObjects = readGraphObjects(filename);
+        
+        for (String graphObj : graphObjects) {
+            GraphData graphData = parseGraph(graphObj, symbols);
+            graphDataList.add(graphData);
+        }
+        
+        commitReadEvent(event, filename, graphDataList.size(), 1);
+        return graphDataList;
+    }
+    
+    /**
+     * Read all graphs from JSON file, parsing independent graphs in parallel
+     * 
+     * @param filename Path to JSON file
+     * @param threads Number of parser threads
+     * @return List of GraphData objects, in input order
+     * @throws IOException if file not found, read error or parse error
+     */
+    public static List<GraphData> readGraphsFromJSONParallel(String filename, int threads) throws IOException {
+        return readGraphsFromJSONParallel(filename, SymbolTable.synchronizedTable(16), threads);
+    }
+    
+    /**
+     * Read all graphs from JSON file, parsing independent graphs in parallel
+     * Graphs are returned in input order; symbol ids are assigned in
+     * completion order, so they may differ between runs
+     * 
+     * @param filename Path to JSON file
+     * @param symbols Symbol table shared by all graphs (from SymbolTable.synchronizedTable if threads > 1)
+     * @param threads Number of parser threads
+     * @return List of GraphData objects, in input order
+     * @throws IOException if file not found, read error or parse error
+     * @throws IllegalArgumentException if threads > 1 and the table is not synchronized
+     */
+    public static List<GraphData> readGraphsFromJSONParallel(String filename, SymbolTable symbols,
+                                                             int threads) throws IOException {
+        if (threads > 1 && !symbols.isSynchronized()) {
+            throw new IllegalArgumentException("Parallel parsing needs SymbolTable.synchronizedTable");
+        }
+        MSTEvents.GraphRead event = new MSTEvents.GraphRead();
+        event.begin();
+        List<String> graphObjects = readGraphObjects(filename);
+        List<GraphData> graphDataList = parseGraphs(graphObjects, symbols, threads);
+        commitReadEvent(event, filename, graphDataList.size(), threads);
+        return graphDataList;
+    }
+    
+    /**
+     * Parse graph objects on a worker pool, keeping input order
+     */
+    private static List<GraphData> parseGraphs(List<String> graphObjects, SymbolTable symbols,
+                                               int threads) throws IOException {
+        if (threads <= 1 || graphObjects.size() <= 1) {
+            List<GraphData> graphDataList = new ArrayList<>();
+            for (String graphObj : graphObjects) {
+                graphDataList.add(parseGraph(graphObj, symbols));
+            }
+            return graphDataList;
+        }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, graphObjects.size()));
+        try {
+            List<Future<GraphData>> futures = new ArrayList<>(graphObjects.size());
+            for (String graphObj : graphObjects) {
+                futures.add(pool.submit(() -> parseGraph(graphObj, symbols)));
             }
+            
+            List<GraphData> graphDataList = new ArrayList<>(graphObjects.size());
+            for (Future<GraphData> future : futures) {
+                graphDataList.add(future.get());
+            }
+            return graphDataList;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing graphs");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to parse graph: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    /**
+     * Commit a JFR read event if it is enabled
+     */
+    private static void commitReadEvent(MSTEvents.GraphRead event, String filename, int graphCount, int threads) {
+        if (event.shouldCommit()) {
+            commitReadEvent(event, filename, graphCount, threads, new File(filename).length());
+        }
+    }
+    
+    private static void commitReadEvent(MSTEvents.GraphRead event, String filename, int graphCount,
+                                        int threads, long bytes) {
+        if (event.shouldCommit()) {
+            event.file = filename;
+            event.graphCount = graphCount;
+            event.threads = threads;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Parse all graphs from a JSON document held in memory (e.g. a request body)
+     * 
+     * @param json JSON document in the input format
+     * @param symbols Symbol table shared by all graphs
+     * @return List of GraphData objects
+     * @throws IOException if the document is not in the input format
+     */
+    public static List<GraphData> parseGraphsFromJSON(String json, SymbolTable symbols) throws IOException {
+        try {
+            return parseGraphs(readGraphObjects(new StringReader(json)), symbols, 1);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Open a JSON file (plain or gzipped) for reading its graphs one at a time
+     * 
+     * @param filename Path to JSON file
+     * @return stream of graph objects; close it when done
+     * @throws IOException if file not found or read error
+     */
+    public static GraphStream openGraphStream(String filename) throws IOException {
+        return openGraphStream(filename, null);
+    }
+    
+    /**
+     * Open a JSON file (plain or gzipped) for reading its graphs one at a time
+     * A GraphRead event covering the read stage (open to last graph) is
+     * committed when the end of the graphs array is reached
+     * 
+     * @param filename Path to JSON file
+     * @param bytesRead Receives each number of file bytes read, as they are read (may be null)
+     * @return stream of graph objects; close it when done
+     * @throws IOException if file not found or read error
+     */
+    public static GraphStream openGraphStream(String filename, LongConsumer bytesRead) throws IOException {
+        return new GraphStream(filename, bytesRead);
+    }
+    
+    /**
+     * Read a JSON file (plain or gzipped) and split its graphs array into graph object strings
+     */
+    private static List<String> readGraphObjects(String filename) throws IOException {
+        try (Reader in = CompressedIO.openReader(filename)) {
+            return readGraphObjects(in);
+        }
+    }
+    
+    /**
+     * Read a JSON document and split its graphs array into graph object strings
+     */
+    private static List<String> readGraphObjects(Reader in) throws IOException {
+        // Read entire document
+        StringBuilder json = new StringBuilder();
+        BufferedReader reader = new BufferedReader(in);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            json.append(line.trim());
         }
         
         String jsonString = json.toString();
@@ -45,51 +218,68 @@ public class GraphReader {
         
         String graphsString = jsonString.substring(arrayStart + 1, arrayEnd);
         
-        // Parse each graph object
-        List<String> graphObjects = splitGraphObjects(graphsString);
-        
-        for (String graphObj : graphObjects) {
-            GraphData graphData = parseGraph(graphObj);
-            graphDataList.add(graphData);
-        }
-        
-        return graphDataList;
+        return splitGraphObjects(graphsString);
+    }
+    
+    /**
+     * Parse a single graph object with its own symbol table
+     * Nothing is shared between graphs, so parser threads never contend and
+     * no table outlives its graph
+     */
+    static GraphData parseGraph(String graphObj) {
+        return parseGraph(graphObj, null);
     }
     
     /**
      * Parse a single graph object
+     * Names are first interned into a small per-graph table, then canonicalized
+     * against the shared table in one call, so every occurrence of a vertex
+     * shares one String and parser threads rarely contend on the shared table
+     * (symbols == null keeps the per-graph table as the graph's table)
      */
-    private static GraphData parseGraph(String graphObj) {
+    static GraphData parseGraph(String graphObj, SymbolTable symbols) {
         int id = extractInt(graphObj, "id");
         List<String> nodes = extractArray(graphObj, "nodes");
         
-        Graph graph = new Graph();
-        
-        // Add all nodes
+        SymbolTable local = new SymbolTable(nodes.size());
         for (String node : nodes) {
-            graph.addVertex(node);
+            local.intern(node);
         }
         
-        // Parse and add edges
+        // Parse edges into local vertex ids
         int edgesStart = graphObj.indexOf("\"edges\"");
         int edgesArrayStart = graphObj.indexOf("[", edgesStart);
         int edgesArrayEnd = findMatchingBracket(graphObj, edgesArrayStart);
         String edgesString = graphObj.substring(edgesArrayStart + 1, edgesArrayEnd);
         
         String[] edgeObjects = edgesString.split("\\},\\{");
+        int[] from = new int[edgeObjects.length];
+        int[] to = new int[edgeObjects.length];
+        int[] weight = new int[edgeObjects.length];
+        int edgeCount = 0;
         
         for (String edgeObj : edgeObjects) {
             edgeObj = edgeObj.replace("{", "").replace("}", "").trim();
             if (edgeObj.isEmpty()) continue;
             
-            String from = extractValue(edgeObj, "from");
-            String to = extractValue(edgeObj, "to");
-            int weight = Integer.parseInt(extractValue(edgeObj, "weight"));
-            
-            graph.addEdge(from, to, weight);
+            from[edgeCount] = internValue(edgeObj, "from", local);
+            to[edgeCount] = internValue(edgeObj, "to", local);
+            weight[edgeCount] = Integer.parseInt(extractValue(edgeObj, "weight"));
+            edgeCount++;
         }
         
-        return new GraphData(id, graph);
+        // Build the graph from canonical names; builder ids equal local ids
+        if (symbols == null) {
+            symbols = local;
+        }
+        String[] names = symbols == local ? local.getNames() : symbols.canonicalize(local.getNames(), null);
+        GraphBuilder builder = new GraphBuilder(names.length, edgeCount);
+        for (String name : names) {
+            builder.addVertex(name);
+        }
+        builder.addEdges(from, to, weight, edgeCount);
+        
+        return new GraphData(id, builder.buildMutable(), symbols);
     }
     
     /**
@@ -170,6 +360,43 @@ public class GraphReader {
         return Integer.parseInt(value);
     }
     
+    /**
+     * Intern a string value from JSON without creating a substring for it
+     * Gives the same name as extractValue (and the nodes array), which drops
+     * every quote: values with a quote inside fall back to extractValue
+     */
+    private static int internValue(String json, String field, SymbolTable symbols) {
+        String pattern = "\"" + field + "\"";
+        int fieldStart = json.indexOf(pattern);
+        if (fieldStart == -1) return symbols.intern("");
+        
+        int valueStart = json.indexOf(":", fieldStart) + 1;
+        int valueEnd = json.indexOf(",", valueStart);
+        if (valueEnd == -1) {
+            valueEnd = json.indexOf("}", valueStart);
+        }
+        if (valueEnd == -1) {
+            valueEnd = json.length();
+        }
+        
+        // Trim whitespace and quotes on both ends
+        while (valueStart < valueEnd && isTrimmed(json.charAt(valueStart))) valueStart++;
+        while (valueEnd > valueStart && isTrimmed(json.charAt(valueEnd - 1))) valueEnd--;
+        
+        int quote = json.indexOf('"', valueStart);
+        if (quote != -1 && quote < valueEnd) {
+            return symbols.intern(extractValue(json, field));
+        }
+        return symbols.intern(json, valueStart, valueEnd);
+    }
+    
+    /**
+     * Characters stripped around a JSON value
+     */
+    private static boolean isTrimmed(char c) {
+        return c == '"' || c <= ' ';
+    }
+    
     /**
      * Extract string value from JSON
      */
@@ -193,16 +420,158 @@ public class GraphReader {
         return value;
     }
     
+    /**
+     * Reads the graphs array of a JSON document one graph object at a time,
+     * so only the graph being returned is held in memory. Splits exactly like
+     * readGraphsFromJSON (lines are trimmed and joined, objects split by braces).
+     */
+    public static class GraphStream implements Closeable {
+        private final BufferedReader reader;
+        private final String file;
+        private final MSTEvents.GraphRead event;
+        private String line = "";
+        private int position;
+        private boolean inArray;
+        private boolean finished;
+        private int graphCount;
+        private long bytesRead;
+        
+        public GraphStream(Reader in) {
+            this.reader = new BufferedReader(in);
+            this.file = null;
+            this.event = null;
+        }
+        
+        private GraphStream(String filename, LongConsumer bytesListener) throws IOException {
+            this.file = filename;
+            this.event = new MSTEvents.GraphRead();
+            event.begin();
+            this.reader = CompressedIO.openReader(filename, n -> {
+                bytesRead += n;
+                if (bytesListener != null) bytesListener.accept(n);
+            });
+        }
+        
+        /**
+         * Read the next graph object
+         * @return graph object string, or null after the last graph
+         * @throws IOException if the document ends early or has no graphs array
+         */
+        public String nextGraphObject() throws IOException {
+            if (!inArray) {
+                findGraphsArray();
+            }
+            if (finished) {
+                return null;
+            }
+            
+            StringBuilder object = new StringBuilder();
+            int depth = 0;
+            while (true) {
+                if (position == line.length()) {
+                    String next = reader.readLine();
+                    if (next == null) {
+                        throw new IOException("Invalid JSON: graphs array not found");
+                    }
+                    line = next.trim();
+                    position = 0;
+                    continue;
+                }
+                
+                char c = line.charAt(position++);
+                if (depth > 0) {
+                    object.append(c);
+                }
+                if (c == '{') {
+                    if (depth == 0) object.append(c);
+                    depth++;
+                } else if (c == '}' && depth > 0) {
+                    depth--;
+                    if (depth == 0) {
+                        graphCount++;
+                        return object.toString();
+                    }
+                } else if (c == ']' && depth == 0) {
+                    finished = true;
+                    if (event != null) {
+                        commitReadEvent(event, file, graphCount, 1, bytesRead);
+                    }
+                    return null;
+                }
+            }
+        }
+        
+        /**
+         * Read the next graph and parse it
+         * @param symbols Symbol table shared by all graphs
+         * @return graph, or null after the last graph
+         * @throws IOException if the document is not in the input format
+         */
+        public GraphData next(SymbolTable symbols) throws IOException {
+            String graphObj = nextGraphObject();
+            return graphObj == null ? null : parseGraph(graphObj, symbols);
+        }
+        
+        /**
+         * Skip ahead to just after the '[' of the graphs array
+         */
+        private void findGraphsArray() throws IOException {
+            StringBuilder prefix = new StringBuilder();
+            int graphsStart = -1;
+            String next;
+            while ((next = reader.readLine()) != null) {
+                prefix.append(next.trim());
+                if (graphsStart == -1) {
+                    graphsStart = prefix.indexOf("\"graphs\"");
+                }
+                if (graphsStart != -1) {
+                    int arrayStart = prefix.indexOf("[", graphsStart);
+                    if (arrayStart != -1) {
+                        line = prefix.substring(arrayStart + 1);
+                        position = 0;
+                        inArray = true;
+                        return;
+                    }
+                }
+            }
+            throw new IOException(graphsStart == -1 ? "Invalid JSON: 'graphs' field not found"
+                                                    : "Invalid JSON: graphs array not found");
+        }
+        
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+    
     /**
      * Data class to hold graph with its ID
+     * symbols maps vertex names to dense int ids (shared by all graphs from one file)
      */
     public static class GraphData {
         public final int id;
         public final Graph graph;
+        public final SymbolTable symbols;
         
         public GraphData(int id, Graph graph) {
+            this(id, graph, symbolsOf(graph));
+        }
+        
+        public GraphData(int id, Graph graph, SymbolTable symbols) {
             this.id = id;
             this.graph = graph;
+            this.symbols = symbols;
+        }
+        
+        /**
+         * Build a symbol table for a graph created without one
+         */
+        private static SymbolTable symbolsOf(Graph graph) {
+            SymbolTable symbols = new SymbolTable(graph.getVertexCount());
+            for (String vertex : graph.getVertices()) {
+                symbols.intern(vertex);
+            }
+            return symbols;
         }
     }
 }
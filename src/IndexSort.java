@@ -0,0 +1,99 @@
+/**
+ * Stable LSD radix sort of indices by primitive keys
+ * Used by the long- and double-weighted engines to order edges without
+ * boxing or comparators. Keys are compared as unsigned 64-bit values; use
+ * longKey / doubleKey to map weights to keys that sort in numeric order.
+ * Passes whose 16-bit digit is the same for every key are skipped, so
+ * small weight ranges cost one or two passes instead of four.
+ *
+ * @author Almas
+ */
+public final class IndexSort {
+    private static final int DIGIT_BITS = 16;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int INSERTION_THRESHOLD = 64;
+
+    private IndexSort() {
+    }
+
+    /**
+     * Map a signed long to a key whose unsigned order is the signed order
+     * @param value Weight
+     * @return sort key
+     */
+    public static long longKey(long value) {
+        return value ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Map a double to a key whose unsigned order is the numeric order
+     * (-0.0 sorts before 0.0; NaN must be rejected by the caller)
+     * @param value Weight
+     * @return sort key
+     */
+    public static long doubleKey(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Sort indices 0..n-1 by key, ties in index order
+     * @param keys Keys (not modified)
+     * @param n Number of keys to sort
+     * @return indices in ascending key order
+     */
+    public static int[] sortedIndices(long[] keys, int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (n < INSERTION_THRESHOLD) {
+            insertionSort(keys, order, n);
+            return order;
+        }
+
+        int[] buffer = new int[n];
+        int[] count = new int[RADIX];
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            java.util.Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[digit(keys[i], shift)]++;
+            }
+            if (count[digit(keys[0], shift)] == n) {
+                continue; // Every key has the same digit, order unchanged
+            }
+
+            int sum = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int index = order[i];
+                buffer[count[digit(keys[index], shift)]++] = index;
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) (key >>> shift) & (RADIX - 1);
+    }
+
+    private static void insertionSort(long[] keys, int[] order, int n) {
+        for (int i = 1; i < n; i++) {
+            int index = order[i];
+            long key = keys[index];
+            int j = i - 1;
+            while (j >= 0 && Long.compareUnsigned(keys[order[j]], key) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
+}
@@ -0,0 +1,416 @@
+import java.util.*;
+
+/**
+ * Karger-Klein-Tarjan randomized Minimum Spanning Tree (expected linear time)
+ * Each level runs Borůvka contraction steps (three rather than the textbook
+ * two: on sparse random graphs the extra step costs less than the path-max
+ * queries it saves), builds the MSF F of a random half of the remaining
+ * edges (recursively), discards every edge that is F-heavy (heavier than
+ * the heaviest edge on its F path, checked with PathMaxIndex), and recurses
+ * on the F-light edges. Small subproblems fall back to sorting.
+ *
+ * Ties are broken by edge index, so the chosen tree matches
+ * KruskalAlgorithm's (which sorts stably) and results are deterministic for
+ * a given seed. Same result surface as PrimAlgorithm/KruskalAlgorithm;
+ * large inputs can also be given as int edge arrays.
+ *
+ * Benchmark: java -Xmx8g KKTAlgorithm [vertices] [edges] [seed]
+ *
+ * @author Almas
+ */
+public class KKTAlgorithm {
+    private static final int BASE_CASE_EDGES = 16384;
+    private static final int BORUVKA_STEPS = 3;
+    private static final long DEFAULT_SEED = 42L;
+
+    private final Graph graph;
+    private final int vertexCount;
+    private final int[] from;
+    private final int[] to;
+    private final int[] weight;
+    private final int edgeCount;
+    private final SplittableRandom random;
+
+    private int[] mstEdgeIndices;
+    private List<Edge> mstEdges;
+    private int totalCost;
+    private int operationCount;
+    private long executionTime;
+
+    /**
+     * Constructor
+     * @param graph Input graph
+     */
+    public KKTAlgorithm(Graph graph) {
+        this(graph, DEFAULT_SEED);
+    }
+
+    /**
+     * Constructor with an explicit random seed
+     * @param graph Input graph
+     * @param seed Seed for edge sampling
+     */
+    public KKTAlgorithm(Graph graph, long seed) {
+        this.graph = graph;
+        List<Edge> edges = graph.getEdgeView();
+        Map<String, Integer> ids = new HashMap<>(graph.getVertexCount() * 2);
+        for (String vertex : graph.getVertexView()) {
+            ids.put(vertex, ids.size());
+        }
+        this.vertexCount = ids.size();
+        this.edgeCount = edges.size();
+        this.from = new int[edgeCount];
+        this.to = new int[edgeCount];
+        this.weight = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = edges.get(i);
+            from[i] = ids.get(edge.getFrom());
+            to[i] = ids.get(edge.getTo());
+            weight[i] = edge.getWeight();
+        }
+        this.random = new SplittableRandom(seed);
+        this.mstEdgeIndices = new int[0];
+    }
+
+    /**
+     * Constructor for large graphs given as int edge arrays (arrays are not copied)
+     * @param vertexCount Number of vertices (ids 0..vertexCount-1)
+     * @param from Edge start vertex ids
+     * @param to Edge end vertex ids
+     * @param weight Edge weights
+     * @param edgeCount Number of edges to use from the arrays
+     * @param seed Seed for edge sampling
+     */
+    public KKTAlgorithm(int vertexCount, int[] from, int[] to, int[] weight, int edgeCount, long seed) {
+        this.graph = null;
+        this.vertexCount = vertexCount;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.edgeCount = edgeCount;
+        this.random = new SplittableRandom(seed);
+        this.mstEdgeIndices = new int[0];
+    }
+
+    /**
+     * Find the Minimum Spanning Tree using the KKT algorithm
+     * @return true if MST found, false if graph is disconnected
+     */
+    public boolean findMST() {
+        long startTime = System.nanoTime();
+
+        if (vertexCount == 0) {
+            executionTime = 0;
+            return false;
+        }
+
+        // Reset
+        mstEdges = null;
+        totalCost = 0;
+        operationCount = 0;
+
+        mstEdgeIndices = msf(vertexCount, from, to, weight, edgeCount);
+        Arrays.sort(mstEdgeIndices);
+        for (int edge : mstEdgeIndices) {
+            totalCost += weight[edge];
+        }
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000; // Convert to milliseconds
+        return mstEdgeIndices.length == vertexCount - 1;
+    }
+
+    /**
+     * Minimum spanning forest of an edge list
+     * Edges are compared by (weight, position); positions preserve the
+     * original edge order at every level, so this is the (weight, index) order
+     *
+     * @return positions of the forest edges in the given arrays
+     */
+    private int[] msf(int n, int[] from, int[] to, int[] weight, int m) {
+        operationCount += m;
+        if (m <= BASE_CASE_EDGES || n <= 2) {
+            return sortedMSF(n, from, to, weight, m);
+        }
+
+        // Borůvka steps: contract the lightest edge of every vertex
+        int[] chosen = new int[n];
+        int chosenCount = 0;
+        int[] position = identity(m);
+        int[] curFrom = from;
+        int[] curTo = to;
+        int[] curWeight = weight;
+        int curN = n;
+        int curM = m;
+        for (int step = 0; step < BORUVKA_STEPS && curM > 0; step++) {
+            int[] best = new int[curN];
+            Arrays.fill(best, -1);
+            for (int e = 0; e < curM; e++) {
+                int u = curFrom[e];
+                int v = curTo[e];
+                if (u == v) continue;
+                if (best[u] < 0 || lighter(curWeight, e, best[u])) best[u] = e;
+                if (best[v] < 0 || lighter(curWeight, e, best[v])) best[v] = e;
+            }
+
+            IntUnionFind uf = new IntUnionFind(curN);
+            for (int v = 0; v < curN; v++) {
+                int e = best[v];
+                if (e >= 0 && uf.union(curFrom[e], curTo[e])) {
+                    chosen[chosenCount++] = position[e];
+                }
+            }
+
+            // Relabel components 0..k-1
+            int[] component = new int[curN];
+            Arrays.fill(component, -1);
+            int k = 0;
+            for (int v = 0; v < curN; v++) {
+                int root = uf.find(v);
+                if (component[root] < 0) component[root] = k++;
+                component[v] = component[root];
+            }
+
+            // Contracted edge list without self-loops and parallel edges
+            int[] keptFrom = new int[curM];
+            int[] keptTo = new int[curM];
+            for (int e = 0; e < curM; e++) {
+                keptFrom[e] = component[curFrom[e]];
+                keptTo[e] = component[curTo[e]];
+            }
+            // Parallel edges are only merged after the last step, where most of them appear;
+            // the original relative order is kept, so positions still break ties by edge index
+            boolean[] keep = new boolean[curM];
+            if (step == BORUVKA_STEPS - 1) {
+                for (int e : EdgeReducer.keptEdges(keptFrom, keptTo, curWeight, curM)) {
+                    keep[e] = true;
+                }
+            } else {
+                for (int e = 0; e < curM; e++) {
+                    keep[e] = keptFrom[e] != keptTo[e];
+                }
+            }
+            int[] kept = new int[curM];
+            int keptCount = 0;
+            for (int e = 0; e < curM; e++) {
+                if (keep[e]) kept[keptCount++] = e;
+            }
+            kept = Arrays.copyOf(kept, keptCount);
+            int[] nextFrom = new int[kept.length];
+            int[] nextTo = new int[kept.length];
+            int[] nextWeight = new int[kept.length];
+            int[] nextPosition = new int[kept.length];
+            for (int i = 0; i < kept.length; i++) {
+                int e = kept[i];
+                nextFrom[i] = keptFrom[e];
+                nextTo[i] = keptTo[e];
+                nextWeight[i] = curWeight[e];
+                nextPosition[i] = position[e];
+            }
+            operationCount += curN + curM;
+            curFrom = nextFrom;
+            curTo = nextTo;
+            curWeight = nextWeight;
+            position = nextPosition;
+            curN = k;
+            curM = kept.length;
+        }
+
+        if (curM == 0) {
+            return Arrays.copyOf(chosen, chosenCount);
+        }
+
+        // Sample each edge with probability 1/2 and find the sample's forest F
+        int[] sample = new int[curM];
+        int sampleCount = 0;
+        for (int e = 0; e < curM; e++) {
+            if (random.nextBoolean()) sample[sampleCount++] = e;
+        }
+        int[] forest = mapBack(msf(curN, select(curFrom, sample, sampleCount), select(curTo, sample, sampleCount),
+                                   select(curWeight, sample, sampleCount), sampleCount), sample);
+
+        // Keep only F-light edges (heavy: strictly heavier than every edge on its F path)
+        int[] forestFrom = select(curFrom, forest, forest.length);
+        int[] forestTo = select(curTo, forest, forest.length);
+        int[] forestWeight = select(curWeight, forest, forest.length);
+        PathMaxIndex verifier = new PathMaxIndex(curN, forestFrom, forestTo, forestWeight, forest.length);
+        int[] pathMax = verifier.queryBatch(curFrom, curTo); // Arrays hold exactly curM edges after contraction
+        int[] light = new int[curM];
+        int lightCount = 0;
+        for (int e = 0; e < curM; e++) {
+            if (pathMax[e] == PathMaxIndex.NO_PATH || curWeight[e] <= pathMax[e]) {
+                light[lightCount++] = e;
+            }
+        }
+        operationCount += curM;
+
+        // Forest of the F-light edges completes the Borůvka edges
+        int[] rest = mapBack(msf(curN, select(curFrom, light, lightCount), select(curTo, light, lightCount),
+                                 select(curWeight, light, lightCount), lightCount), light);
+        int[] result = Arrays.copyOf(chosen, chosenCount + rest.length);
+        for (int i = 0; i < rest.length; i++) {
+            result[chosenCount + i] = position[rest[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Kruskal on a small edge list: sort (weight, position) keys, then union-find
+     */
+    private int[] sortedMSF(int n, int[] from, int[] to, int[] weight, int m) {
+        long[] keys = new long[m];
+        for (int e = 0; e < m; e++) {
+            keys[e] = ((long) weight[e] << 32) | e;
+        }
+        Arrays.sort(keys);
+        operationCount += m * (int) (Math.log(Math.max(m, 2)) / Math.log(2)); // Sorting complexity
+
+        IntUnionFind uf = new IntUnionFind(n);
+        int[] result = new int[Math.max(0, Math.min(n - 1, m))];
+        int count = 0;
+        for (int k = 0; k < m && count < result.length; k++) {
+            int e = (int) keys[k];
+            if (uf.union(from[e], to[e])) {
+                result[count++] = e;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static boolean lighter(int[] weight, int a, int b) {
+        return weight[a] < weight[b] || (weight[a] == weight[b] && a < b);
+    }
+
+    private static int[] identity(int m) {
+        int[] ids = new int[m];
+        for (int i = 0; i < m; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    private static int[] select(int[] values, int[] indices, int count) {
+        int[] selected = new int[count];
+        for (int i = 0; i < count; i++) {
+            selected[i] = values[indices[i]];
+        }
+        return selected;
+    }
+
+    private static int[] mapBack(int[] positions, int[] indices) {
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = indices[positions[i]];
+        }
+        return positions;
+    }
+
+    /**
+     * Get the indices of the MST edges (into the input edge order), ascending
+     * @return edge indices
+     */
+    public int[] getMSTEdgeIndices() {
+        return mstEdgeIndices.clone();
+    }
+
+    /**
+     * Get the MST edges
+     * @return List of edges in MST
+     */
+    public List<Edge> getMSTEdges() {
+        if (mstEdges == null) {
+            // Graph edges as given, or "V{id}" names for array input
+            mstEdges = new ArrayList<>(mstEdgeIndices.length);
+            for (int edge : mstEdgeIndices) {
+                mstEdges.add(graph != null ? graph.getEdgeView().get(edge)
+                    : new Edge(GraphGenerator.vertexName(from[edge]), GraphGenerator.vertexName(to[edge]),
+                               weight[edge]));
+            }
+        }
+        return new ArrayList<>(mstEdges);
+    }
+
+    /**
+     * Get the total cost of MST
+     * @return total cost
+     */
+    public int getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Get the number of operations performed
+     * @return operation count
+     */
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Get execution time in milliseconds
+     * @return execution time
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Get formatted results string
+     * @return results string
+     */
+    public String getResultsString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("KKT Algorithm Results:\n");
+        sb.append("Total Cost: ").append(totalCost).append("\n");
+        sb.append("Number of Edges: ").append(mstEdgeIndices.length).append("\n");
+        sb.append("Operations: ").append(operationCount).append("\n");
+        sb.append("Execution Time: ").append(executionTime).append(" ms\n");
+        sb.append("MST Edges:\n");
+        for (Edge edge : getMSTEdges()) {
+            sb.append("  ").append(edge).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Benchmark KKT against Kruskal and Prim on a generated connected graph
+     */
+    public static void main(String[] args) throws Exception {
+        int n = args.length >= 1 ? Integer.parseInt(args[0]) : 1_000_000;
+        int m = args.length >= 2 ? Integer.parseInt(args[1]) : 10_000_000;
+        long seed = args.length >= 3 ? Long.parseLong(args[2]) : 1L;
+
+        System.out.printf("Generating random graph: %d vertices, %d edges (seed %d)%n", n, m, seed);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        int[] count = new int[1];
+        new GraphGenerator(seed).randomMultigraph(n, m, true, (u, v, w) -> {
+            from[count[0]] = u;
+            to[count[0]] = v;
+            weight[count[0]] = w;
+            count[0]++;
+        });
+
+        KKTAlgorithm kkt = new KKTAlgorithm(n, from, to, weight, count[0], seed);
+        long start = System.nanoTime();
+        kkt.findMST();
+        long kktNanos = System.nanoTime() - start;
+        System.out.printf("KKT:     cost=%d  time=%d ms%n", kkt.getTotalCost(), kktNanos / 1_000_000);
+
+        GraphBuilder builder = new GraphBuilder(n, count[0]);
+        for (int v = 0; v < n; v++) {
+            builder.addVertex(GraphGenerator.vertexName(v));
+        }
+        builder.addEdges(from, to, weight, count[0]);
+        Graph graph = builder.build();
+
+        KruskalAlgorithm kruskal = new KruskalAlgorithm(graph);
+        start = System.nanoTime();
+        kruskal.findMST();
+        System.out.printf("Kruskal: cost=%d  time=%d ms%n", kruskal.getTotalCost(), (System.nanoTime() - start) / 1_000_000);
+
+        PrimAlgorithm prim = new PrimAlgorithm(graph);
+        start = System.nanoTime();
+        prim.findMST();
+        System.out.printf("Prim:    cost=%d  time=%d ms%n", prim.getTotalCost(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -30,6 +30,8 @@ public class KruskalAlgorithm {
      * @return true if MST found, false if graph is disconnected
      */
     public boolean findMST() {
+        MSTEvents.AlgorithmRun event = new MSTEvents.AlgorithmRun();
+        event.begin();
         long startTime = System.nanoTime();
         
         Set<String> vertices = graph.getVertices();
@@ -46,11 +48,13 @@ public class KruskalAlgorithm {
         // Initialize Union-Find
         UnionFind uf = new UnionFind(vertices);
         operationCount++; // Initialize UF
+        long setupEnd = System.nanoTime();
         
         // Get all edges and sort by weight
         List<Edge> edges = new ArrayList<>(graph.getEdges());
         Collections.sort(edges);
         operationCount += edges.size() * (int)(Math.log(edges.size()) / Math.log(2)); // Sorting complexity
+        long sortEnd = System.nanoTime();
         
         // Process edges in order of weight
         for (Edge edge : edges) {
@@ -80,7 +84,107 @@ public class KruskalAlgorithm {
         executionTime = (endTime - startTime) / 1_000_000; // Convert to milliseconds
         
         // Check if MST is complete
-        return mstEdges.size() == vertices.size() - 1;
+        boolean success = mstEdges.size() == vertices.size() - 1;
+        
+        if (event.shouldCommit()) {
+            event.algorithm = "Kruskal";
+            event.vertices = vertices.size();
+            event.edges = edges.size();
+            event.totalCost = totalCost;
+            event.operations = operationCount;
+            event.success = success;
+            event.setupNanos = setupEnd - startTime;
+            event.sortNanos = sortEnd - setupEnd;
+            event.loopNanos = endTime - sortEnd;
+            event.unionFindSize = vertices.size();
+            event.commit();
+        }
+        return success;
+    }
+    
+    /**
+     * Find the Minimum Spanning Tree using a reusable workspace
+     * Same result as findMST(), but sorting and union-find run on the
+     * workspace's primitive arrays, so repeated runs allocate almost nothing
+     * 
+     * @param workspace Workspace owned by the calling thread
+     * @return true if MST found, false if graph is disconnected
+     */
+    public boolean findMST(MSTWorkspace workspace) {
+        MSTEvents.AlgorithmRun event = new MSTEvents.AlgorithmRun();
+        event.begin();
+        long startTime = System.nanoTime();
+        
+        Set<String> vertices = graph.getVertexView();
+        if (vertices.isEmpty()) {
+            executionTime = 0;
+            return false;
+        }
+        
+        // Reset
+        mstEdges = new ArrayList<>(vertices.size() - 1);
+        totalCost = 0;
+        operationCount = 0;
+        
+        // Initialize Union-Find (ids assigned in vertex order)
+        workspace.beginGraph(vertices.size());
+        for (String vertex : vertices) {
+            workspace.idOf(vertex);
+        }
+        operationCount++; // Initialize UF
+        long setupEnd = System.nanoTime();
+        
+        // Sort edges by (weight, index) packed into one long: stable like Collections.sort
+        List<Edge> edges = graph.getEdgeView();
+        int m = edges.size();
+        long[] keys = workspace.sortKeys(m);
+        for (int i = 0; i < m; i++) {
+            keys[i] = ((long) edges.get(i).getWeight() << 32) | i;
+        }
+        Arrays.sort(keys, 0, m);
+        operationCount += m * (int)(Math.log(m) / Math.log(2)); // Sorting complexity
+        long sortEnd = System.nanoTime();
+        
+        // Process edges in order of weight
+        for (int k = 0; k < m; k++) {
+            Edge edge = edges.get((int) keys[k]);
+            operationCount++; // Processing edge
+            
+            int from = workspace.idOf(edge.getFrom());
+            int to = workspace.idOf(edge.getTo());
+            if (workspace.find(from) != workspace.find(to)) {
+                operationCount += 2; // Find operations
+                
+                mstEdges.add(edge);
+                totalCost += edge.getWeight();
+                workspace.union(from, to);
+                operationCount += 2; // Union operation
+                
+                if (mstEdges.size() == vertices.size() - 1) {
+                    break;
+                }
+            }
+        }
+        
+        long endTime = System.nanoTime();
+        executionTime = (endTime - startTime) / 1_000_000; // Convert to milliseconds
+        
+        boolean success = mstEdges.size() == vertices.size() - 1;
+        
+        if (event.shouldCommit()) {
+            event.algorithm = "Kruskal";
+            event.vertices = vertices.size();
+            event.edges = m;
+            event.totalCost = totalCost;
+            event.operations = operationCount;
+            event.success = success;
+            event.setupNanos = setupEnd - startTime;
+            event.sortNanos = sortEnd - setupEnd;
+            event.loopNanos = endTime - sortEnd;
+            event.unionFindSize = vertices.size();
+            event.commit();
+        }
+        return success;
     }
     
     /**
@@ -0,0 +1,267 @@
+import java.util.Arrays;
+
+/**
+ * Link-cut tree (Sleator-Tarjan) over int node ids with path-maximum queries
+ * Maintains a dynamic forest: link, cut, connectivity and "heaviest node on
+ * the path between u and v" all run in O(log n) amortized time. Each
+ * preferred path is a splay tree keyed by depth, with a lazy reversal flag
+ * so any node can be made the root of its tree.
+ *
+ * Every node carries a key (weight, order), compared by weight and then by
+ * order; the default key is smaller than any real one, so to get path
+ * maxima over edges, give edges their own nodes and leave vertex nodes at
+ * the default. Node arrays grow on demand.
+ *
+ * @author Almas
+ */
+public class LinkCutTree {
+    private static final int NONE = -1;
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] reversed;
+    private int[] weight;
+    private long[] order;
+    private int[] max;
+    private int[] path = new int[64];
+    private long operationCount;
+
+    /**
+     * Constructor
+     * @param capacity Initial number of nodes (ids 0..capacity-1)
+     */
+    public LinkCutTree(int capacity) {
+        left = new int[0];
+        right = new int[0];
+        parent = new int[0];
+        reversed = new boolean[0];
+        weight = new int[0];
+        order = new long[0];
+        max = new int[0];
+        ensureCapacity(capacity);
+    }
+
+    /**
+     * Make sure node ids 0..capacity-1 exist (new nodes are isolated, default key)
+     * @param capacity Number of nodes needed
+     */
+    public void ensureCapacity(int capacity) {
+        int old = left.length;
+        if (capacity <= old) {
+            return;
+        }
+        int size = Math.max(capacity, Math.max(16, old + (old >> 1)));
+        left = Arrays.copyOf(left, size);
+        right = Arrays.copyOf(right, size);
+        parent = Arrays.copyOf(parent, size);
+        reversed = Arrays.copyOf(reversed, size);
+        weight = Arrays.copyOf(weight, size);
+        order = Arrays.copyOf(order, size);
+        max = Arrays.copyOf(max, size);
+        for (int x = old; x < size; x++) {
+            reset(x);
+        }
+    }
+
+    /**
+     * Set the key of an isolated node
+     * @param node Node id (must not be linked to anything)
+     * @param weight Primary key
+     * @param order Tie-breaker (larger wins on equal weights)
+     */
+    public void setKey(int node, int weight, long order) {
+        reset(node);
+        this.weight[node] = weight;
+        this.order[node] = order;
+    }
+
+    /**
+     * Add an edge between two nodes of different trees
+     * @param u First node
+     * @param v Second node
+     * @throws IllegalArgumentException if u and v are already connected
+     */
+    public void link(int u, int v) {
+        makeRoot(u);
+        if (findRoot(v) == u) {
+            throw new IllegalArgumentException("Nodes are already connected: " + u + ", " + v);
+        }
+        parent[u] = v;
+    }
+
+    /**
+     * Remove the edge between two adjacent nodes
+     * @param u First node
+     * @param v Second node
+     * @throws IllegalArgumentException if u and v are not adjacent
+     */
+    public void cut(int u, int v) {
+        makeRoot(u);
+        access(v);
+        // Adjacent iff the path u..v is exactly the two nodes, u on the left of v
+        if (left[v] != u || right[u] != NONE || left[u] != NONE) {
+            throw new IllegalArgumentException("Nodes are not adjacent: " + u + ", " + v);
+        }
+        left[v] = NONE;
+        parent[u] = NONE;
+        update(v);
+    }
+
+    /**
+     * Check if two nodes are in the same tree
+     * @param u First node
+     * @param v Second node
+     * @return true if connected
+     */
+    public boolean connected(int u, int v) {
+        return u == v || findRoot(u) == findRoot(v);
+    }
+
+    /**
+     * Find the root of the tree containing a node
+     * @param u Node
+     * @return root node (changes only when makeRoot/link/cut are called)
+     */
+    public int findRoot(int u) {
+        access(u);
+        int x = u;
+        push(x);
+        while (left[x] != NONE) {
+            x = left[x];
+            push(x);
+        }
+        splay(x);
+        return x;
+    }
+
+    /**
+     * Find the node with the largest key on the path between two connected nodes
+     * @param u First node
+     * @param v Second node
+     * @return node with the largest (weight, order) key on the path, endpoints included
+     */
+    public int pathMax(int u, int v) {
+        makeRoot(u);
+        access(v);
+        return max[v];
+    }
+
+    /**
+     * Get the number of splay rotations performed
+     * @return operation count
+     */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        reversed[x] ^= true;
+        push(x);
+    }
+
+    private void access(int x) {
+        int last = NONE;
+        for (int y = x; y != NONE; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            update(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NONE || (left[p] != x && right[p] != x);
+    }
+
+    private void splay(int x) {
+        // Push reversal flags down from the splay root first
+        int top = x;
+        int depth = 0;
+        while (!isSplayRoot(top)) {
+            top = parent[top];
+            depth++;
+        }
+        pushPath(x, depth);
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                boolean zigZig = (left[g] == p) == (left[p] == x);
+                rotate(zigZig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void pushPath(int x, int depth) {
+        if (path.length <= depth) {
+            path = new int[Math.max(depth + 1, path.length * 2)];
+        }
+        for (int i = 0, y = x; i <= depth; i++, y = parent[y]) {
+            path[i] = y;
+        }
+        for (int i = depth; i >= 0; i--) {
+            push(path[i]);
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        if (!isSplayRoot(p)) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        parent[x] = g;
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NONE) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NONE) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        update(p);
+        update(x);
+        operationCount++;
+    }
+
+    private void push(int x) {
+        if (reversed[x]) {
+            int swap = left[x];
+            left[x] = right[x];
+            right[x] = swap;
+            if (left[x] != NONE) reversed[left[x]] ^= true;
+            if (right[x] != NONE) reversed[right[x]] ^= true;
+            reversed[x] = false;
+        }
+    }
+
+    private void update(int x) {
+        int best = x;
+        if (left[x] != NONE && greater(max[left[x]], best)) best = max[left[x]];
+        if (right[x] != NONE && greater(max[right[x]], best)) best = max[right[x]];
+        max[x] = best;
+    }
+
+    private boolean greater(int a, int b) {
+        return weight[a] != weight[b] ? weight[a] > weight[b] : order[a] > order[b];
+    }
+
+    private void reset(int x) {
+        left[x] = NONE;
+        right[x] = NONE;
+        parent[x] = NONE;
+        reversed[x] = false;
+        weight[x] = Integer.MIN_VALUE;
+        order[x] = Long.MIN_VALUE;
+        max[x] = x;
+    }
+}
@@ -0,0 +1,124 @@
+import jdk.jfr.*;
+
+/**
+ * Custom Java Flight Recorder events for MST runs and I/O stages
+ * Events are only committed when enabled in the recording (shouldCommit),
+ * so the cost outside a recording is a few field writes.
+ *
+ * Enable with e.g. java -XX:StartFlightRecording=filename=run.jfr Assignment3Runner ...
+ * and look under the "MST" category in JDK Mission Control or `jfr print --categories MST`.
+ *
+ * @author Almas
+ */
+public final class MSTEvents {
+
+    private MSTEvents() {
+    }
+
+    /**
+     * One findMST call of Prim's or Kruskal's algorithm
+     */
+    @Name("mst.AlgorithmRun")
+    @Label("MST Algorithm Run")
+    @Category("MST")
+    @StackTrace(false)
+    public static class AlgorithmRun extends Event {
+        @Label("Algorithm")
+        public String algorithm;
+
+        @Label("Vertices")
+        public int vertices;
+
+        @Label("Edges")
+        public int edges;
+
+        @Label("Total Cost")
+        public int totalCost;
+
+        @Label("Operations")
+        public int operations;
+
+        @Label("Success")
+        public boolean success;
+
+        @Label("Setup Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long setupNanos;
+
+        @Label("Sort Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long sortNanos;
+
+        @Label("Main Loop Time")
+        @Timespan(Timespan.NANOSECONDS)
+        public long loopNanos;
+
+        @Label("Peak Priority Queue Size")
+        public int peakQueueSize;
+
+        @Label("Union-Find Size")
+        public int unionFindSize;
+    }
+
+    /**
+     * Processing of one graph by the runner (both algorithms)
+     */
+    @Name("mst.GraphProcessed")
+    @Label("MST Graph Processed")
+    @Category("MST")
+    @StackTrace(false)
+    public static class GraphProcessed extends Event {
+        @Label("Graph Id")
+        public int graphId;
+
+        @Label("Vertices")
+        public int vertices;
+
+        @Label("Edges")
+        public int edges;
+
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    /**
+     * Reading and parsing an input file
+     */
+    @Name("mst.GraphRead")
+    @Label("MST Graph Read")
+    @Category({"MST", "I/O"})
+    @StackTrace(false)
+    public static class GraphRead extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Graphs")
+        public int graphCount;
+
+        @Label("Parser Threads")
+        public int threads;
+
+        @Label("Bytes Read")
+        @DataAmount
+        public long bytes;
+    }
+
+    /**
+     * Writing results to an output file
+     */
+    @Name("mst.ResultWrite")
+    @Label("MST Result Write")
+    @Category({"MST", "I/O"})
+    @StackTrace(false)
+    public static class ResultWrite extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Records")
+        public int records;
+
+        @Label("Bytes Written")
+        @DataAmount
+        public long bytes;
+    }
+}
@@ -0,0 +1,339 @@
+import com.sun.net.httpserver.*;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-running MST service
+ * Accepts graphs in the input JSON format via HTTP and returns results in
+ * the output JSON format, so one warmed-up JVM serves many requests instead
+ * of paying startup and JIT warm-up per job.
+ *
+ * Each request is parsed on its handler thread and joins the requests a
+ * worker pool (sized to the CPU count, each worker reusing its own
+ * MSTWorkspace) takes graphs from. Workers take one graph at a time from
+ * the admitted requests in turn, so a small request that arrives while a
+ * large one is running is answered without waiting for it.
+ *
+ * The server binds to the loopback interface unless another address is
+ * given; it has no authentication, so only bind it to trusted networks.
+ * Request bodies larger than maxBodyBytes are rejected with 413. At most
+ * maxPendingRequests requests are parsed or computing at once; further
+ * ones get 503. The handler pool is bounded too: connections beyond its
+ * threads and queue are closed without a response.
+ *
+ * Endpoints:
+ *   POST /mst     body: { "graphs": [...] }  ->  { "results": [...] }
+ *   GET  /health  -> "ok"
+ *
+ * Usage: java MSTServer [port] [bind-address]   (default 8080 on loopback)
+ *
+ * @author Almas
+ */
+public class MSTServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_MAX_BODY_BYTES = 64 << 20;
+    private static final int DEFAULT_MAX_PENDING_REQUESTS = 64;
+    private static final int SPARE_HANDLERS = 4; // answer health checks and 503s while all requests wait
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ExecutorService workers;
+    private final Deque<PendingRequest> active;   // requests with graphs not yet started, served in turn
+    private final Semaphore admitted;             // one permit per request being parsed or computed
+    private final RunnerMetrics metrics;
+    private final int maxBodyBytes;
+    private final int workerCount;
+
+    /**
+     * Constructor listening on loopback with the default limits (64 MiB bodies, 64 pending requests)
+     * @param port Port to listen on (0 = any free port)
+     * @throws IOException if the port cannot be bound
+     */
+    public MSTServer(int port) throws IOException {
+        this(InetAddress.getLoopbackAddress(), port, DEFAULT_MAX_BODY_BYTES, DEFAULT_MAX_PENDING_REQUESTS);
+    }
+
+    /**
+     * Constructor
+     * @param bindAddress Address to listen on (the wildcard address listens on all interfaces)
+     * @param port Port to listen on (0 = any free port)
+     * @param maxBodyBytes Largest accepted request body
+     * @param maxPendingRequests Most requests parsed or computing at once; more get 503
+     * @throws IOException if the port cannot be bound
+     */
+    public MSTServer(InetAddress bindAddress, int port, int maxBodyBytes, int maxPendingRequests)
+            throws IOException {
+        if (maxBodyBytes < 1 || maxPendingRequests < 1) {
+            throw new IllegalArgumentException("Body and request limits must be positive: "
+                                               + maxBodyBytes + ", " + maxPendingRequests);
+        }
+        this.maxBodyBytes = maxBodyBytes;
+        this.active = new ArrayDeque<>();
+        this.admitted = new Semaphore(maxPendingRequests);
+        this.metrics = RunnerMetrics.register();
+        this.workerCount = Runtime.getRuntime().availableProcessors();
+        this.workers = Executors.newFixedThreadPool(workerCount);
+        // Handlers mostly block waiting for their graphs: one thread per admitted request
+        // plus a few spare, and a bounded queue, so a flood cannot create unlimited threads
+        int handlerThreads = maxPendingRequests + SPARE_HANDLERS;
+        this.handlers = new ThreadPoolExecutor(handlerThreads, handlerThreads, 60, TimeUnit.SECONDS,
+                                               new ArrayBlockingQueue<>(handlerThreads));
+        ((ThreadPoolExecutor) handlers).allowCoreThreadTimeOut(true);
+
+        this.server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        this.server.setExecutor(handlers);
+        this.server.createContext("/mst", this::handleMST);
+        this.server.createContext("/health", this::handleHealth);
+    }
+
+    /**
+     * Start accepting requests
+     */
+    public void start() {
+        for (int w = 0; w < workerCount; w++) {
+            workers.execute(this::runWorker);
+        }
+        server.start();
+    }
+
+    /**
+     * Stop accepting requests and shut down all threads
+     */
+    public void stop() {
+        server.stop(0);
+        workers.shutdownNow();
+        handlers.shutdownNow();
+        synchronized (active) {
+            for (PendingRequest request : active) {
+                request.future.completeExceptionally(new IllegalStateException("server stopped"));
+            }
+            active.clear();
+        }
+    }
+
+    /**
+     * Get the bound port
+     * @return port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Get the bound address
+     * @return address and port
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Get the live metrics of this server
+     * @return metrics
+     */
+    public RunnerMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        respond(exchange, 200, "ok\n");
+    }
+
+    private void handleMST(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"error\": \"POST a graphs document to /mst\"}\n");
+                return;
+            }
+
+            if (!admitted.tryAcquire()) {
+                respond(exchange, 503, "{\"error\": \"server busy, retry later\"}\n");
+                return;
+            }
+            try {
+                handleAdmitted(exchange);
+            } finally {
+                admitted.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, "{\"error\": \"server shutting down\"}\n");
+        } catch (ExecutionException e) {
+            respond(exchange, 500, "{\"error\": \"" + escape(String.valueOf(e.getCause())) + "\"}\n");
+        }
+    }
+
+    /**
+     * Parse, compute and answer a request that holds an admission permit
+     */
+    private void handleAdmitted(HttpExchange exchange)
+            throws IOException, InterruptedException, ExecutionException {
+        byte[] body = readBody(exchange);
+        if (body == null) {
+            respond(exchange, 413, "{\"error\": \"request body exceeds " + maxBodyBytes + " bytes\"}\n");
+            return;
+        }
+        metrics.addBytesRead(body.length);
+
+        List<GraphReader.GraphData> graphs;
+        try {
+            graphs = GraphReader.parseGraphsFromJSON(new String(body, StandardCharsets.UTF_8), new SymbolTable());
+        } catch (IOException e) {
+            respond(exchange, 400, "{\"error\": \"" + escape(e.getMessage()) + "\"}\n");
+            return;
+        }
+        metrics.addGraphsLoaded(graphs.size());
+
+        PendingRequest request = new PendingRequest(graphs);
+        schedule(request);
+        List<ResultWriter.TestResult> results = request.future.get();
+
+        StringWriter out = new StringWriter();
+        try (PrintWriter writer = new PrintWriter(out)) {
+            ResultWriter.writeResults(results, writer);
+        }
+        respond(exchange, 200, out.toString());
+    }
+
+    /**
+     * Read the request body, or return null if it is larger than the limit
+     * A declared Content-Length over the limit is rejected before reading
+     */
+    private byte[] readBody(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null) {
+            try {
+                if (Long.parseLong(length.trim()) > maxBodyBytes) {
+                    return null;
+                }
+            } catch (NumberFormatException e) {
+                // Let the body decide
+            }
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(maxBodyBytes);
+            return in.read() < 0 ? body : null;
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type",
+            body.startsWith("{") ? "application/json" : "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        metrics.addBytesWritten(bytes.length);
+    }
+
+    private static String escape(String message) {
+        return message == null ? "" : message.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Admit a request: its graphs join the ones the workers take in turn
+     */
+    private void schedule(PendingRequest request) {
+        if (request.graphs.isEmpty()) {
+            request.future.complete(new ArrayList<>());
+            return;
+        }
+        synchronized (active) {
+            active.addLast(request);
+            active.notifyAll();
+        }
+    }
+
+    /**
+     * Worker loop: take the next graph of the request at the head of the
+     * line, then send that request to the back, so requests share workers
+     */
+    private void runWorker() {
+        MSTWorkspace workspace = MSTWorkspace.forCurrentThread();
+        try {
+            while (true) {
+                PendingRequest request;
+                int index;
+                synchronized (active) {
+                    while (active.isEmpty()) {
+                        active.wait();
+                    }
+                    request = active.pollFirst();
+                    index = request.nextGraph++;
+                    if (request.nextGraph < request.graphs.size()) {
+                        active.addLast(request);
+                    }
+                }
+                request.compute(index, metrics, workspace);
+            }
+        } catch (InterruptedException e) {
+            // Server stopped
+        }
+    }
+
+    /**
+     * One HTTP request waiting for its graphs
+     */
+    private static class PendingRequest {
+        final List<GraphReader.GraphData> graphs;
+        final CompletableFuture<List<ResultWriter.TestResult>> future = new CompletableFuture<>();
+        final ResultWriter.TestResult[] results;
+        final AtomicInteger remaining;
+        int nextGraph; // guarded by the active queue
+
+        PendingRequest(List<GraphReader.GraphData> graphs) {
+            this.graphs = graphs;
+            this.results = new ResultWriter.TestResult[graphs.size()];
+            this.remaining = new AtomicInteger(graphs.size());
+        }
+
+        /**
+         * Compute one graph; the last one to finish answers the request in input order
+         */
+        void compute(int index, RunnerMetrics metrics, MSTWorkspace workspace) {
+            if (future.isDone()) {
+                return; // An earlier graph failed
+            }
+            try {
+                results[index] = Assignment3Runner.processGraph(graphs.get(index), metrics, false, workspace);
+            } catch (Throwable e) {
+                // Errors too, or the handler would wait forever
+                future.completeExceptionally(e);
+                return;
+            }
+            if (remaining.decrementAndGet() == 0) {
+                List<ResultWriter.TestResult> list = new ArrayList<>(results.length);
+                for (ResultWriter.TestResult result : results) {
+                    if (result != null) {
+                        list.add(result);
+                    }
+                }
+                future.complete(list);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int port = args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        try {
+            InetAddress bindAddress = args.length >= 2 ? InetAddress.getByName(args[1])
+                                                       : InetAddress.getLoopbackAddress();
+            MSTServer mstServer = new MSTServer(bindAddress, port, DEFAULT_MAX_BODY_BYTES,
+                                                DEFAULT_MAX_PENDING_REQUESTS);
+            mstServer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(mstServer::stop));
+            System.err.println("MST server listening on " + mstServer.getAddress()
+                             + " (POST /mst, GET /health)");
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
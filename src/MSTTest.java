@@ -21,6 +21,30 @@ public class MSTTest {
         testConnectivity();
         testPerformance();
         testEdgeCases();
+        testPathMaxQueries();
+        testSecondBestMST();
+        testExternalKruskal();
+        testWorkspaceReuse();
+        testWideWeights();
+        testGraphBuilder();
+        testEdgeReduction();
+        testKKT();
+        testForcedEdges();
+        testDistributedMST();
+        testParallelKruskal();
+        testConcurrentUnionFind();
+        testSlidingWindowMST();
+        testOffHeapGraph();
+        testRunnerPipeline();
+        testParallelReader();
+        testRegressionGate();
+        testGraphGenerator();
+        testResultFormats();
+        testCompressedIO();
+        testSymbolTable();
+        testPackedEdgeStore();
+        testMSTServer();
+        testRunnerMetrics();
         
         // Print summary
         System.out.println();
@@ -134,6 +158,1826 @@ public class MSTTest {
         System.out.println();
     }
     
+    /**
+     * Test path-maximum queries over a computed MST
+     */
+    private static void testPathMaxQueries() {
+        System.out.println("🛣️ Path-Max Query Tests:");
+        System.out.println("-".repeat(70));
+        
+        Graph g = createSquareGraph();
+        KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+        kruskal.findMST();
+        PathMaxIndex index = PathMaxIndex.fromMST(g.getVertices(), kruskal.getMSTEdges());
+        
+        // MST is A-B(1), B-C(2), C-D(3)
+        testResult("Path max A..D is 3", index.queryMaxWeight("A", "D") == 3);
+        testResult("Path max A..C is 2", index.queryMaxWeight("A", "C") == 2);
+        testResult("Path max B..A is 1", index.queryMaxWeight("B", "A") == 1);
+        testResult("Path max A..A has no path",
+                  index.queryMaxWeight("A", "A") == PathMaxIndex.NO_PATH);
+        
+        // Compare against a brute-force walk on a random tree
+        java.util.Random random = new java.util.Random(42);
+        int n = 200;
+        int[] from = new int[n - 1];
+        int[] to = new int[n - 1];
+        int[] weight = new int[n - 1];
+        int[] parent = new int[n];
+        int[] parentWeight = new int[n];
+        for (int v = 1; v < n; v++) {
+            parent[v] = random.nextInt(v);
+            parentWeight[v] = random.nextInt(1000);
+            from[v - 1] = v;
+            to[v - 1] = parent[v];
+            weight[v - 1] = parentWeight[v];
+        }
+        PathMaxIndex randomIndex = new PathMaxIndex(n, from, to, weight, n - 1);
+        int[] us = new int[500];
+        int[] vs = new int[500];
+        for (int i = 0; i < us.length; i++) {
+            us[i] = random.nextInt(n);
+            vs[i] = random.nextInt(n);
+        }
+        int[] answers = randomIndex.queryBatch(us, vs);
+        boolean allMatch = true;
+        for (int i = 0; i < us.length; i++) {
+            if (answers[i] != bruteForcePathMax(parent, parentWeight, us[i], vs[i])) {
+                allMatch = false;
+            }
+        }
+        testResult("Batch queries match brute force", allMatch);
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test second-best MST and replacement costs against brute force
+     */
+    private static void testSecondBestMST() {
+        System.out.println("🔁 Second-Best MST Tests:");
+        System.out.println("-".repeat(70));
+        
+        Graph g = createRandomGraph(30, 90, 7);
+        SecondBestMST engine = new SecondBestMST(g);
+        testResult("Second-best engine succeeds", engine.compute());
+        
+        java.util.List<Edge> mst = engine.getMSTEdges();
+        java.util.List<Edge> all = g.getEdges();
+        boolean replacementsMatch = true;
+        int bruteSecondBest = Integer.MAX_VALUE;
+        for (int i = 0; i < mst.size(); i++) {
+            Graph without = new Graph();
+            for (String vertex : g.getVertices()) {
+                without.addVertex(vertex);
+            }
+            for (Edge edge : all) {
+                if (edge != mst.get(i)) {
+                    without.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+                }
+            }
+            KruskalAlgorithm kruskal = new KruskalAlgorithm(without);
+            int expected = kruskal.findMST() ? kruskal.getTotalCost() : SecondBestMST.NO_REPLACEMENT;
+            if (engine.getReplacementCost(i) != expected) {
+                replacementsMatch = false;
+            }
+            bruteSecondBest = Math.min(bruteSecondBest, expected);
+        }
+        testResult("Replacement costs match per-edge reruns", replacementsMatch);
+        testResult("Second-best cost matches brute force",
+                  engine.getSecondBestCost() == bruteSecondBest);
+        testResult("Second-best tree has V-1 edges",
+                  engine.getSecondBestEdges().size() == g.getVertexCount() - 1);
+        
+        // A tree has no second-best tree and every edge is a bridge
+        SecondBestMST treeEngine = new SecondBestMST(createLargeGraph(10));
+        treeEngine.compute();
+        testResult("Tree has no second-best", !treeEngine.hasSecondBest());
+        testResult("Tree edges are bridges", treeEngine.isBridge(0));
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test out-of-core Kruskal with tiny runs against in-memory Kruskal
+     */
+    private static void testExternalKruskal() {
+        System.out.println("💾 External Kruskal Tests:");
+        System.out.println("-".repeat(70));
+        
+        Graph g = createRandomGraph(50, 300, 11);
+        KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+        kruskal.findMST();
+        
+        java.util.List<String> names = new java.util.ArrayList<>(g.getVertices());
+        java.util.Map<String, Integer> ids = new java.util.HashMap<>();
+        for (String name : names) {
+            ids.put(name, ids.size());
+        }
+        
+        try (ExternalKruskalAlgorithm external = new ExternalKruskalAlgorithm(
+                names.size(), java.nio.file.Files.createTempDirectory("mst-test"), 16)) {
+            for (Edge edge : g.getEdges()) {
+                external.addEdge(ids.get(edge.getFrom()), ids.get(edge.getTo()), edge.getWeight());
+            }
+            boolean found = external.findMST();
+            testResult("External Kruskal succeeds", found);
+            testResult("External Kruskal spilled several runs", external.getRunCount() > 1);
+            testResult("External Kruskal cost matches Kruskal",
+                      external.getTotalCost() == kruskal.getTotalCost());
+            testResult("External Kruskal edges = V-1",
+                      external.getMSTEdges(names.toArray(new String[0])).size() == names.size() - 1);
+            
+            // Fan-in 2 merges the runs in several passes; the tree is the same
+            java.nio.file.Path workDir = java.nio.file.Files.createTempDirectory("mst-merge");
+            try (ExternalKruskalAlgorithm narrow = new ExternalKruskalAlgorithm(names.size(), workDir, 16, 2)) {
+                for (Edge edge : g.getEdges()) {
+                    narrow.addEdge(ids.get(edge.getFrom()), ids.get(edge.getTo()), edge.getWeight());
+                }
+                boolean narrowFound = narrow.findMST();
+                boolean sameTree = narrow.getMSTEdgeCount() == external.getMSTEdgeCount();
+                for (int i = 0; sameTree && i < narrow.getMSTEdgeCount(); i++) {
+                    sameTree = narrow.getMSTFrom(i) == external.getMSTFrom(i) && narrow.getMSTTo(i) == external.getMSTTo(i)
+                               && narrow.getMSTWeight(i) == external.getMSTWeight(i);
+                }
+                int filesLeft;
+                try (java.util.stream.Stream<java.nio.file.Path> files = java.nio.file.Files.list(workDir)) {
+                    filesLeft = (int) files.count();
+                }
+                testResult("Multi-pass merge gives the same tree as one merge",
+                           narrowFound && sameTree && narrow.getRunCount() == external.getRunCount()
+                           && external.getMergePassCount() == 0 && narrow.getMergePassCount() == 4);
+                testResult("Merged runs replace their inputs on disk", filesLeft == 2);
+            }
+            try (java.util.stream.Stream<java.nio.file.Path> files = java.nio.file.Files.list(workDir)) {
+                testResult("Closing deletes every run", files.count() == 0);
+            }
+            java.nio.file.Files.delete(workDir);
+            
+            boolean rejected = false;
+            try {
+                new ExternalKruskalAlgorithm(4, workDir, 16, 1);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            testResult("Fan-in below 2 is rejected", rejected);
+
+            // Binary edge file: a whole file loads, a trailing partial record is an error
+            java.nio.file.Path edgeFile = java.nio.file.Files.createTempFile("mst-edges-", ".bin");
+            java.nio.file.Path binaryDir = java.nio.file.Files.createTempDirectory("mst-binary");
+            try {
+                try (GraphGenerator.BinaryEdgeWriter writer = new GraphGenerator.BinaryEdgeWriter(edgeFile)) {
+                    for (Edge edge : g.getEdges()) {
+                        writer.accept(ids.get(edge.getFrom()), ids.get(edge.getTo()), edge.getWeight());
+                    }
+                }
+                try (ExternalKruskalAlgorithm fromFile = new ExternalKruskalAlgorithm(names.size(), binaryDir, 16)) {
+                    fromFile.addEdgesFromBinaryFile(edgeFile);
+                    testResult("Binary edge file loads every edge",
+                               fromFile.findMST() && fromFile.getTotalCost() == kruskal.getTotalCost());
+                }
+                try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(
+                        edgeFile, java.nio.file.StandardOpenOption.WRITE)) {
+                    channel.truncate(channel.size() - 5);
+                }
+                String error = null;
+                try (ExternalKruskalAlgorithm fromFile = new ExternalKruskalAlgorithm(names.size(), binaryDir, 16)) {
+                    fromFile.addEdgesFromBinaryFile(edgeFile);
+                } catch (java.io.IOException e) {
+                    error = e.getMessage();
+                }
+                testResult("Truncated binary edge file is rejected",
+                           "truncated edge file: 7 trailing bytes".equals(error));
+            } finally {
+                java.nio.file.Files.deleteIfExists(edgeFile);
+                java.nio.file.Files.deleteIfExists(binaryDir);
+            }
+        } catch (java.io.IOException e) {
+            testResult("External Kruskal I/O: " + e.getMessage(), false);
+        }
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test that one workspace gives the same costs across many graphs of varying size
+     */
+    private static void testWorkspaceReuse() {
+        System.out.println("♻️ Workspace Reuse Tests:");
+        System.out.println("-".repeat(70));
+        
+        MSTWorkspace workspace = new MSTWorkspace();
+        boolean costsMatch = true;
+        boolean edgesMatch = true;
+        boolean disconnectedDetected = true;
+        for (int i = 0; i < 40; i++) {
+            int size = 5 + (i * 37) % 300;
+            Graph g = createRandomGraph(size, size * 3, i);
+            
+            PrimAlgorithm prim = new PrimAlgorithm(g);
+            KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+            prim.findMST();
+            kruskal.findMST();
+            
+            PrimAlgorithm reusedPrim = new PrimAlgorithm(g);
+            KruskalAlgorithm reusedKruskal = new KruskalAlgorithm(g);
+            reusedPrim.findMST(workspace);
+            reusedKruskal.findMST(workspace);
+            
+            costsMatch &= reusedPrim.getTotalCost() == prim.getTotalCost()
+                       && reusedKruskal.getTotalCost() == kruskal.getTotalCost();
+            edgesMatch &= reusedKruskal.getMSTEdges().equals(kruskal.getMSTEdges())
+                       && reusedPrim.getMSTEdges().size() == size - 1;
+        }
+        
+        Graph disconnected = new Graph();
+        disconnected.addEdge("A", "B", 1);
+        disconnected.addEdge("C", "D", 1);
+        disconnectedDetected &= !new PrimAlgorithm(disconnected).findMST(workspace);
+        disconnectedDetected &= !new KruskalAlgorithm(disconnected).findMST(workspace);
+        
+        testResult("Workspace costs match fresh runs", costsMatch);
+        testResult("Workspace Kruskal edges match, Prim has V-1 edges", edgesMatch);
+        testResult("Workspace detects disconnected graph", disconnectedDetected);
+        
+        // Workspace runs emit the same AlgorithmRun events as fresh runs
+        boolean eventsEmitted = false;
+        try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+            recording.enable("mst.AlgorithmRun");
+            recording.start();
+            Graph g = createRandomGraph(50, 100, 7L);
+            new PrimAlgorithm(g).findMST(workspace);
+            new KruskalAlgorithm(g).findMST(workspace);
+            recording.stop();
+            java.nio.file.Path jfr = java.nio.file.Files.createTempFile("workspace", ".jfr");
+            recording.dump(jfr);
+            java.util.Set<String> algorithms = new java.util.HashSet<>();
+            for (jdk.jfr.consumer.RecordedEvent event : jdk.jfr.consumer.RecordingFile.readAllEvents(jfr)) {
+                if (event.getInt("vertices") == 50 && event.getBoolean("success")) {
+                    algorithms.add(event.getString("algorithm"));
+                }
+            }
+            java.nio.file.Files.delete(jfr);
+            eventsEmitted = algorithms.equals(java.util.Set.of("Prim", "Kruskal"));
+        } catch (java.io.IOException e) {
+            eventsEmitted = false;
+        }
+        testResult("Workspace runs emit AlgorithmRun events", eventsEmitted);
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test long and double weighted engines against the int engines
+     */
+    private static void testWideWeights() {
+        System.out.println("📏 Long/Double Weight Tests:");
+        System.out.println("-".repeat(70));
+        
+        // Same topology as an int graph, weights shifted negative and scaled
+        Graph g = createRandomGraph(400, 2000, 13);
+        KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+        kruskal.findMST();
+        long scale = 1_000_000_000_000L;
+        long shiftedCost = kruskal.getTotalCost() - 50L * (g.getVertexCount() - 1);
+        
+        LongWeightedGraph longGraph = new LongWeightedGraph(g.getEdgeCount());
+        DoubleWeightedGraph doubleGraph = new DoubleWeightedGraph(g.getEdgeCount());
+        for (Edge edge : g.getEdges()) {
+            longGraph.addEdge(edge.getFrom(), edge.getTo(), (edge.getWeight() - 50) * scale);
+            doubleGraph.addEdge(edge.getFrom(), edge.getTo(), (edge.getWeight() - 50) / 8.0);
+        }
+        
+        LongPrimAlgorithm longPrim = new LongPrimAlgorithm(longGraph);
+        LongKruskalAlgorithm longKruskal = new LongKruskalAlgorithm(longGraph);
+        boolean longFound = longPrim.findMST() & longKruskal.findMST();
+        testResult("Long engines find MST", longFound);
+        testResult("Long costs beyond int range are exact",
+                   longPrim.getTotalCost() == shiftedCost * scale
+                   && longKruskal.getTotalCost() == shiftedCost * scale);
+        
+        DoublePrimAlgorithm doublePrim = new DoublePrimAlgorithm(doubleGraph);
+        DoubleKruskalAlgorithm doubleKruskal = new DoubleKruskalAlgorithm(doubleGraph);
+        boolean doubleFound = doublePrim.findMST() & doubleKruskal.findMST();
+        testResult("Double engines find MST", doubleFound);
+        testResult("Double costs match scaled int cost",
+                   doublePrim.getTotalCost() == shiftedCost / 8.0
+                   && doubleKruskal.getTotalCost() == shiftedCost / 8.0);
+        
+        // Disconnected input
+        LongWeightedGraph split = new LongWeightedGraph();
+        split.addEdge("A", "B", Long.MAX_VALUE);
+        split.addEdge("C", "D", Long.MIN_VALUE);
+        testResult("Long engines detect disconnected graph",
+                   !new LongPrimAlgorithm(split).findMST() && !new LongKruskalAlgorithm(split).findMST());
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test that GraphBuilder produces the same graph as incremental Graph.addEdge
+     */
+    private static void testGraphBuilder() {
+        System.out.println("🧱 Graph Builder Tests:");
+        System.out.println("-".repeat(70));
+        
+        Graph expected = createRandomGraph(200, 800, 21);
+        GraphBuilder builder = new GraphBuilder(expected.getVertexCount(), expected.getEdgeCount());
+        for (Edge edge : expected.getEdges()) {
+            builder.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+        }
+        Graph built = builder.build();
+        
+        boolean sameStructure = built.getEdges().equals(expected.getEdges())
+                             && new java.util.ArrayList<>(built.getVertices()).equals(new java.util.ArrayList<>(expected.getVertices()));
+        for (String vertex : expected.getVertices()) {
+            sameStructure &= built.getAdjacentEdges(vertex).equals(expected.getAdjacentEdges(vertex));
+        }
+        testResult("Built graph has same vertices, edges and adjacency order", sameStructure);
+        
+        PrimAlgorithm prim = new PrimAlgorithm(built);
+        prim.findMST();
+        PrimAlgorithm expectedPrim = new PrimAlgorithm(expected);
+        expectedPrim.findMST();
+        testResult("Prim gives identical MST on built graph",
+                   prim.getMSTEdges().equals(expectedPrim.getMSTEdges()));
+        
+        boolean immutable = built.isFrozen();
+        try {
+            built.addEdge("V0", "V1", 1);
+            immutable = false;
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+        try {
+            built.getAdjacentEdges("V0").clear();
+            immutable = false;
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+        testResult("Built graph is immutable", immutable);
+        
+        // Graphs from GraphReader stay mutable, as they were before GraphBuilder
+        Graph read = GraphReader.parseGraph(
+            "{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+            + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 2}]}").graph;
+        boolean mutable = !read.isFrozen();
+        try {
+            read.addEdge("B", "C", 3);
+            read.addVertex("D");
+            read.addEdge("C", "D", 1);
+        } catch (UnsupportedOperationException e) {
+            mutable = false;
+        }
+        testResult("Reader graphs accept addVertex/addEdge",
+                   mutable && read.getEdgeCount() == 3 && read.getVertexCount() == 4
+                   && read.getAdjacentEdges("C").size() == 2 && read.isConnected());
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test that self-loop and parallel-edge reduction keeps the MST cost
+     */
+    private static void testEdgeReduction() {
+        System.out.println("✂️ Edge Reduction Tests:");
+        System.out.println("-".repeat(70));
+        
+        // Dense multigraph on few vertices: many parallel edges and self-loops
+        Graph g = createRandomGraph(40, 2000, 31);
+        g.addEdge("V0", "V0", 0);
+        g.addEdge("V1", "V1", -5);
+        Graph reduced = EdgeReducer.reduce(g);
+        
+        java.util.Set<String> pairs = new java.util.HashSet<>();
+        boolean simple = true;
+        for (Edge edge : reduced.getEdges()) {
+            String a = edge.getFrom();
+            String b = edge.getTo();
+            simple &= !a.equals(b) && pairs.add(a.compareTo(b) < 0 ? a + "|" + b : b + "|" + a);
+        }
+        testResult("No self-loops or parallel edges remain", simple);
+        testResult("Edge count reduced (" + g.getEdgeCount() + " -> " + reduced.getEdgeCount() + ")",
+                   reduced.getEdgeCount() < g.getEdgeCount()
+                   && reduced.getVertexCount() == g.getVertexCount());
+        
+        KruskalAlgorithm original = new KruskalAlgorithm(g);
+        original.findMST();
+        KruskalAlgorithm onReduced = new KruskalAlgorithm(reduced);
+        PrimAlgorithm primOnReduced = new PrimAlgorithm(reduced);
+        onReduced.findMST();
+        primOnReduced.findMST();
+        testResult("MST cost unchanged", onReduced.getTotalCost() == original.getTotalCost()
+                                      && primOnReduced.getTotalCost() == original.getTotalCost());
+        
+        PackedEdgeStore store = PackedEdgeStore.fromGraph(g, new SymbolTable());
+        PackedEdgeStore reducedStore = EdgeReducer.reduce(store);
+        testResult("Packed store reduces to same edge count", reducedStore.size() == reduced.getEdgeCount());
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test that KKT finds the same tree as Kruskal (ties broken by edge index)
+     */
+    private static void testKKT() {
+        System.out.println("🎲 KKT Randomized MST Tests:");
+        System.out.println("-".repeat(70));
+        
+        boolean sameTree = true;
+        boolean sameCost = true;
+        for (int seed = 0; seed < 6; seed++) {
+            // Large enough to go through Borůvka, sampling and filtering; few weights for many ties
+            Graph g = createRandomGraph(3000 + seed * 500, 20000, seed);
+            KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+            kruskal.findMST();
+            KKTAlgorithm kkt = new KKTAlgorithm(g, seed);
+            sameCost &= kkt.findMST() && kkt.getTotalCost() == kruskal.getTotalCost();
+            sameTree &= new java.util.HashSet<>(kkt.getMSTEdges()).equals(new java.util.HashSet<>(kruskal.getMSTEdges()));
+        }
+        testResult("KKT cost matches Kruskal", sameCost);
+        testResult("KKT tree matches Kruskal", sameTree);
+        
+        Graph disconnected = new Graph();
+        disconnected.addEdge("A", "B", 1);
+        disconnected.addEdge("C", "D", 2);
+        testResult("KKT detects disconnected graph", !new KKTAlgorithm(disconnected).findMST());
+        
+        System.out.println();
+    }
+    
+    private static void testForcedEdges() {
+        System.out.println("🍂 Forced Edge (Leaf/Bridge) Tests:");
+        System.out.println("-".repeat(70));
+        
+        // Two triangles joined by a bridge, a pendant vertex and a double edge
+        Graph g = new Graph();
+        g.addEdge("A", "B", 1);
+        g.addEdge("B", "C", 2);
+        g.addEdge("C", "A", 3);
+        g.addEdge("C", "D", 9);
+        g.addEdge("D", "E", 4);
+        g.addEdge("E", "F", 5);
+        g.addEdge("F", "D", 6);
+        g.addEdge("F", "G", 7);
+        g.addEdge("A", "H", 8);
+        g.addEdge("H", "A", 2);
+        ForcedEdgeReducer leavesOnly = new ForcedEdgeReducer(g);
+        testResult("Leaf edge is forced", leavesOnly.getForcedEdges().equals(java.util.List.of(new Edge("F", "G", 7)))
+                   && leavesOnly.getCoreGraph().getVertexCount() == 7);
+        ForcedEdgeReducer reducer = new ForcedEdgeReducer(g, true);
+        testResult("Bridge is forced, double edge is not",
+                   reducer.getBridgeCount() == 1 && reducer.getForcedCost() == 16
+                   && reducer.getCoreGraph().getVertexCount() == 6 && reducer.getCoreGraph().getEdgeCount() == 8);
+        
+        boolean sameCost = true;
+        boolean spanning = true;
+        boolean smaller = true;
+        for (int seed = 0; seed < 6; seed++) {
+            // Few extra edges: many hanging trees and bridges
+            Graph random = createRandomGraph(2000, 300 + seed * 200, seed);
+            KruskalAlgorithm kruskal = new KruskalAlgorithm(random);
+            kruskal.findMST();
+            ForcedEdgeReducer forced = new ForcedEdgeReducer(random, seed % 2 == 0);
+            PrimAlgorithm prim = new PrimAlgorithm(forced.getCoreGraph());
+            KruskalAlgorithm coreKruskal = new KruskalAlgorithm(forced.getCoreGraph());
+            sameCost &= prim.findMST() && coreKruskal.findMST()
+                        && forced.getForcedCost() + prim.getTotalCost() == kruskal.getTotalCost()
+                        && forced.getForcedCost() + coreKruskal.getTotalCost() == kruskal.getTotalCost();
+            smaller &= forced.getCoreGraph().getVertexCount() < random.getVertexCount();
+            
+            for (java.util.List<Edge> tree : java.util.List.of(forced.expand(prim.getMSTEdges()),
+                                                               forced.expand(coreKruskal.getMSTEdges()))) {
+                Graph expanded = new Graph();
+                for (Edge edge : tree) {
+                    expanded.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+                }
+                spanning &= tree.size() == random.getVertexCount() - 1
+                            && expanded.getVertexCount() == random.getVertexCount() && expanded.isConnected();
+            }
+        }
+        testResult("Forced + core MST cost matches Kruskal", sameCost);
+        testResult("Expanded MST spans the original graph", spanning);
+        testResult("Core graph is smaller", smaller);
+        
+        System.out.println();
+    }
+    
+    private static void testDistributedMST() {
+        System.out.println("🌐 Distributed MST Tests:");
+        System.out.println("-".repeat(70));
+        
+        // In-process workers on loopback: same protocol as worker JVMs
+        java.util.List<DistributedMST.Worker> workers = new java.util.ArrayList<>();
+        java.util.List<java.net.InetSocketAddress> addresses = new java.util.ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                DistributedMST.Worker worker = new DistributedMST.Worker(0);
+                worker.start();
+                workers.add(worker);
+                addresses.add(worker.getAddress());
+            }
+            
+            boolean sameTree = true;
+            boolean fewerCandidates = true;
+            try (DistributedMST coordinator = new DistributedMST(addresses)) {
+                for (int seed = 0; seed < 4; seed++) {
+                    Graph g = createRandomGraph(500, 4000, seed);
+                    KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+                    kruskal.findMST();
+                    sameTree &= coordinator.findMST(g) && coordinator.getTotalCost() == kruskal.getTotalCost()
+                                && coordinator.getMSTEdges().equals(sortedByIndex(g, kruskal.getMSTEdges()));
+                    fewerCandidates &= coordinator.getCandidateEdgeCount() < g.getEdgeCount();
+                }
+                testResult("Distributed tree matches Kruskal", sameTree);
+                testResult("Workers send back only forest edges", fewerCandidates);
+                
+                Graph disconnected = new Graph();
+                disconnected.addEdge("A", "B", 1);
+                disconnected.addEdge("C", "D", 2);
+                testResult("Distributed MST detects disconnected graph",
+                          !coordinator.findMST(disconnected) && coordinator.getMSTEdges().size() == 2);
+
+                // Binary edge file streamed to the workers gives the same tree as the arrays
+                java.nio.file.Path edgeFile = java.nio.file.Files.createTempFile("mst-distributed-", ".bin");
+                try {
+                    int n = 400;
+                    int m = 3000;
+                    int[] from = new int[m];
+                    int[] to = new int[m];
+                    int[] weight = new int[m];
+                    int[] size = {0};
+                    Graph g = new Graph();
+                    GraphGenerator.EdgeSink graphSink = GraphGenerator.graphSink(g);
+                    try (GraphGenerator.BinaryEdgeWriter writer = new GraphGenerator.BinaryEdgeWriter(edgeFile)) {
+                        new GraphGenerator(11).randomMultigraph(n, m, true, (u, v, w) -> {
+                            writer.accept(u, v, w);
+                            graphSink.accept(u, v, w);
+                            from[size[0]] = u;
+                            to[size[0]] = v;
+                            weight[size[0]++] = w;
+                        });
+                    }
+                    KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+                    kruskal.findMST();
+                    boolean fromArrays = coordinator.findMST(n, from, to, weight, m);
+                    int[] arrayTree = coordinator.getMSTEdgeIndices();
+                    java.util.List<Edge> arrayEdges = coordinator.getMSTEdges();
+                    boolean fromFile = coordinator.findMST(edgeFile, n);
+                    testResult("Streamed edge file gives the array path's tree",
+                              fromArrays && fromFile && coordinator.getTotalCost() == kruskal.getTotalCost()
+                              && java.util.Arrays.equals(arrayTree, coordinator.getMSTEdgeIndices())
+                              && arrayEdges.equals(coordinator.getMSTEdges()));
+
+                    // Cut the last record short
+                    try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(
+                            edgeFile, java.nio.file.StandardOpenOption.WRITE)) {
+                        channel.truncate(channel.size() - 5);
+                    }
+                    boolean truncated = false;
+                    try {
+                        coordinator.findMST(edgeFile, n);
+                    } catch (java.io.IOException e) {
+                        truncated = e.getMessage().contains("truncated");
+                    }
+                    testResult("Truncated edge file raises IOException", truncated);
+                } finally {
+                    java.nio.file.Files.deleteIfExists(edgeFile);
+                }
+            }
+            
+            // Malformed requests are dropped; the worker keeps serving
+            boolean survives = workers.get(0).getAddress().getAddress().isLoopbackAddress();
+            for (int claimed : new int[] {-1, Integer.MAX_VALUE}) {
+                try (java.net.Socket socket = new java.net.Socket()) {
+                    socket.connect(workers.get(0).getAddress(), 5000);
+                    socket.setSoTimeout(5000);
+                    java.io.DataOutputStream out = new java.io.DataOutputStream(socket.getOutputStream());
+                    out.writeInt(DistributedMST.OP_FOREST);
+                    out.writeInt(claimed);
+                    out.writeInt(0);
+                    out.flush();
+                    socket.shutdownOutput();
+                    survives &= socket.getInputStream().read() == -1; // Closed without a reply
+                }
+            }
+            try (DistributedMST coordinator = new DistributedMST(addresses)) {
+                Graph g = createRandomGraph(100, 300, 9);
+                KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+                kruskal.findMST();
+                survives &= coordinator.findMST(g) && coordinator.getTotalCost() == kruskal.getTotalCost();
+            }
+            testResult("Worker on loopback drops malformed edge counts", survives);
+            
+            workers.get(0).close();
+            boolean failed = false;
+            try (DistributedMST coordinator = new DistributedMST(addresses)) {
+                coordinator.findMST(createRandomGraph(50, 100, 1));
+            } catch (java.io.IOException e) {
+                failed = true;
+            }
+            testResult("Unreachable worker raises IOException", failed);
+        } catch (java.io.IOException e) {
+            testResult("Distributed MST workers start: " + e.getMessage(), false);
+        } finally {
+            for (DistributedMST.Worker worker : workers) {
+                worker.close();
+            }
+        }
+        
+        System.out.println();
+    }
+    
+    /**
+     * Edges in the graph's edge order
+     */
+    private static java.util.List<Edge> sortedByIndex(Graph graph, java.util.List<Edge> edges) {
+        java.util.Map<Edge, Integer> index = new java.util.IdentityHashMap<>();
+        java.util.List<Edge> all = graph.getEdgeView();
+        for (int i = 0; i < all.size(); i++) {
+            index.put(all.get(i), i);
+        }
+        java.util.List<Edge> sorted = new java.util.ArrayList<>(edges);
+        sorted.sort(java.util.Comparator.comparing(index::get));
+        return sorted;
+    }
+    
+    private static void testParallelKruskal() {
+        System.out.println("🧵 Parallel Kruskal Tests:");
+        System.out.println("-".repeat(70));
+        
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try {
+            boolean sameTree = true;
+            for (int seed = 0; seed < 6; seed++) {
+                // Small chunks so the forests are merged through several levels
+                Graph g = createRandomGraph(1000 + seed * 300, 8000, seed);
+                KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+                kruskal.findMST();
+                ParallelKruskalAlgorithm parallel = new ParallelKruskalAlgorithm(g, pool, 257 + seed * 100);
+                sameTree &= parallel.findMST() && parallel.getTotalCost() == kruskal.getTotalCost()
+                            && parallel.getMSTEdges().equals(kruskal.getMSTEdges());
+            }
+            testResult("Parallel Kruskal tree matches Kruskal", sameTree);
+            
+            Graph disconnected = new Graph();
+            disconnected.addEdge("A", "B", 1);
+            disconnected.addEdge("C", "D", 2);
+            ParallelKruskalAlgorithm forest = new ParallelKruskalAlgorithm(disconnected, pool, 1);
+            testResult("Parallel Kruskal detects disconnected graph",
+                      !forest.findMST() && forest.getMSTEdges().size() == 2);
+        } finally {
+            pool.shutdown();
+        }
+        
+        System.out.println();
+    }
+    
+    private static void testConcurrentUnionFind() {
+        System.out.println("🔒 Concurrent Union-Find Tests:");
+        System.out.println("-".repeat(70));
+        
+        int n = 20000;
+        int pairs = 15000;
+        java.util.Random random = new java.util.Random(11);
+        int[] us = new int[pairs];
+        int[] vs = new int[pairs];
+        IntUnionFind sequential = new IntUnionFind(n);
+        for (int i = 0; i < pairs; i++) {
+            us[i] = random.nextInt(n);
+            vs[i] = random.nextInt(n);
+            sequential.union(us[i], vs[i]);
+        }
+        
+        // Every thread applies all unions in its own order while querying
+        ConcurrentUnionFind shared = new ConcurrentUnionFind(n);
+        int threads = 4;
+        java.util.concurrent.atomic.AtomicInteger merged = new java.util.concurrent.atomic.AtomicInteger();
+        java.util.concurrent.atomic.AtomicBoolean queriesValid = new java.util.concurrent.atomic.AtomicBoolean(true);
+        java.util.List<Thread> workers = new java.util.ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * (pairs / threads);
+            Thread worker = new Thread(() -> {
+                for (int k = 0; k < pairs; k++) {
+                    int i = (offset + k) % pairs;
+                    if (shared.union(us[i], vs[i])) {
+                        merged.incrementAndGet();
+                    }
+                    if (!shared.connected(us[i], vs[i])) {
+                        queriesValid.set(false);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        boolean samePartition = true;
+        for (int i = 0; i < 2000; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            samePartition &= shared.connected(u, v) == sequential.connected(u, v);
+        }
+        for (int i = 0; i < pairs; i++) {
+            samePartition &= shared.connected(us[i], vs[i]);
+        }
+        testResult("Concurrent unions give the sequential partition", samePartition);
+        testResult("Each merge is counted once",
+                  merged.get() == n - sequential.getSetCount() && shared.getSetCount() == sequential.getSetCount());
+        testResult("Connected after own union", queriesValid.get());
+        
+        System.out.println();
+    }
+    
+    private static void testSlidingWindowMST() {
+        System.out.println("🪟 Sliding Window MST Tests:");
+        System.out.println("-".repeat(70));
+        
+        // Compare every slide with Kruskal on a graph rebuilt from the window
+        boolean sameTree = true;
+        boolean sameConnectivity = true;
+        for (int seed = 0; seed < 8; seed++) {
+            java.util.Random random = new java.util.Random(seed);
+            int n = 5 + random.nextInt(25);
+            int window = 1 + random.nextInt(50);
+            SlidingWindowMST sliding = new SlidingWindowMST(window);
+            java.util.List<int[]> stream = new java.util.ArrayList<>();
+            int time = 0;
+            for (int i = 0; i < 300; i++) {
+                time += random.nextInt(3);
+                int[] edge = {random.nextInt(n), random.nextInt(n), random.nextInt(8), time};
+                stream.add(edge);
+                sliding.addEdge("V" + edge[0], "V" + edge[1], edge[2], time);
+                
+                Graph g = new Graph();
+                for (int[] e : stream) {
+                    if (e[3] > time - window) {
+                        g.addEdge("V" + e[0], "V" + e[1], e[2]);
+                    }
+                }
+                KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+                boolean connected = kruskal.findMST();
+                sameTree &= sliding.getTotalCost() == kruskal.getTotalCost()
+                            && sliding.getMSTEdges().equals(kruskal.getMSTEdges());
+                sameConnectivity &= sliding.isConnected() == connected
+                                    && sliding.getWindowEdgeCount() == g.getEdgeCount();
+            }
+        }
+        testResult("Window forest matches Kruskal after every slide", sameTree);
+        testResult("Window connectivity and size match", sameConnectivity);
+        
+        SlidingWindowMST expiring = new SlidingWindowMST(10);
+        expiring.addEdge("A", "B", 3, 0);
+        expiring.addEdge("B", "C", 4, 5);
+        expiring.advanceTo(12);
+        testResult("Expired edges leave the window",
+                  expiring.getWindowEdgeCount() == 1 && expiring.getTotalCost() == 4);
+        
+        boolean rejected = false;
+        try {
+            expiring.addEdge("C", "D", 1, 11);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        testResult("Out-of-order timestamp rejected", rejected);
+        
+        System.out.println();
+    }
+    
+    private static void testOffHeapGraph() {
+        System.out.println("💾 Off-Heap Graph Tests:");
+        System.out.println("-".repeat(70));
+        
+        // Same cost and tree as the heap algorithms on random graphs
+        boolean sameCost = true;
+        boolean sameTree = true;
+        for (int seed = 0; seed < 10; seed++) {
+            Graph g = createRandomGraph(5 + seed * 7, seed * 11, seed);
+            KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+            PrimAlgorithm prim = new PrimAlgorithm(g);
+            kruskal.findMST();
+            prim.findMST();
+            try (OffHeapGraph offHeap = OffHeapGraph.fromGraph(g)) {
+                OffHeapKruskalAlgorithm offKruskal = new OffHeapKruskalAlgorithm(offHeap);
+                OffHeapPrimAlgorithm offPrim = new OffHeapPrimAlgorithm(offHeap);
+                offKruskal.findMST();
+                offPrim.findMST();
+                sameCost &= offKruskal.getTotalCost() == kruskal.getTotalCost()
+                            && offPrim.getTotalCost() == prim.getTotalCost();
+                
+                java.util.Set<Edge> tree = new java.util.HashSet<>();
+                for (long edge : offKruskal.getMSTEdges()) {
+                    tree.add(g.getEdgeView().get((int) edge));
+                }
+                sameTree &= tree.equals(new java.util.HashSet<>(kruskal.getMSTEdges()))
+                            && offPrim.getMSTEdgeCount() == g.getVertexCount() - 1;
+            } catch (java.io.IOException e) {
+                sameCost = false;
+            }
+        }
+        testResult("Off-heap Kruskal and Prim match heap costs", sameCost);
+        testResult("Off-heap Kruskal picks the same tree", sameTree);
+        
+        // File-backed storage gives the same result and leaves only edges.bin and header.bin behind
+        boolean mappedOk;
+        boolean reopened;
+        try {
+            java.nio.file.Path dir = java.nio.file.Files.createTempDirectory("offheap-test");
+            Graph g = createRandomGraph(40, 120, 3L);
+            KruskalAlgorithm kruskal = new KruskalAlgorithm(g);
+            kruskal.findMST();
+            try (OffHeapGraph mapped = OffHeapGraph.mapped(dir, 40, g.getEdgeCount())) {
+                java.util.Map<String, Integer> ids = new java.util.HashMap<>();
+                for (String vertex : g.getVertexView()) {
+                    ids.put(vertex, ids.size());
+                }
+                for (Edge edge : g.getEdgeView()) {
+                    mapped.addEdge(ids.get(edge.getFrom()), ids.get(edge.getTo()), edge.getWeight());
+                }
+                OffHeapKruskalAlgorithm offKruskal = new OffHeapKruskalAlgorithm(mapped);
+                OffHeapPrimAlgorithm offPrim = new OffHeapPrimAlgorithm(mapped);
+                mappedOk = offKruskal.findMST() && offPrim.findMST()
+                           && offKruskal.getTotalCost() == kruskal.getTotalCost()
+                           && offPrim.getTotalCost() == kruskal.getTotalCost();
+            }
+            try (java.util.stream.Stream<java.nio.file.Path> files = java.nio.file.Files.list(dir)) {
+                java.util.Set<String> left = files.map(file -> file.getFileName().toString())
+                                                  .collect(java.util.stream.Collectors.toSet());
+                mappedOk &= left.equals(java.util.Set.of("edges.bin", "header.bin"));
+            }
+            
+            // The closed graph opens again with its edges; a new mapped graph replaces it
+            try (OffHeapGraph stored = OffHeapGraph.open(dir)) {
+                OffHeapKruskalAlgorithm offKruskal = new OffHeapKruskalAlgorithm(stored);
+                reopened = stored.getVertexCount() == 40 && stored.getEdgeCount() == g.getEdgeCount()
+                           && offKruskal.findMST() && offKruskal.getTotalCost() == kruskal.getTotalCost();
+            }
+            OffHeapGraph.mapped(dir, 40, g.getEdgeCount()); // Not closed: no header is written
+            try {
+                OffHeapGraph.open(dir).close();
+                reopened = false;
+            } catch (java.io.FileNotFoundException e) {
+                // Expected
+            }
+            try (java.util.stream.Stream<java.nio.file.Path> files = java.nio.file.Files.list(dir)) {
+                for (java.nio.file.Path file : files.collect(java.util.stream.Collectors.toList())) {
+                    java.nio.file.Files.delete(file);
+                }
+            }
+            java.nio.file.Files.delete(dir);
+        } catch (java.io.IOException e) {
+            mappedOk = false;
+            reopened = false;
+        }
+        testResult("Memory-mapped graph matches Kruskal", mappedOk);
+        testResult("Closed mapped graph reopens with its edges", reopened);
+        
+        // Values near chunk boundaries survive small chunks
+        OffHeapBuffer buffer = OffHeapBuffer.allocate(1000, 64);
+        for (long offset = 0; offset + 8 <= 1000; offset += 8) {
+            buffer.putLong(offset, offset * 31 - 7);
+        }
+        boolean chunksOk = buffer.byteSize() == 1000;
+        for (long offset = 0; offset + 8 <= 1000; offset += 8) {
+            chunksOk &= buffer.getLong(offset) == offset * 31 - 7;
+        }
+        testResult("Chunked buffer reads back across boundaries", chunksOk);
+        
+        // Disconnected graph: forest, not a tree
+        try (OffHeapGraph split = new OffHeapGraph(4, 2)) {
+            split.addEdge(0, 1, 5);
+            split.addEdge(2, 3, -2);
+            OffHeapKruskalAlgorithm offKruskal = new OffHeapKruskalAlgorithm(split);
+            boolean found = offKruskal.findMST();
+            testResult("Disconnected off-heap graph detected",
+                      !found && !split.isConnected() && offKruskal.getTotalCost() == 3
+                      && !new OffHeapPrimAlgorithm(split).findMST());
+        } catch (java.io.IOException e) {
+            testResult("Disconnected off-heap graph detected", false);
+        }
+        
+        System.out.println();
+    }
+    
+    private static void testRunnerPipeline() {
+        System.out.println("🚰 Runner Pipeline Tests:");
+        System.out.println("-".repeat(70));
+        
+        // Input document spread over lines, with one disconnected graph
+        StringBuilder json = new StringBuilder("{\n  \"graphs\": [\n");
+        for (int id = 1; id <= 12; id++) {
+            Graph g = createRandomGraph(3 + id, id * 2, id);
+            if (id == 5) {
+                g.addVertex("Isolated");
+            }
+            json.append(id == 1 ? "" : ",\n").append("    {\n      \"id\": ").append(id).append(",\n      \"nodes\": [");
+            int k = 0;
+            for (String vertex : g.getVertexView()) {
+                json.append(k++ == 0 ? "" : ", ").append('"').append(vertex).append('"');
+            }
+            json.append("],\n      \"edges\": [\n");
+            k = 0;
+            for (Edge edge : g.getEdgeView()) {
+                json.append(k++ == 0 ? "" : ",\n").append("        {\"from\": \"").append(edge.getFrom())
+                    .append("\", \"to\": \"").append(edge.getTo())
+                    .append("\", \"weight\": ").append(edge.getWeight()).append("}");
+            }
+            json.append("\n      ]\n    }");
+        }
+        json.append("\n  ]\n}\n");
+        
+        // Streaming reader splits exactly like the whole-document reader
+        boolean sameGraphs;
+        try (GraphReader.GraphStream stream = new GraphReader.GraphStream(new java.io.StringReader(json.toString()))) {
+            java.util.List<GraphReader.GraphData> whole = GraphReader.parseGraphsFromJSON(json.toString(), new SymbolTable());
+            SymbolTable symbols = new SymbolTable();
+            sameGraphs = true;
+            for (GraphReader.GraphData expected : whole) {
+                GraphReader.GraphData actual = stream.next(symbols);
+                sameGraphs &= actual != null && actual.id == expected.id
+                              && actual.graph.getEdgeView().equals(expected.graph.getEdgeView());
+            }
+            sameGraphs &= stream.next(symbols) == null && whole.size() == 12;
+        } catch (java.io.IOException e) {
+            sameGraphs = false;
+        }
+        testResult("Graph stream matches whole-document parse", sameGraphs);
+        
+        // Deterministic processor; every third graph is slow so results finish out of order
+        java.util.function.Function<GraphReader.GraphData, ResultWriter.TestResult> processor = graphData -> {
+            if (graphData.id % 3 == 0) {
+                java.util.concurrent.locks.LockSupport.parkNanos(5_000_000);
+            }
+            KruskalAlgorithm kruskal = new KruskalAlgorithm(graphData.graph);
+            if (!kruskal.findMST()) {
+                return null;
+            }
+            return new ResultWriter.TestResult(graphData.id, graphData.graph.getVertexCount(),
+                graphData.graph.getEdgeCount(), kruskal.getMSTEdges(), kruskal.getTotalCost(), 0, 0,
+                kruskal.getMSTEdges(), kruskal.getTotalCost(), 0, 0);
+        };
+        
+        java.io.StringWriter sequential = new java.io.StringWriter();
+        java.io.StringWriter pipelined = new java.io.StringWriter();
+        RunnerMetrics metrics = new RunnerMetrics();
+        int written = -1;
+        try {
+            try (ResultStreamWriter writer = new ResultStreamWriter(sequential, ResultStreamWriter.Format.CSV)) {
+                for (GraphReader.GraphData graphData : GraphReader.parseGraphsFromJSON(json.toString(), new SymbolTable())) {
+                    ResultWriter.TestResult result = processor.apply(graphData);
+                    if (result != null) writer.write(result);
+                }
+            }
+            try (GraphReader.GraphStream stream = new GraphReader.GraphStream(new java.io.StringReader(json.toString()));
+                 ResultStreamWriter writer = new ResultStreamWriter(pipelined, ResultStreamWriter.Format.CSV)) {
+                written = new RunnerPipeline(3, 2, metrics, processor).run(stream, writer);
+            }
+        } catch (java.io.IOException e) {
+            written = -1;
+        }
+        testResult("Pipeline writes results in input order", 
+                  written == 11 && pipelined.toString().equals(sequential.toString()));
+        testResult("In-flight limit bounds queue and reorder buffer",
+                  metrics.getGraphsLoaded() == 12 && metrics.getInputQueueMaxDepth() <= 2
+                  && metrics.getReorderBufferMaxDepth() <= 2);
+        
+        // File streams count bytes as they go; read and write stages record their own events
+        boolean bytesCounted = false;
+        boolean stageEvents = false;
+        try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+            recording.enable("mst.GraphRead");
+            recording.enable("mst.ResultWrite");
+            recording.start();
+            java.nio.file.Path in = java.nio.file.Files.createTempFile("pipeline", ".json");
+            java.nio.file.Path out = java.nio.file.Files.createTempFile("pipeline", ".csv");
+            java.nio.file.Path jfr = java.nio.file.Files.createTempFile("pipeline", ".jfr");
+            java.nio.file.Files.writeString(in, json);
+            RunnerMetrics fileMetrics = new RunnerMetrics();
+            try (GraphReader.GraphStream stream = GraphReader.openGraphStream(in.toString(), fileMetrics::addBytesRead);
+                 ResultStreamWriter writer = ResultStreamWriter.open(out.toString(), ResultStreamWriter.Format.CSV,
+                                                                     fileMetrics::addBytesWritten)) {
+                new RunnerPipeline(2, 3, fileMetrics, processor).run(stream, writer);
+                bytesCounted = fileMetrics.getBytesRead() == java.nio.file.Files.size(in);
+            }
+            bytesCounted &= fileMetrics.getBytesWritten() == java.nio.file.Files.size(out);
+            recording.stop();
+            recording.dump(jfr);
+            int reads = 0;
+            int writes = 0;
+            for (jdk.jfr.consumer.RecordedEvent event : jdk.jfr.consumer.RecordingFile.readAllEvents(jfr)) {
+                String name = event.getEventType().getName();
+                if (name.equals("mst.GraphRead") && event.getInt("graphCount") == 12
+                    && event.getLong("bytes") == java.nio.file.Files.size(in)) reads++;
+                if (name.equals("mst.ResultWrite") && event.getInt("records") == 11
+                    && event.getLong("bytes") == java.nio.file.Files.size(out)) writes++;
+            }
+            stageEvents = reads == 1 && writes == 1;
+            java.nio.file.Files.delete(in);
+            java.nio.file.Files.delete(out);
+            java.nio.file.Files.delete(jfr);
+        } catch (java.io.IOException e) {
+            bytesCounted = false;
+        }
+        testResult("Bytes read and written are counted while streaming", bytesCounted);
+        testResult("Read and write stages emit their own events", stageEvents);
+        
+        // Per-graph events are filled in when committed, for every outcome
+        boolean graphEvents = false;
+        try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+            recording.enable("mst.GraphProcessed");
+            recording.start();
+            Graph connected = createRandomGraph(30, 60, 8);
+            Graph disconnected = createRandomGraph(10, 5, 9);
+            disconnected.addVertex("Isolated");
+            RunnerMetrics graphMetrics = new RunnerMetrics();
+            Assignment3Runner.processGraph(new GraphReader.GraphData(7, connected), graphMetrics, false, null);
+            Assignment3Runner.processGraph(new GraphReader.GraphData(8, disconnected), graphMetrics, false, null);
+            recording.stop();
+            java.nio.file.Path jfr = java.nio.file.Files.createTempFile("graphs", ".jfr");
+            recording.dump(jfr);
+            java.util.List<String> seen = new java.util.ArrayList<>();
+            for (jdk.jfr.consumer.RecordedEvent event : jdk.jfr.consumer.RecordingFile.readAllEvents(jfr)) {
+                if (event.getEventType().getName().equals("mst.GraphProcessed")) {
+                    seen.add(event.getInt("graphId") + ":" + event.getInt("vertices") + ":"
+                             + event.getInt("edges") + ":" + event.getString("outcome"));
+                }
+            }
+            java.nio.file.Files.delete(jfr);
+            java.util.Collections.sort(seen);
+            graphEvents = seen.equals(java.util.List.of(
+                "7:30:" + connected.getEdgeCount() + ":ok",
+                "8:11:" + disconnected.getEdgeCount() + ":disconnected"));
+        } catch (java.io.IOException e) {
+            graphEvents = false;
+        }
+        testResult("Graph events carry id, size and outcome", graphEvents);
+        
+        // Each pipeline graph has its own symbol table holding just its vertices
+        java.util.Set<SymbolTable> tables = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        java.util.concurrent.atomic.AtomicBoolean ownTables = new java.util.concurrent.atomic.AtomicBoolean(true);
+        try (GraphReader.GraphStream stream = new GraphReader.GraphStream(new java.io.StringReader(json.toString()));
+             ResultStreamWriter writer = new ResultStreamWriter(new java.io.StringWriter(), ResultStreamWriter.Format.CSV)) {
+            new RunnerPipeline(3, 4, new RunnerMetrics(), graphData -> {
+                tables.add(graphData.symbols);
+                if (graphData.symbols.size() != graphData.graph.getVertexCount()) {
+                    ownTables.set(false);
+                }
+                return null;
+            }).run(stream, writer);
+        } catch (java.io.IOException e) {
+            ownTables.set(false);
+        }
+        testResult("Pipeline parses each graph with its own symbol table", ownTables.get() && tables.size() == 12);
+        
+        // Failures in the reader or a worker surface as IOException
+        boolean readFailure = false;
+        try (GraphReader.GraphStream stream = new GraphReader.GraphStream(new java.io.StringReader("{\"graphs\": [{\"id\": 1"));
+             ResultStreamWriter writer = new ResultStreamWriter(new java.io.StringWriter(), ResultStreamWriter.Format.CSV)) {
+            new RunnerPipeline(2, 4, new RunnerMetrics(), processor).run(stream, writer);
+        } catch (java.io.IOException e) {
+            readFailure = true;
+        }
+        boolean workerFailure = false;
+        try (GraphReader.GraphStream stream = new GraphReader.GraphStream(new java.io.StringReader(json.toString()));
+             ResultStreamWriter writer = new ResultStreamWriter(new java.io.StringWriter(), ResultStreamWriter.Format.CSV)) {
+            new RunnerPipeline(2, 4, new RunnerMetrics(), graphData -> {
+                throw new IllegalStateException("boom");
+            }).run(stream, writer);
+        } catch (java.io.IOException e) {
+            workerFailure = e.getMessage().contains("boom");
+        }
+        boolean workerError = false;
+        try (GraphReader.GraphStream stream = new GraphReader.GraphStream(new java.io.StringReader(json.toString()));
+             ResultStreamWriter writer = new ResultStreamWriter(new java.io.StringWriter(), ResultStreamWriter.Format.CSV)) {
+            new RunnerPipeline(2, 4, new RunnerMetrics(), graphData -> {
+                throw new StackOverflowError();
+            }).run(stream, writer);
+        } catch (java.io.IOException e) {
+            workerError = e.getCause() instanceof StackOverflowError;
+        }
+        testResult("Truncated input and worker errors are reported", readFailure && workerFailure);
+        testResult("Worker Error fails the run instead of hanging", workerError);
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test that parallel parsing matches sequential parsing and needs a synchronized table
+     */
+    private static void testParallelReader() {
+        System.out.println("🧵 Parallel Reader Tests:");
+        System.out.println("-".repeat(70));
+        
+        Graph[] graphs = new Graph[16];
+        for (int i = 0; i < graphs.length; i++) {
+            graphs[i] = createRandomGraph(20 + i * 10, 40 + i * 25, 300 + i);
+        }
+        java.nio.file.Path in = null;
+        try {
+            in = java.nio.file.Files.createTempFile("parallel", ".json");
+            java.nio.file.Files.writeString(in, toJSON(graphs));
+            
+            java.util.List<GraphReader.GraphData> sequential = GraphReader.readGraphsFromJSON(in.toString());
+            SymbolTable shared = SymbolTable.synchronizedTable(16);
+            java.util.List<GraphReader.GraphData> parallel =
+                GraphReader.readGraphsFromJSONParallel(in.toString(), shared, 4);
+            
+            java.util.Set<String> distinct = new java.util.HashSet<>();
+            for (Graph g : graphs) {
+                distinct.addAll(g.getVertexView());
+            }
+            boolean same = parallel.size() == graphs.length;
+            boolean canonical = true;
+            for (int i = 0; same && i < graphs.length; i++) {
+                GraphReader.GraphData expected = sequential.get(i);
+                GraphReader.GraphData actual = parallel.get(i);
+                same &= actual.id == i + 1 && actual.id == expected.id
+                        && actual.graph.getEdgeView().equals(expected.graph.getEdgeView())
+                        && new java.util.ArrayList<>(actual.graph.getVertexView())
+                               .equals(new java.util.ArrayList<>(expected.graph.getVertexView()));
+                for (String vertex : actual.graph.getVertexView()) {
+                    canonical &= shared.getName(shared.getId(vertex)) == vertex;
+                }
+            }
+            testResult("Parallel read matches sequential read, in input order", same);
+            testResult("Parallel read interns names once in the shared table",
+                       canonical && shared.size() == distinct.size());
+            
+            boolean rejected = false;
+            try {
+                GraphReader.readGraphsFromJSONParallel(in.toString(), new SymbolTable(), 4);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            testResult("Unsynchronized table is rejected for parallel parsing",
+                       rejected && !new SymbolTable().isSynchronized() && shared.isSynchronized());
+        } catch (java.io.IOException e) {
+            testResult("Parallel read matches sequential read, in input order", false);
+        } finally {
+            if (in != null) in.toFile().delete();
+        }
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test that the regression gate flags a synthetic regression and reports it
+     */
+    private static void testRegressionGate() {
+        System.out.println("🚦 Regression Gate Tests:");
+        System.out.println("-".repeat(70));
+        
+        java.util.Map<String, PerformanceRegressionGate.Measurement> baseline = new java.util.LinkedHashMap<>();
+        baseline.put(PerformanceRegressionGate.key("small", "prim"),
+                     new PerformanceRegressionGate.Measurement(1_000_000, 4000, 500));
+        baseline.put(PerformanceRegressionGate.key("small", "kruskal"),
+                     new PerformanceRegressionGate.Measurement(2_000_000, 8000, 900));
+        
+        // Same time and allocation; a single extra operation
+        java.util.Map<String, PerformanceRegressionGate.Measurement> oneMoreOp = new java.util.LinkedHashMap<>();
+        oneMoreOp.put(PerformanceRegressionGate.key("small", "prim"),
+                      new PerformanceRegressionGate.Measurement(1_000_000, 4000, 501));
+        oneMoreOp.put(PerformanceRegressionGate.key("small", "kruskal"),
+                      new PerformanceRegressionGate.Measurement(2_000_000, 8000, 900));
+        java.util.List<String> regressions = PerformanceRegressionGate.compare(baseline, oneMoreOp, 0.30, 0.10, 0.0);
+        testResult("One extra operation fails the gate at the default tolerance",
+                   regressions.equals(java.util.List.of("small prim: operations 500 -> 501 (+0.2%)")));
+        testResult("Operation tolerance is separate from allocation tolerance",
+                   PerformanceRegressionGate.compare(baseline, oneMoreOp, 0.30, 0.0, 0.01).isEmpty());
+        
+        // Time and allocation past their tolerances
+        java.util.Map<String, PerformanceRegressionGate.Measurement> slower = new java.util.LinkedHashMap<>();
+        slower.put(PerformanceRegressionGate.key("small", "prim"),
+                   new PerformanceRegressionGate.Measurement(1_000_000, 4000, 500));
+        slower.put(PerformanceRegressionGate.key("small", "kruskal"),
+                   new PerformanceRegressionGate.Measurement(3_000_000, 10000, 900));
+        String report = PerformanceRegressionGate.report(
+            PerformanceRegressionGate.compare(baseline, slower, 0.30, 0.10, 0.0), 0.30, 0.10, 0.0);
+        testResult("Report lists each regressed metric",
+                   report.equals("❌ Performance regressions detected:\n"
+                                 + "  - small kruskal: time 2.000 ms -> 3.000 ms (+50.0%)\n"
+                                 + "  - small kruskal: allocation 8000 B -> 10000 B (+25.0%)\n"));
+        testResult("Unchanged measurements pass",
+                   PerformanceRegressionGate.report(
+                       PerformanceRegressionGate.compare(baseline, baseline, 0.30, 0.10, 0.0), 0.30, 0.10, 0.0)
+                   .equals("✅ No performance regressions (time tolerance 30%, allocation tolerance 10%, "
+                           + "operations tolerance 0%)\n"));
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test that the generator is deterministic for a seed and its sinks agree
+     */
+    private static void testGraphGenerator() {
+        System.out.println("🎲 Graph Generator Tests:");
+        System.out.println("-".repeat(70));
+        
+        String[] types = {"multigraph", "grid", "geometric", "powerlaw"};
+        boolean deterministic = true;
+        boolean seedMatters = true;
+        for (String type : types) {
+            java.util.List<String> first = generatedEdges(type, 99);
+            deterministic &= !first.isEmpty() && first.equals(generatedEdges(type, 99));
+            seedMatters &= !first.equals(generatedEdges(type, 100));
+        }
+        testResult("Same seed gives the same edges for every graph type", deterministic);
+        testResult("Different seeds give different edges", seedMatters);
+        
+        java.util.List<String> multigraph = generatedEdges("multigraph", 7);
+        boolean noSelfLoops = true;
+        for (String edge : multigraph) {
+            String[] parts = edge.split(" ");
+            noSelfLoops &= !parts[0].equals(parts[1]);
+        }
+        testResult("Multigraph has m edges and no self-loops", multigraph.size() == 400 && noSelfLoops);
+        
+        // Builder, Graph and PackedEdgeStore sinks see the same edges
+        GraphBuilder builder = new GraphBuilder(100, 400);
+        Graph graph = new Graph();
+        PackedEdgeStore store = new PackedEdgeStore(new SymbolTable(), 400);
+        try {
+            new GraphGenerator(7).randomMultigraph(100, 400, true, GraphGenerator.builderSink(builder, 100));
+            new GraphGenerator(7).randomMultigraph(100, 400, true, GraphGenerator.graphSink(graph));
+            new GraphGenerator(7).randomMultigraph(100, 400, true, GraphGenerator.packedSink(store, 100));
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e); // In-memory sinks do no I/O
+        }
+        testResult("Builder, graph and packed sinks agree",
+                   builder.build().getEdges().equals(graph.getEdges()) && store.toEdges().equals(graph.getEdges()));
+        
+        // Grid vertex count is computed in long
+        boolean overflowRejected = false;
+        try {
+            GraphGenerator.gridVertexCount(100_000, 100_000);
+        } catch (IllegalArgumentException e) {
+            overflowRejected = true;
+        }
+        testResult("Grid vertex count overflow is rejected",
+                   overflowRejected && GraphGenerator.gridVertexCount(46_340, 46_340) == 46_340 * 46_340);
+        
+        System.out.println();
+    }
+    
+    /**
+     * Edges generated for a seed, as "from to weight" lines
+     */
+    private static java.util.List<String> generatedEdges(String type, long seed) {
+        java.util.List<String> edges = new java.util.ArrayList<>();
+        GraphGenerator generator = new GraphGenerator(seed);
+        GraphGenerator.EdgeSink sink = (from, to, weight) -> edges.add(from + " " + to + " " + weight);
+        try {
+            switch (type) {
+                case "multigraph": generator.randomMultigraph(100, 400, true, sink); break;
+                case "grid": generator.grid(10, 12, sink); break;
+                case "geometric": generator.geometric(200, 0.1, sink); break;
+                default: generator.powerLaw(100, 400, 2.5, sink); break;
+            }
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e); // List sink does no I/O
+        }
+        return edges;
+    }
+    
+    /**
+     * Test that streamed JSON and CSV match ResultWriter and generate_csv.py byte for byte
+     */
+    private static void testResultFormats() {
+        System.out.println("📝 Result Format Tests:");
+        System.out.println("-".repeat(70));
+        
+        java.util.List<Edge> path = java.util.List.of(new Edge("A", "B", 1), new Edge("B", "C", 2), new Edge("C", "D", 3));
+        java.util.List<Edge> single = java.util.List.of(new Edge("X", "Y", 7));
+        java.util.List<ResultWriter.TestResult> results = java.util.List.of(
+            new ResultWriter.TestResult(1, 4, 5, path, 6, 42, 1234, path, 6, 57, 2000),
+            new ResultWriter.TestResult(2, 2, 1, single, 7, 9, 50, single, 7, 11, 40),
+            new ResultWriter.TestResult(3, 2, 1, single, 7, 9, 12_345_678_900L, single, 6, 11, 30_000_000_000L));
+        
+        // Old printJSONOutput path (ResultWriter.writeResults) against the streaming writer
+        String expectedJSON = JSON_TEXT.replace("\n", System.lineSeparator());
+        java.io.StringWriter old = new java.io.StringWriter();
+        try (java.io.PrintWriter writer = new java.io.PrintWriter(old)) {
+            ResultWriter.writeResults(results.subList(0, 2), writer);
+        }
+        testResult("ResultWriter JSON matches expected text", old.toString().equals(expectedJSON));
+        testResult("Streamed JSON is byte-identical to ResultWriter",
+                   streamed(results.subList(0, 2), ResultStreamWriter.Format.JSON).equals(expectedJSON));
+        boolean sameForEveryCount = true;
+        for (int count = 0; count <= results.size(); count++) {
+            java.io.StringWriter oldDocument = new java.io.StringWriter();
+            try (java.io.PrintWriter writer = new java.io.PrintWriter(oldDocument)) {
+                ResultWriter.writeResults(results.subList(0, count), writer);
+            }
+            sameForEveryCount &= streamed(results.subList(0, count), ResultStreamWriter.Format.JSON)
+                                 .equals(oldDocument.toString());
+        }
+        testResult("Streamed JSON matches ResultWriter for 0 to 3 results", sameForEveryCount);
+        
+        // Output of generate_csv.py on the JSON above (csv module: CRLF, Python float repr)
+        String expectedCSV = ResultStreamWriter.CSV_HEADER + "\r\n"
+            + "1,4,5,6,1.23,42,6,2.0,57,True,-0.77,-15\r\n"
+            + "2,2,1,7,0.05,9,7,0.04,11,True,0.01,-2\r\n"
+            + "3,2,1,7,12345678.9,9,6,30000000.0,11,False,-17654321.1,-2\r\n";
+        testResult("Streamed CSV matches generate_csv.py",
+                   streamed(results, ResultStreamWriter.Format.CSV).equals(expectedCSV));
+        
+        System.out.println();
+    }
+    
+    /**
+     * Two results as written by ResultWriter.writeResults (\n line ends)
+     */
+    private static final String JSON_TEXT =
+            """
+            {
+              "results": [
+                {
+                  "graph_id": 1,
+                  "input_stats": {
+                    "vertices": 4,
+                    "edges": 5
+                  },
+                  "prim": {
+                    "mst_edges": [
+                      {"from": "A", "to": "B", "weight": 1},
+                      {"from": "B", "to": "C", "weight": 2},
+                      {"from": "C", "to": "D", "weight": 3}
+                    ],
+                    "total_cost": 6,
+                    "operations_count": 42,
+                    "execution_time_ms": 1.23
+                  },
+                  "kruskal": {
+                    "mst_edges": [
+                      {"from": "A", "to": "B", "weight": 1},
+                      {"from": "B", "to": "C", "weight": 2},
+                      {"from": "C", "to": "D", "weight": 3}
+                    ],
+                    "total_cost": 6,
+                    "operations_count": 57,
+                    "execution_time_ms": 2.00
+                  }
+                },
+                {
+                  "graph_id": 2,
+                  "input_stats": {
+                    "vertices": 2,
+                    "edges": 1
+                  },
+                  "prim": {
+                    "mst_edges": [
+                      {"from": "X", "to": "Y", "weight": 7}
+                    ],
+                    "total_cost": 7,
+                    "operations_count": 9,
+                    "execution_time_ms": 0.05
+                  },
+                  "kruskal": {
+                    "mst_edges": [
+                      {"from": "X", "to": "Y", "weight": 7}
+                    ],
+                    "total_cost": 7,
+                    "operations_count": 11,
+                    "execution_time_ms": 0.04
+                  }
+                }
+              ]
+            }
+            """;
+    
+    /**
+     * Write results with a ResultStreamWriter and return the text
+     */
+    private static String streamed(java.util.List<ResultWriter.TestResult> results, ResultStreamWriter.Format format) {
+        java.io.StringWriter text = new java.io.StringWriter();
+        try (ResultStreamWriter writer = new ResultStreamWriter(text, format)) {
+            for (ResultWriter.TestResult result : results) {
+                writer.write(result);
+            }
+        } catch (java.io.IOException e) {
+            return "";
+        }
+        return text.toString();
+    }
+    
+    /**
+     * Test gzip round trips and that input compression is detected by content, not name
+     */
+    private static void testCompressedIO() {
+        System.out.println("🗜️ Compressed IO Tests:");
+        System.out.println("-".repeat(70));
+        
+        String text = toJSON(createRandomGraph(40, 80, 3), createRandomGraph(25, 30, 4));
+        java.nio.file.Path dir = null;
+        try {
+            dir = java.nio.file.Files.createTempDirectory("compressed");
+            String gz = dir.resolve("graphs.json.gz").toString();
+            String plain = dir.resolve("graphs.json").toString();
+            
+            // Round trip through a .gz name, counting file bytes both ways
+            long[] written = new long[1];
+            long[] read = new long[1];
+            try (java.io.Writer writer = CompressedIO.openWriter(gz, n -> written[0] += n)) {
+                writer.write(text);
+            }
+            byte[] raw = java.nio.file.Files.readAllBytes(java.nio.file.Paths.get(gz));
+            String roundTrip;
+            try (java.io.BufferedReader reader = CompressedIO.openReader(gz, n -> read[0] += n)) {
+                roundTrip = readAll(reader);
+            }
+            testResult("Gzip round trip returns the original text",
+                       roundTrip.equals(text) && (raw[0] & 0xff) == 0x1f && (raw[1] & 0xff) == 0x8b
+                       && raw.length < text.length());
+            testResult("Byte counts are compressed file sizes", written[0] == raw.length && read[0] == raw.length);
+            
+            // Gzip content under a plain name is decompressed
+            java.nio.file.Files.write(java.nio.file.Paths.get(plain), raw);
+            String detected;
+            try (java.io.BufferedReader reader = CompressedIO.openReader(plain)) {
+                detected = readAll(reader);
+            }
+            testResult("Gzip input is detected by magic bytes, not extension", detected.equals(text));
+            
+            // Plain content under a .gz name is read as is
+            java.nio.file.Files.writeString(java.nio.file.Paths.get(gz), text);
+            String notGzip;
+            try (java.io.BufferedReader reader = CompressedIO.openReader(gz)) {
+                notGzip = readAll(reader);
+            }
+            java.nio.file.Files.writeString(java.nio.file.Paths.get(plain), "");
+            String empty;
+            try (java.io.BufferedReader reader = CompressedIO.openReader(plain)) {
+                empty = readAll(reader);
+            }
+            testResult("Plain and empty inputs are read as is, whatever the name",
+                       notGzip.equals(text) && empty.isEmpty());
+            
+            // Output is compressed only for .gz names; the graph reader sees the same graphs either way
+            try (java.io.Writer writer = CompressedIO.openWriter(plain)) {
+                writer.write(text);
+            }
+            try (java.io.Writer writer = CompressedIO.openWriter(gz)) {
+                writer.write(text);
+            }
+            java.util.List<GraphReader.GraphData> fromPlain = GraphReader.readGraphsFromJSON(plain);
+            java.util.List<GraphReader.GraphData> fromGzip = GraphReader.readGraphsFromJSON(gz);
+            testResult("Output is compressed by name and reads back as the same graphs",
+                       java.nio.file.Files.readString(java.nio.file.Paths.get(plain)).equals(text)
+                       && fromPlain.size() == 2 && fromGzip.size() == 2
+                       && fromGzip.get(0).graph.getEdgeView().equals(fromPlain.get(0).graph.getEdgeView())
+                       && fromGzip.get(1).graph.getEdgeView().equals(fromPlain.get(1).graph.getEdgeView()));
+            
+            java.nio.file.Files.delete(java.nio.file.Paths.get(gz));
+            java.nio.file.Files.delete(java.nio.file.Paths.get(plain));
+            java.nio.file.Files.delete(dir);
+        } catch (java.io.IOException e) {
+            testResult("Compressed IO: " + e, false);
+        }
+        
+        System.out.println();
+    }
+    
+    private static String readAll(java.io.Reader reader) throws java.io.IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[4096];
+        for (int n; (n = reader.read(buffer)) >= 0; ) {
+            sb.append(buffer, 0, n);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Test symbol table interning, within one table and across graphs
+     */
+    private static void testSymbolTable() {
+        System.out.println("🔤 Symbol Table Tests:");
+        System.out.println("-".repeat(70));
+        
+        SymbolTable table = new SymbolTable();
+        String source = "from:Alpha,to:Beta";
+        int alpha = table.intern(source, 5, 10);
+        int beta = table.intern("Beta");
+        testResult("Ids are dense, in first-seen order",
+                   alpha == 0 && beta == 1 && table.intern("Alpha") == alpha
+                   && table.intern(source, 14, 18) == beta && table.size() == 2);
+        String name = "Gamma";
+        int gamma = table.intern(name);
+        testResult("Lookups do not intern; names are stored once",
+                   table.getId("Delta") == -1 && table.size() == 3 && table.getName(gamma) == name
+                   && table.getName(alpha).equals("Alpha")
+                   && java.util.Arrays.equals(table.getNames(), new String[] {"Alpha", "Beta", "Gamma"}));
+        boolean outOfRange = false;
+        try {
+            table.getName(3);
+        } catch (IndexOutOfBoundsException e) {
+            outOfRange = true;
+        }
+        testResult("Unknown id is rejected", outOfRange);
+        
+        // Growth past the initial capacity keeps every id
+        SymbolTable large = new SymbolTable(4);
+        boolean stable = true;
+        for (int i = 0; i < 10_000; i++) {
+            stable &= large.intern("N" + i) == i;
+        }
+        for (int i = 0; i < 10_000; i += 7) {
+            stable &= large.getId("N" + i) == i && large.getName(i).equals("N" + i);
+        }
+        testResult("Ids survive rehashing", stable && large.size() == 10_000);
+        
+        // Graphs parsed with one table share name instances
+        SymbolTable shared = new SymbolTable();
+        int[] ids = new int[3];
+        String[] canonical = shared.canonicalize(new String[] {new String("A"), "B", "A"}, ids);
+        Graph first = new Graph();
+        first.addEdge("A", "B", 1);
+        first.addEdge("B", "C", 2);
+        Graph second = new Graph();
+        second.addEdge("C", "D", 3);
+        second.addEdge("D", "A", 4);
+        boolean sharedNames = canonical[0] == canonical[2] && ids[0] == ids[2] && ids[1] == 1;
+        try {
+            java.util.List<GraphReader.GraphData> graphs = GraphReader.parseGraphsFromJSON(toJSON(first, second), shared);
+            Edge firstEdge = graphs.get(0).graph.getEdges().get(0);
+            Edge lastEdge = graphs.get(1).graph.getEdges().get(1);
+            sharedNames &= lastEdge.getTo() == firstEdge.getFrom() && lastEdge.getTo() == canonical[0]
+                           && graphs.get(1).graph.getEdges().get(0).getFrom()
+                              == graphs.get(0).graph.getEdges().get(1).getTo()
+                           && shared.size() == 4 && graphs.get(1).symbols == shared;
+        } catch (java.io.IOException e) {
+            sharedNames = false;
+        }
+        testResult("Graphs interned into one table share name instances", sharedNames);
+        
+        // Edge endpoints get the same name as the nodes array, even with a quote inside
+        GraphReader.GraphData quoted = GraphReader.parseGraph(
+            "{\"id\": 1, \"nodes\": [\"A\\\"B\", \"C\"], \"edges\": ["
+            + "{\"from\": \"A\\\"B\", \"to\": \"C\", \"weight\": 2}]}");
+        testResult("Endpoint names match node names when quoted",
+                   quoted.graph.getVertexCount() == 2 && quoted.graph.getEdges().get(0).getFrom().equals("A\\B"));
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test packed edge storage and its flyweight view
+     */
+    private static void testPackedEdgeStore() {
+        System.out.println("📦 Packed Edge Store Tests:");
+        System.out.println("-".repeat(70));
+        
+        Graph g = createRandomGraph(60, 200, 17);
+        SymbolTable symbols = new SymbolTable();
+        PackedEdgeStore store = PackedEdgeStore.fromGraph(g, symbols);
+        testResult("Store keeps every edge, in order", store.size() == g.getEdgeCount()
+                   && store.toEdges().equals(g.getEdges()) && store.getSymbols() == symbols);
+        
+        // View accessors read the same fields as the edges, one instance for all positions
+        PackedEdgeStore.View view = store.view();
+        boolean sameFields = true;
+        for (int i = 0; i < store.size(); i++) {
+            Edge edge = g.getEdges().get(i);
+            sameFields &= view.moveTo(i) == view && view.getIndex() == i
+                          && view.getFrom().equals(edge.getFrom()) && view.getTo().equals(edge.getTo())
+                          && view.getWeight() == edge.getWeight() && view.toString().equals(edge.toString());
+        }
+        testResult("View accessors match the edges", sameFields);
+        
+        boolean bounded = false;
+        try {
+            view.moveTo(store.size());
+        } catch (IndexOutOfBoundsException e) {
+            bounded = view.getIndex() == store.size() - 1;
+        }
+        testResult("View rejects positions past the end and stays put", bounded);
+        
+        // Ids and packing, including negative ids in the low half
+        PackedEdgeStore ids = new PackedEdgeStore(new SymbolTable(), 1);
+        ids.addEdge(7, -1, 5);
+        ids.addEdge("X", "Y", -3);
+        ids.addEdge("Y", "X", -3);
+        ids.addEdge("X", "Z", -9);
+        testResult("Endpoints pack into one long",
+                   ids.getFrom(0) == 7 && ids.getTo(0) == -1 && ids.getEndpoints(0) == PackedEdgeStore.pack(7, -1)
+                   && ids.getFrom(1) == ids.getSymbols().getId("X") && ids.getTo(2) == ids.getFrom(1)
+                   && ids.size() == 4);
+        
+        // Sorting is stable and keeps the views working
+        ids.sortByWeight();
+        ids.trimToSize();
+        PackedEdgeStore.View sorted = ids.view();
+        testResult("Sort by weight is stable",
+                   sorted.moveTo(0).getWeight() == -9 && sorted.getTo().equals("Z")
+                   && sorted.moveTo(1).getFrom().equals("X") && sorted.moveTo(2).getFrom().equals("Y")
+                   && sorted.moveTo(3).getWeight() == 5 && ids.getFrom(3) == 7 && ids.size() == 4);
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test the MST server end to end over HTTP on loopback
+     */
+    private static void testMSTServer() {
+        System.out.println("🌐 MST Server Tests:");
+        System.out.println("-".repeat(70));
+        
+        MSTServer server = null;
+        MSTServer limited = null;
+        MSTServer busy = null;
+        try {
+            server = new MSTServer(0);
+            server.start();
+            String base = "http://127.0.0.1:" + server.getPort();
+            java.net.http.HttpClient client = java.net.http.HttpClient.newHttpClient();
+            testResult("Server binds to loopback by default", server.getAddress().getAddress().isLoopbackAddress());
+            
+            java.net.http.HttpResponse<String> health = client.send(
+                java.net.http.HttpRequest.newBuilder(java.net.URI.create(base + "/health")).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            testResult("Health check answers ok", health.statusCode() == 200 && health.body().equals("ok\n"));
+            
+            // Round trip: same document as processing with a workspace gives, apart from timings
+            Graph disconnected = createRandomGraph(8, 4, 33);
+            disconnected.addVertex("Isolated");
+            Graph[] graphs = {createRandomGraph(40, 90, 31), createRandomGraph(15, 20, 32), disconnected};
+            java.net.http.HttpResponse<String> response = client.send(
+                java.net.http.HttpRequest.newBuilder(java.net.URI.create(base + "/mst"))
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString(toJSON(graphs))).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            java.util.List<ResultWriter.TestResult> expected = new java.util.ArrayList<>();
+            for (GraphReader.GraphData graphData : GraphReader.parseGraphsFromJSON(toJSON(graphs), new SymbolTable())) {
+                ResultWriter.TestResult result = Assignment3Runner.processGraph(graphData, new RunnerMetrics(), false,
+                                                                                MSTWorkspace.forCurrentThread());
+                if (result != null) expected.add(result);
+            }
+            java.io.StringWriter expectedText = new java.io.StringWriter();
+            try (java.io.PrintWriter writer = new java.io.PrintWriter(expectedText)) {
+                ResultWriter.writeResults(expected, writer);
+            }
+            testResult("POST /mst returns the results document",
+                       response.statusCode() == 200 && expected.size() == 2
+                       && withoutTimings(response.body()).equals(withoutTimings(expectedText.toString())));
+            
+            java.net.http.HttpResponse<String> invalid = client.send(
+                java.net.http.HttpRequest.newBuilder(java.net.URI.create(base + "/mst"))
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString("{\"graphs\": [{\"id\": x")).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            testResult("Malformed document is a 400", invalid.statusCode() == 400);
+            
+            // A small request is not held back by a large one admitted before it
+            Graph[] large = new Graph[40];
+            for (int i = 0; i < large.length; i++) {
+                large[i] = createRandomGraph(300, 3000, 1000 + i);
+            }
+            java.util.concurrent.CompletableFuture<java.net.http.HttpResponse<String>> big = client.sendAsync(
+                java.net.http.HttpRequest.newBuilder(java.net.URI.create(base + "/mst"))
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString(toJSON(large))).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            while (server.getMetrics().getGraphsLoaded() < 3 + large.length && !big.isDone()) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(20); // Let the large batch be admitted
+            java.net.http.HttpResponse<String> small = client.send(
+                java.net.http.HttpRequest.newBuilder(java.net.URI.create(base + "/mst"))
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString(toJSON(graphs[1]))).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            boolean overtook = small.statusCode() == 200 && !big.isDone();
+            testResult("Small request finishes while a large one is computing",
+                       overtook && big.get().statusCode() == 200
+                       && big.get().body().split("\"graph_id\"", -1).length == large.length + 1);
+            
+            // Bodies over the limit are refused
+            limited = new MSTServer(java.net.InetAddress.getLoopbackAddress(), 0, 1024, 64);
+            limited.start();
+            java.net.http.HttpResponse<String> tooLarge = client.send(
+                java.net.http.HttpRequest.newBuilder(java.net.URI.create("http://127.0.0.1:" + limited.getPort() + "/mst"))
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString(toJSON(graphs))).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            java.net.http.HttpResponse<String> fits = client.send(
+                java.net.http.HttpRequest.newBuilder(java.net.URI.create("http://127.0.0.1:" + limited.getPort() + "/mst"))
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString(toJSON(createTriangleGraph()))).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            testResult("Body over the limit is a 413, smaller bodies are served",
+                       toJSON(graphs).length() > 1024 && tooLarge.statusCode() == 413 && fits.statusCode() == 200);
+            
+            // Requests past the pending limit are turned away instead of queued
+            busy = new MSTServer(java.net.InetAddress.getLoopbackAddress(), 0, 1 << 24, 1);
+            busy.start();
+            java.net.URI busyURI = java.net.URI.create("http://127.0.0.1:" + busy.getPort() + "/mst");
+            java.util.concurrent.CompletableFuture<java.net.http.HttpResponse<String>> first = client.sendAsync(
+                java.net.http.HttpRequest.newBuilder(busyURI)
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString(toJSON(large))).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            while (busy.getMetrics().getGraphsLoaded() == 0 && !first.isDone()) {
+                Thread.sleep(1);
+            }
+            java.net.http.HttpResponse<String> rejected = client.send(
+                java.net.http.HttpRequest.newBuilder(busyURI)
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString(toJSON(graphs[1]))).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            java.net.http.HttpResponse<String> healthWhileBusy = client.send(
+                java.net.http.HttpRequest.newBuilder(java.net.URI.create("http://127.0.0.1:" + busy.getPort() + "/health")).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString());
+            boolean stillBusy = !first.isDone();
+            java.net.http.HttpResponse<String> afterwards = first.get().statusCode() == 200 ? client.send(
+                java.net.http.HttpRequest.newBuilder(busyURI)
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString(toJSON(graphs[1]))).build(),
+                java.net.http.HttpResponse.BodyHandlers.ofString()) : null;
+            testResult("Request past the pending limit is a 503, served once a slot frees",
+                       stillBusy && rejected.statusCode() == 503 && healthWhileBusy.statusCode() == 200
+                       && afterwards != null && afterwards.statusCode() == 200);
+        } catch (java.io.IOException | java.util.concurrent.ExecutionException e) {
+            testResult("MST server: " + e, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            testResult("MST server interrupted", false);
+        } finally {
+            if (server != null) server.stop();
+            if (limited != null) limited.stop();
+            if (busy != null) busy.stop();
+        }
+        
+        System.out.println();
+    }
+    
+    private static String withoutTimings(String document) {
+        return document.replaceAll("\"execution_time_ms\": [0-9.]+", "");
+    }
+    
+    private static void testRunnerMetrics() {
+        System.out.println("📈 Runner Metrics Tests:");
+        System.out.println("-".repeat(70));
+        
+        // Bucket i holds [2^(i-1), 2^i); the last bucket also takes everything above
+        boolean boundaries = RunnerMetrics.bucketOf(0) == 0 && RunnerMetrics.bucketOf(1) == 1
+                             && RunnerMetrics.bucketOf(2) == 2 && RunnerMetrics.bucketOf(3) == 2;
+        for (int k = 2; k < 63; k++) {
+            boundaries &= RunnerMetrics.bucketOf((1L << k) - 1) == k && RunnerMetrics.bucketOf(1L << k) == k + 1;
+        }
+        boundaries &= RunnerMetrics.bucketOf(1L << 62) == 63 && RunnerMetrics.bucketOf(Long.MAX_VALUE) == 63;
+        testResult("Latency buckets split at powers of two", boundaries);
+        
+        // 1..100 us: p50 is 50 us in [32, 64), p99 is 99 us in [64, 128); percentiles report bucket upper bounds
+        RunnerMetrics metrics = new RunnerMetrics();
+        boolean emptyIsZero = metrics.getPrimLatencyP50Micros() == 0 && metrics.getPrimLatencyP99Micros() == 0;
+        for (int micros = 1; micros <= 100; micros++) {
+            metrics.recordProcessed(micros * 1000L, 0);
+        }
+        testResult("p50 and p99 over 1..100 us are 63 and 127",
+                   emptyIsZero && metrics.getPrimLatencyP50Micros() == 63 && metrics.getPrimLatencyP99Micros() == 127
+                   && metrics.getPrimLatencyMaxMicros() == 100 && metrics.getKruskalLatencyP99Micros() == 0);
+        java.util.concurrent.atomic.AtomicLongArray top = new java.util.concurrent.atomic.AtomicLongArray(64);
+        top.set(63, 1);
+        testResult("Top bucket percentile is Long.MAX_VALUE",
+                   RunnerMetrics.percentile(top, 0.5) == Long.MAX_VALUE);
+        
+        // register() publishes the instance; registering again replaces it
+        try {
+            javax.management.MBeanServer server = java.lang.management.ManagementFactory.getPlatformMBeanServer();
+            javax.management.ObjectName name = new javax.management.ObjectName(RunnerMetrics.OBJECT_NAME);
+            RunnerMetrics first = RunnerMetrics.register();
+            first.addGraphsLoaded(3);
+            boolean readable = Long.valueOf(3).equals(server.getAttribute(name, "GraphsLoaded"));
+            RunnerMetrics second = RunnerMetrics.register();
+            second.addGraphsLoaded(7);
+            testResult("register() makes the metrics readable over JMX", readable);
+            testResult("Registering twice replaces the first MBean",
+                       Long.valueOf(7).equals(server.getAttribute(name, "GraphsLoaded"))
+                       && server.queryNames(name, null).size() == 1);
+        } catch (javax.management.JMException e) {
+            testResult("Runner metrics JMX: " + e.getMessage(), false);
+        }
+        
+        System.out.println();
+    }
+    
+    /**
+     * Path max by walking both vertices up to the root (vertex 0)
+     */
+    private static int bruteForcePathMax(int[] parent, int[] parentWeight, int u, int v) {
+        java.util.Map<Integer, Integer> maxToRoot = new java.util.HashMap<>();
+        int best = PathMaxIndex.NO_PATH;
+        for (int x = u; ; x = parent[x]) {
+            maxToRoot.put(x, best);
+            if (x == 0) break;
+            best = Math.max(best, parentWeight[x]);
+        }
+        best = PathMaxIndex.NO_PATH;
+        for (int x = v; ; x = parent[x]) {
+            if (maxToRoot.containsKey(x)) {
+                return Math.max(best, maxToRoot.get(x));
+            }
+            best = Math.max(best, parentWeight[x]);
+        }
+    }
+    
     /**
      * Test a graph with both algorithms
      */
@@ -226,6 +2070,41 @@ public class MSTTest {
         return g;
     }
     
+    private static Graph createRandomGraph(int vertices, int extraEdges, long seed) {
+        java.util.Random random = new java.util.Random(seed);
+        Graph g = new Graph();
+        for (int v = 1; v < vertices; v++) {
+            g.addEdge("V" + random.nextInt(v), "V" + v, random.nextInt(100));
+        }
+        for (int i = 0; i < extraEdges; i++) {
+            g.addEdge("V" + random.nextInt(vertices), "V" + random.nextInt(vertices), random.nextInt(100));
+        }
+        return g;
+    }
+    
+    /**
+     * Input document with the given graphs, ids from 1, one graph per line
+     */
+    private static String toJSON(Graph... graphs) {
+        StringBuilder json = new StringBuilder("{\"graphs\": [\n");
+        for (int id = 1; id <= graphs.length; id++) {
+            json.append(id == 1 ? "" : ",\n").append("{\"id\": ").append(id).append(", \"nodes\": [");
+            int k = 0;
+            for (String vertex : graphs[id - 1].getVertexView()) {
+                json.append(k++ == 0 ? "" : ", ").append('"').append(vertex).append('"');
+            }
+            json.append("], \"edges\": [");
+            k = 0;
+            for (Edge edge : graphs[id - 1].getEdgeView()) {
+                json.append(k++ == 0 ? "" : ",").append("{\"from\": \"").append(edge.getFrom())
+                    .append("\", \"to\": \"").append(edge.getTo())
+                    .append("\", \"weight\": ").append(edge.getWeight()).append("}");
+            }
+            json.append("]}");
+        }
+        return json.append("\n]}\n").toString();
+    }
+    
     private static Graph createLargeGraph(int size) {
         Graph g = new Graph();
         for (int i = 0; i < size - 1; i++) {
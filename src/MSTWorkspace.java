@@ -0,0 +1,265 @@
+import java.util.*;
+
+/**
+ * Reusable scratch space for running Prim and Kruskal on many small graphs
+ * Holds growable primitive arrays for the binary heap, union-find, sort keys
+ * and visited marks, plus a vertex-name-to-id map. Arrays only grow, and
+ * beginGraph resets the state in O(vertices touched by the previous graph),
+ * so a batch of thousands of graphs allocates almost nothing per graph.
+ *
+ * A workspace is not thread-safe; use forCurrentThread() to get one per thread.
+ *
+ * @author Almas
+ */
+public class MSTWorkspace {
+    private static final ThreadLocal<MSTWorkspace> CURRENT = ThreadLocal.withInitial(MSTWorkspace::new);
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Vertex name -> dense id (open addressing, cleared via the id list)
+    private String[] mapKeys = new String[INITIAL_CAPACITY * 2];
+    private int[] mapValues = new int[INITIAL_CAPACITY * 2];
+    private int[] slotOfId = new int[INITIAL_CAPACITY];
+    private int vertexCount;
+
+    // Union-find
+    private int[] parent = new int[INITIAL_CAPACITY];
+    private byte[] rank = new byte[INITIAL_CAPACITY];
+
+    // Visited marks: vertex is visited when mark == stamp
+    private int[] mark = new int[INITIAL_CAPACITY];
+    private int stamp;
+
+    // Binary min-heap of (weight << 32 | slot), slot indexes heapEdges
+    private long[] heap = new long[INITIAL_CAPACITY];
+    private Edge[] heapEdges = new Edge[INITIAL_CAPACITY];
+    private int heapSize;
+    private int heapSlots;
+
+    // Kruskal sort keys
+    private long[] sortKeys = new long[INITIAL_CAPACITY];
+
+    /**
+     * Get the workspace of the calling thread
+     * @return thread-local workspace
+     */
+    public static MSTWorkspace forCurrentThread() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Reset for a new graph, clearing only what the previous graph touched
+     * @param expectedVertices Number of vertices of the new graph
+     */
+    public void beginGraph(int expectedVertices) {
+        for (int id = 0; id < vertexCount; id++) {
+            mapKeys[slotOfId[id]] = null;
+        }
+        vertexCount = 0;
+
+        if (mapKeys.length < expectedVertices * 2) {
+            int length = Integer.highestOneBit(Math.max(1, expectedVertices * 4 - 1)) << 1;
+            mapKeys = new String[length];
+            mapValues = new int[length];
+        }
+        if (slotOfId.length < expectedVertices) {
+            int capacity = grow(slotOfId.length, expectedVertices);
+            slotOfId = new int[capacity];
+            parent = new int[capacity];
+            rank = new byte[capacity];
+            mark = new int[capacity];
+            stamp = 0;
+        }
+
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+
+        // Drop edge references so old graphs can be collected
+        Arrays.fill(heapEdges, 0, heapSlots, null);
+        heapSize = 0;
+        heapSlots = 0;
+    }
+
+    /**
+     * Get (or assign) the dense id of a vertex in the current graph
+     * @param vertex Vertex name
+     * @return id in 0..vertexCount-1
+     */
+    public int idOf(String vertex) {
+        int mask = mapKeys.length - 1;
+        int hash = vertex.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String key;
+        while ((key = mapKeys[slot]) != null) {
+            if (key == vertex || key.equals(vertex)) {
+                return mapValues[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = vertexCount++;
+        if (id == slotOfId.length) {
+            throw new IllegalStateException("More vertices than announced in beginGraph");
+        }
+        mapKeys[slot] = vertex;
+        mapValues[slot] = id;
+        slotOfId[id] = slot;
+        parent[id] = id;
+        rank[id] = 0;
+        return id;
+    }
+
+    /**
+     * Get the number of vertices seen in the current graph
+     * @return vertex count
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    // ---- Visited marks ----
+
+    /**
+     * Check if a vertex is visited in the current graph
+     * @param id Vertex id
+     * @return true if visited
+     */
+    public boolean isMarked(int id) {
+        return mark[id] == stamp;
+    }
+
+    /**
+     * Mark a vertex as visited in the current graph
+     * @param id Vertex id
+     */
+    public void setMarked(int id) {
+        mark[id] = stamp;
+    }
+
+    // ---- Union-find (path halving, union by rank) ----
+
+    /**
+     * Find the root of the set containing a vertex
+     * @param id Vertex id
+     * @return root id
+     */
+    public int find(int id) {
+        while (parent[id] != id) {
+            parent[id] = parent[parent[id]];
+            id = parent[id];
+        }
+        return id;
+    }
+
+    /**
+     * Union two vertex sets
+     * @param u First vertex id
+     * @param v Second vertex id
+     * @return true if they were different and have been merged
+     */
+    public boolean union(int u, int v) {
+        int rootU = find(u);
+        int rootV = find(v);
+        if (rootU == rootV) return false;
+        if (rank[rootU] < rank[rootV]) {
+            parent[rootU] = rootV;
+        } else if (rank[rootU] > rank[rootV]) {
+            parent[rootV] = rootU;
+        } else {
+            parent[rootV] = rootU;
+            rank[rootU]++;
+        }
+        return true;
+    }
+
+    // ---- Edge heap ----
+
+    /**
+     * Push an edge keyed by its weight (ties pop in insertion order)
+     * @param edge Edge to push
+     */
+    public void push(Edge edge) {
+        if (heapSlots == heapEdges.length) {
+            heapEdges = Arrays.copyOf(heapEdges, grow(heapSlots, heapSlots + 1));
+        }
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, grow(heapSize, heapSize + 1));
+        }
+        int slot = heapSlots++;
+        heapEdges[slot] = edge;
+
+        long key = ((long) edge.getWeight() << 32) | slot;
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (heap[up] <= key) break;
+            heap[i] = heap[up];
+            i = up;
+        }
+        heap[i] = key;
+    }
+
+    /**
+     * Pop the lightest edge
+     * @return edge, or null if the heap is empty
+     */
+    public Edge pop() {
+        if (heapSize == 0) return null;
+        long top = heap[0];
+        long last = heap[--heapSize];
+
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+
+        int slot = (int) top;
+        Edge edge = heapEdges[slot];
+        heapEdges[slot] = null;
+        return edge;
+    }
+
+    /**
+     * Check if the edge heap is empty
+     * @return true if empty
+     */
+    public boolean isHeapEmpty() {
+        return heapSize == 0;
+    }
+
+    /**
+     * Get the number of edges in the heap
+     * @return heap size
+     */
+    public int getHeapSize() {
+        return heapSize;
+    }
+
+    // ---- Sort keys ----
+
+    /**
+     * Get a key array with room for at least n entries
+     * @param n Required length
+     * @return reusable array (contents undefined)
+     */
+    public long[] sortKeys(int n) {
+        if (sortKeys.length < n) {
+            sortKeys = new long[grow(sortKeys.length, n)];
+        }
+        return sortKeys;
+    }
+
+    /**
+     * New capacity: at least needed, growing by half to amortize
+     */
+    private static int grow(int current, int needed) {
+        return Math.max(needed, current + (current >> 1));
+    }
+}
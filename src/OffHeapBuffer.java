@@ -0,0 +1,200 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Off-heap memory addressed by long byte offsets
+ * Backed by a list of direct ByteBuffers (or file mappings) of up to 1 GiB
+ * each, so a buffer can be far larger than 2^31 bytes and its contents are
+ * invisible to the garbage collector. Ints and longs must be stored at
+ * offsets aligned to their size; then no value straddles two chunks.
+ *
+ * Direct memory counts against -XX:MaxDirectMemorySize and is released when
+ * the buffer becomes unreachable; file-backed buffers only use page cache.
+ *
+ * @author Almas
+ */
+public final class OffHeapBuffer implements Closeable {
+    static final int DEFAULT_CHUNK_BYTES = 1 << 30;
+
+    private final ByteBuffer[] chunks;
+    private final int chunkShift;
+    private final long chunkMask;
+    private final long byteSize;
+    private final Path file;
+    private final boolean deleteOnClose;
+
+    private OffHeapBuffer(ByteBuffer[] chunks, int chunkBytes, long byteSize, Path file, boolean deleteOnClose) {
+        this.chunks = chunks;
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkBytes);
+        this.chunkMask = chunkBytes - 1;
+        this.byteSize = byteSize;
+        this.file = file;
+        this.deleteOnClose = deleteOnClose;
+    }
+
+    /**
+     * Allocate zeroed direct memory
+     * @param bytes Size in bytes
+     * @return buffer
+     */
+    public static OffHeapBuffer allocate(long bytes) {
+        return allocate(bytes, DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Allocate zeroed direct memory in chunks of the given size (a power of two, at least 8)
+     */
+    static OffHeapBuffer allocate(long bytes, int chunkBytes) {
+        checkChunkBytes(chunkBytes);
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(bytes, chunkBytes)];
+        for (int c = 0; c < chunks.length; c++) {
+            long remaining = bytes - (long) c * chunkBytes;
+            chunks[c] = ByteBuffer.allocateDirect((int) Math.min(chunkBytes, remaining))
+                                  .order(ByteOrder.nativeOrder());
+        }
+        return new OffHeapBuffer(chunks, chunkBytes, bytes, null, false);
+    }
+
+    /**
+     * Map a file into memory, creating or extending it to the given size
+     * @param file File to map (read-write)
+     * @param bytes Size in bytes
+     * @return buffer whose writes go to the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static OffHeapBuffer map(Path file, long bytes) throws IOException {
+        return map(file, bytes, DEFAULT_CHUNK_BYTES, false);
+    }
+
+    /**
+     * Map a new temporary file in a directory, deleted again on close()
+     * @param directory Directory for the file
+     * @param bytes Size in bytes
+     * @return buffer
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static OffHeapBuffer mapTemporary(Path directory, long bytes) throws IOException {
+        Path file = Files.createTempFile(directory, "offheap", ".bin");
+        return map(file, bytes, DEFAULT_CHUNK_BYTES, true);
+    }
+
+    static OffHeapBuffer map(Path file, long bytes, int chunkBytes, boolean deleteOnClose) throws IOException {
+        checkChunkBytes(chunkBytes);
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(bytes, chunkBytes)];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int c = 0; c < chunks.length; c++) {
+                long position = (long) c * chunkBytes;
+                long length = Math.min(chunkBytes, bytes - position);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, position, length)
+                                   .order(ByteOrder.nativeOrder());
+            }
+        }
+        return new OffHeapBuffer(chunks, chunkBytes, bytes, file, deleteOnClose);
+    }
+
+    private static void checkChunkBytes(int chunkBytes) {
+        if (chunkBytes < 8 || Integer.bitCount(chunkBytes) != 1) {
+            throw new IllegalArgumentException("Chunk size must be a power of two >= 8: " + chunkBytes);
+        }
+    }
+
+    private static int chunkCount(long bytes, int chunkBytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Negative size: " + bytes);
+        }
+        long count = (bytes + chunkBytes - 1) / chunkBytes;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Buffer too large: " + bytes + " bytes");
+        }
+        return (int) count;
+    }
+
+    /**
+     * Read an int
+     * @param offset Byte offset (multiple of 4)
+     * @return value
+     */
+    public int getInt(long offset) {
+        return chunks[(int) (offset >>> chunkShift)].getInt((int) (offset & chunkMask));
+    }
+
+    /**
+     * Write an int
+     * @param offset Byte offset (multiple of 4)
+     * @param value Value
+     */
+    public void putInt(long offset, int value) {
+        chunks[(int) (offset >>> chunkShift)].putInt((int) (offset & chunkMask), value);
+    }
+
+    /**
+     * Read a long
+     * @param offset Byte offset (multiple of 8)
+     * @return value
+     */
+    public long getLong(long offset) {
+        return chunks[(int) (offset >>> chunkShift)].getLong((int) (offset & chunkMask));
+    }
+
+    /**
+     * Write a long
+     * @param offset Byte offset (multiple of 8)
+     * @param value Value
+     */
+    public void putLong(long offset, long value) {
+        chunks[(int) (offset >>> chunkShift)].putLong((int) (offset & chunkMask), value);
+    }
+
+    /**
+     * Get the size in bytes
+     * @return size
+     */
+    public long byteSize() {
+        return byteSize;
+    }
+
+    /**
+     * Check if the buffer is backed by a file
+     * @return true if mapped
+     */
+    public boolean isMapped() {
+        return file != null;
+    }
+
+    /**
+     * Write changes of a file-backed buffer to storage (no-op for direct memory)
+     */
+    public void force() {
+        for (ByteBuffer chunk : chunks) {
+            if (chunk instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) chunk).force();
+            }
+        }
+    }
+
+    /**
+     * Flush a file-backed buffer and drop the references to its memory
+     * (released by the GC); temporary files are deleted
+     * @throws IOException if a temporary file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        if (!deleteOnClose) {
+            force();
+        }
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = null;
+        }
+        if (deleteOnClose) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
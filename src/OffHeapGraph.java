@@ -0,0 +1,380 @@
+import java.io.*;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Weighted undirected graph stored off the Java heap
+ * Counterpart of LongWeightedGraph for graphs too large for heap arrays:
+ * edges are (from, to, weight) int records in an OffHeapBuffer addressed by
+ * long edge ids, and the CSR adjacency (long start offsets, long edge ids)
+ * is off-heap too, so the edge count is not limited to 2^31 and the
+ * garbage collector never scans the graph. Vertices are dense int ids
+ * (named "V{id}" in output). Storage is direct memory, or memory-mapped
+ * files in a directory for graphs larger than RAM.
+ *
+ * A mapped graph keeps its edges in edges.bin (native byte order) and, once
+ * closed, its vertex and edge counts in header.bin, so open() can load it
+ * again on the same platform.
+ *
+ * OffHeapKruskalAlgorithm and OffHeapPrimAlgorithm run on it directly.
+ *
+ * Benchmark: java -XX:MaxDirectMemorySize=8g OffHeapGraph [vertices] [edges] [directory]
+ *
+ * @author Almas
+ */
+public class OffHeapGraph implements Closeable {
+    private static final int EDGE_BYTES = 12; // from, to, weight
+    private static final String EDGE_FILE = "edges.bin";
+    private static final String HEADER_FILE = "header.bin";
+    private static final int HEADER_MAGIC = 0x4F484731; // "OHG1"
+
+    private final int vertexCount;
+    private final long edgeCapacity;
+    private final Path directory;
+    private final OffHeapBuffer edges;
+    private long edgeCount;
+
+    // Adjacency in CSR form, rebuilt after edges are added
+    private OffHeapBuffer adjacencyStart;
+    private OffHeapBuffer adjacencyEdge;
+
+    /**
+     * Constructor - direct memory storage
+     * @param vertexCount Number of vertices (ids 0..vertexCount-1)
+     * @param edgeCapacity Maximum number of edges
+     */
+    public OffHeapGraph(int vertexCount, long edgeCapacity) {
+        this.vertexCount = vertexCount;
+        this.edgeCapacity = edgeCapacity;
+        this.directory = null;
+        this.edges = OffHeapBuffer.allocate(edgeCapacity * EDGE_BYTES);
+    }
+
+    private OffHeapGraph(int vertexCount, long edgeCapacity, Path directory) throws IOException {
+        this.vertexCount = vertexCount;
+        this.edgeCapacity = edgeCapacity;
+        this.directory = directory;
+        this.edges = OffHeapBuffer.map(directory.resolve(EDGE_FILE), edgeCapacity * EDGE_BYTES);
+    }
+
+    /**
+     * Create an empty graph stored in memory-mapped files (edges.bin plus
+     * temporary adjacency and sort files) in a directory; a graph already
+     * stored there is replaced
+     * @param directory Directory for the files (created if needed)
+     * @param vertexCount Number of vertices (ids 0..vertexCount-1)
+     * @param edgeCapacity Maximum number of edges
+     * @return graph
+     * @throws IOException if the files cannot be created
+     */
+    public static OffHeapGraph mapped(Path directory, int vertexCount, long edgeCapacity) throws IOException {
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(HEADER_FILE)); // Stale until this graph is closed
+        return new OffHeapGraph(vertexCount, edgeCapacity, directory);
+    }
+
+    /**
+     * Open a mapped graph written by an earlier close()
+     * @param directory Directory holding edges.bin and header.bin
+     * @return graph with the stored edges; more can be added up to its capacity
+     * @throws IOException if the header is missing or invalid, or was written
+     *                     with a different byte order
+     */
+    public static OffHeapGraph open(Path directory) throws IOException {
+        Path header = directory.resolve(HEADER_FILE);
+        if (!Files.exists(header)) {
+            throw new FileNotFoundException("No graph header (graph not closed?): " + header);
+        }
+        int vertexCount;
+        long edgeCount;
+        long edgeCapacity;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(header)))) {
+            if (in.readInt() != HEADER_MAGIC) {
+                throw new IOException("Not an off-heap graph header: " + header);
+            }
+            boolean bigEndian = in.readBoolean();
+            if (bigEndian != (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN)) {
+                throw new IOException("Graph was written with the other byte order: " + directory);
+            }
+            vertexCount = in.readInt();
+            edgeCount = in.readLong();
+            edgeCapacity = in.readLong();
+        }
+        if (vertexCount < 0 || edgeCount < 0 || edgeCount > edgeCapacity
+                || Files.size(directory.resolve(EDGE_FILE)) < edgeCapacity * EDGE_BYTES) {
+            throw new IOException("Graph header does not match " + directory.resolve(EDGE_FILE));
+        }
+        OffHeapGraph graph = new OffHeapGraph(vertexCount, edgeCapacity, directory);
+        graph.edgeCount = edgeCount;
+        return graph;
+    }
+
+    /**
+     * Copy a Graph (vertex ids follow the graph's vertex order, edge ids its edge order)
+     * @param graph Input graph
+     * @return off-heap graph in direct memory
+     */
+    public static OffHeapGraph fromGraph(Graph graph) {
+        Map<String, Integer> ids = new HashMap<>(graph.getVertexCount() * 2);
+        for (String vertex : graph.getVertexView()) {
+            ids.put(vertex, ids.size());
+        }
+        List<Edge> edges = graph.getEdgeView();
+        OffHeapGraph result = new OffHeapGraph(ids.size(), edges.size());
+        for (Edge edge : edges) {
+            result.addEdge(ids.get(edge.getFrom()), ids.get(edge.getTo()), edge.getWeight());
+        }
+        return result;
+    }
+
+    /**
+     * Add an edge (undirected)
+     * @param from Starting vertex id
+     * @param to Ending vertex id
+     * @param weight Edge weight
+     * @return edge id
+     * @throws IllegalArgumentException if a vertex id is out of range
+     * @throws IllegalStateException if the edge capacity is used up
+     */
+    public long addEdge(int from, int to, int weight) {
+        if (from < 0 || from >= vertexCount || to < 0 || to >= vertexCount) {
+            throw new IllegalArgumentException("Vertex id out of range: " + from + ", " + to);
+        }
+        if (edgeCount == edgeCapacity) {
+            throw new IllegalStateException("Edge capacity reached: " + edgeCapacity);
+        }
+        long offset = edgeCount * EDGE_BYTES;
+        edges.putInt(offset, from);
+        edges.putInt(offset + 4, to);
+        edges.putInt(offset + 8, weight);
+        dropAdjacency();
+        return edgeCount++;
+    }
+
+    /**
+     * Get the number of vertices
+     * @return vertex count
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Get the number of edges
+     * @return edge count
+     */
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Get the starting vertex of an edge
+     * @param edge Edge id
+     * @return vertex id
+     */
+    public int getFrom(long edge) {
+        return edges.getInt(edge * EDGE_BYTES);
+    }
+
+    /**
+     * Get the ending vertex of an edge
+     * @param edge Edge id
+     * @return vertex id
+     */
+    public int getTo(long edge) {
+        return edges.getInt(edge * EDGE_BYTES + 4);
+    }
+
+    /**
+     * Get the weight of an edge
+     * @param edge Edge id
+     * @return weight
+     */
+    public int getWeight(long edge) {
+        return edges.getInt(edge * EDGE_BYTES + 8);
+    }
+
+    /**
+     * Get the other endpoint of an edge
+     * @param edge Edge id
+     * @param vertex One endpoint
+     * @return the other endpoint
+     */
+    public int opposite(long edge, int vertex) {
+        int from = getFrom(edge);
+        return from == vertex ? getTo(edge) : from;
+    }
+
+    /**
+     * Get the position of a vertex's first adjacency entry (builds the adjacency if needed)
+     * @param vertex Vertex id (vertexCount gives the end of the last vertex)
+     * @return adjacency position
+     */
+    public long getAdjacencyStart(int vertex) {
+        buildAdjacency();
+        return adjacencyStart.getLong((long) vertex * 8);
+    }
+
+    /**
+     * Get the edge id at an adjacency position
+     * @param position Position between getAdjacencyStart(v) and getAdjacencyStart(v + 1)
+     * @return edge id
+     */
+    public long getAdjacentEdge(long position) {
+        return adjacencyEdge.getLong(position * 8);
+    }
+
+    /**
+     * Allocate scratch memory of the same kind as the graph (mapped temporary
+     * file for file-backed graphs, direct memory otherwise)
+     * @param bytes Size in bytes
+     * @return buffer; close it when done
+     * @throws IOException if a temporary file cannot be created
+     */
+    public OffHeapBuffer allocateScratch(long bytes) throws IOException {
+        return directory != null ? OffHeapBuffer.mapTemporary(directory, bytes) : OffHeapBuffer.allocate(bytes);
+    }
+
+    /**
+     * Check if the graph is connected (breadth-first search)
+     * @return true if connected
+     */
+    public boolean isConnected() {
+        if (vertexCount == 0) {
+            return false;
+        }
+        boolean[] visited = new boolean[vertexCount];
+        int[] queue = new int[vertexCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+        visited[0] = true;
+        while (head < tail) {
+            int vertex = queue[head++];
+            long end = getAdjacencyStart(vertex + 1);
+            for (long k = getAdjacencyStart(vertex); k < end; k++) {
+                int next = opposite(getAdjacentEdge(k), vertex);
+                if (!visited[next]) {
+                    visited[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return tail == vertexCount;
+    }
+
+    /**
+     * Build the CSR adjacency: count degrees, prefix sums, then fill
+     */
+    private void buildAdjacency() {
+        if (adjacencyStart != null) {
+            return;
+        }
+        try {
+            adjacencyStart = allocateScratch(((long) vertexCount + 1) * 8);
+            adjacencyEdge = allocateScratch(Math.max(1, 2 * edgeCount) * 8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot allocate adjacency", e);
+        }
+
+        // Degrees, shifted by one so the prefix sum gives start positions
+        for (long e = 0; e < edgeCount; e++) {
+            increment(adjacencyStart, (long) getFrom(e) + 1);
+            increment(adjacencyStart, (long) getTo(e) + 1);
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            adjacencyStart.putLong((long) (v + 1) * 8,
+                adjacencyStart.getLong((long) (v + 1) * 8) + adjacencyStart.getLong((long) v * 8));
+        }
+
+        // Fill, with one write cursor per vertex (on the heap: 8 bytes per vertex)
+        long[] next = new long[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            next[v] = adjacencyStart.getLong((long) v * 8);
+        }
+        for (long e = 0; e < edgeCount; e++) {
+            adjacencyEdge.putLong(next[getFrom(e)]++ * 8, e);
+            adjacencyEdge.putLong(next[getTo(e)]++ * 8, e);
+        }
+    }
+
+    private static void increment(OffHeapBuffer buffer, long index) {
+        buffer.putLong(index * 8, buffer.getLong(index * 8) + 1);
+    }
+
+    private void dropAdjacency() {
+        if (adjacencyStart != null) {
+            OffHeapBuffer start = adjacencyStart;
+            OffHeapBuffer edge = adjacencyEdge;
+            adjacencyStart = null;
+            adjacencyEdge = null;
+            try {
+                try {
+                    start.close();
+                } finally {
+                    edge.close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot release adjacency", e);
+            }
+        }
+    }
+
+    /**
+     * Release the storage; a mapped graph flushes edges.bin and then writes
+     * header.bin, so open() can load it again
+     * @throws IOException if flushing or writing the header fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            dropAdjacency();
+        } finally {
+            edges.close();
+        }
+        if (directory != null) {
+            Path header = directory.resolve(HEADER_FILE);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(header)))) {
+                out.writeInt(HEADER_MAGIC);
+                out.writeBoolean(ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN);
+                out.writeInt(vertexCount);
+                out.writeLong(edgeCount);
+                out.writeLong(edgeCapacity);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapGraph[V=" + vertexCount + ", E=" + edgeCount
+            + (directory != null ? ", mapped in " + directory : "") + "]";
+    }
+
+    /**
+     * Generate a connected random graph off-heap and run both algorithms on it
+     */
+    public static void main(String[] args) throws Exception {
+        int n = args.length >= 1 ? Integer.parseInt(args[0]) : 1_000_000;
+        long m = args.length >= 2 ? Long.parseLong(args[1]) : 10_000_000L;
+        Path directory = args.length >= 3 ? Path.of(args[2]) : null;
+
+        try (OffHeapGraph graph = directory != null ? mapped(directory, n, m) : new OffHeapGraph(n, m)) {
+            System.out.printf("Generating random graph: %d vertices, %d edges (%s)%n", n, m,
+                              directory != null ? "mapped in " + directory : "direct memory");
+            new GraphGenerator(1L).randomMultigraph(n, m, true, graph::addEdge);
+
+            OffHeapKruskalAlgorithm kruskal = new OffHeapKruskalAlgorithm(graph);
+            kruskal.findMST();
+            System.out.printf("Kruskal: cost=%d  time=%d ms%n", kruskal.getTotalCost(), kruskal.getExecutionTime());
+
+            OffHeapPrimAlgorithm prim = new OffHeapPrimAlgorithm(graph);
+            prim.findMST();
+            System.out.printf("Prim:    cost=%d  time=%d ms%n", prim.getTotalCost(), prim.getExecutionTime());
+
+            Runtime runtime = Runtime.getRuntime();
+            System.out.printf("Heap used: %d MB%n", (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Kruskal's Algorithm on an OffHeapGraph
+ * Edge ids are ordered by weight with a stable LSD radix sort (two 16-bit
+ * digits) into off-heap scratch buffers of the graph's storage kind, so
+ * neither the edges nor their order ever live on the heap; only the
+ * union-find (5 bytes per vertex) and the MST (8 bytes per tree edge) do.
+ * Ties keep edge id order, like KruskalAlgorithm's stable sort.
+ *
+ * @author Almas
+ */
+public class OffHeapKruskalAlgorithm {
+    private static final int DIGIT_BITS = 16;
+    private static final int BUCKETS = 1 << DIGIT_BITS;
+
+    private final OffHeapGraph graph;
+    private long[] mstEdges;
+    private int mstEdgeCount;
+    private long totalCost;
+    private long operationCount;
+    private long executionTime;
+
+    /**
+     * Constructor
+     * @param graph Input graph
+     */
+    public OffHeapKruskalAlgorithm(OffHeapGraph graph) {
+        this.graph = graph;
+        this.mstEdges = new long[0];
+    }
+
+    /**
+     * Find the Minimum Spanning Tree using Kruskal's algorithm
+     * @return true if MST found, false if graph is disconnected
+     * @throws UncheckedIOException if file-backed scratch space cannot be created
+     */
+    public boolean findMST() {
+        long startTime = System.nanoTime();
+
+        int n = graph.getVertexCount();
+        if (n == 0) {
+            executionTime = 0;
+            return false;
+        }
+
+        // Reset
+        mstEdges = new long[n - 1];
+        mstEdgeCount = 0;
+        totalCost = 0;
+        operationCount = 0;
+
+        IntUnionFind uf = new IntUnionFind(n);
+        operationCount++; // Initialize UF
+
+        long m = graph.getEdgeCount();
+        try (OffHeapBuffer first = graph.allocateScratch(Math.max(1, m) * 8);
+             OffHeapBuffer second = graph.allocateScratch(Math.max(1, m) * 8)) {
+            OffHeapBuffer order = sortByWeight(m, first, second);
+            operationCount += m * (int) (Math.log(Math.max(m, 1)) / Math.log(2)); // Sorting complexity
+
+            // Process edges in order of weight
+            for (long k = 0; k < m && mstEdgeCount < n - 1; k++) {
+                long edge = order == null ? k : order.getLong(k * 8);
+                operationCount++; // Processing edge
+
+                if (uf.union(graph.getFrom(edge), graph.getTo(edge))) {
+                    operationCount += 4; // Find and union operations
+                    mstEdges[mstEdgeCount++] = edge;
+                    totalCost += graph.getWeight(edge);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot allocate sort space", e);
+        }
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000; // Convert to milliseconds
+        return mstEdgeCount == n - 1;
+    }
+
+    /**
+     * Stable LSD radix sort of edge ids by weight (sign bit flipped so negatives sort first)
+     * A digit that is the same for every edge is skipped
+     *
+     * @return buffer holding the sorted ids, or null if the id order is already sorted
+     */
+    private OffHeapBuffer sortByWeight(long m, OffHeapBuffer first, OffHeapBuffer second) {
+        OffHeapBuffer source = null; // null = identity order
+        OffHeapBuffer target = first;
+        for (int shift = 0; shift < 32; shift += DIGIT_BITS) {
+            long[] counts = new long[BUCKETS + 1];
+            for (long e = 0; e < m; e++) {
+                counts[digit(graph.getWeight(e), shift) + 1]++;
+            }
+            if (isUniform(counts, m)) {
+                continue;
+            }
+            for (int b = 0; b < BUCKETS; b++) {
+                counts[b + 1] += counts[b];
+            }
+            for (long k = 0; k < m; k++) {
+                long edge = source == null ? k : source.getLong(k * 8);
+                int bucket = digit(graph.getWeight(edge), shift);
+                target.putLong(counts[bucket]++ * 8, edge);
+            }
+            source = target;
+            target = target == first ? second : first;
+        }
+        return source;
+    }
+
+    private static int digit(int weight, int shift) {
+        return ((weight ^ Integer.MIN_VALUE) >>> shift) & (BUCKETS - 1);
+    }
+
+    private static boolean isUniform(long[] counts, long m) {
+        for (long count : counts) {
+            if (count == m) return true;
+            if (count != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the ids of the MST edges in selection order
+     * @return edge ids into the graph
+     */
+    public long[] getMSTEdges() {
+        return Arrays.copyOf(mstEdges, mstEdgeCount);
+    }
+
+    /**
+     * Get the number of edges in the MST
+     * @return MST edge count
+     */
+    public int getMSTEdgeCount() {
+        return mstEdgeCount;
+    }
+
+    /**
+     * Get the total cost of MST
+     * @return total cost
+     */
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Get the number of operations performed
+     * @return operation count
+     */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Get execution time in milliseconds
+     * @return execution time
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Get formatted results string
+     * @return results string
+     */
+    public String getResultsString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Kruskal's Algorithm Results (off-heap):\n");
+        sb.append("Total Cost: ").append(totalCost).append("\n");
+        sb.append("Number of Edges: ").append(mstEdgeCount).append("\n");
+        sb.append("Operations: ").append(operationCount).append("\n");
+        sb.append("Execution Time: ").append(executionTime).append(" ms\n");
+        sb.append("MST Edges:\n");
+        for (int i = 0; i < mstEdgeCount; i++) {
+            long edge = mstEdges[i];
+            sb.append("  ").append(GraphGenerator.vertexName(graph.getFrom(edge)))
+              .append(" --").append(graph.getWeight(edge)).append("-- ")
+              .append(GraphGenerator.vertexName(graph.getTo(edge))).append("\n");
+        }
+        return sb.toString();
+    }
+}
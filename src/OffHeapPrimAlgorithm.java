@@ -0,0 +1,225 @@
+import java.util.*;
+
+/**
+ * Prim's Algorithm on an OffHeapGraph
+ * Walks the graph's off-heap CSR adjacency directly. Instead of a heap of
+ * edges (which could outgrow a heap array), it keeps one entry per vertex:
+ * the lightest known edge into the tree, in an indexed binary heap with
+ * decrease-key. Heap memory is O(V) whatever the edge count.
+ * Ties are broken by edge id, so results are deterministic.
+ *
+ * @author Almas
+ */
+public class OffHeapPrimAlgorithm {
+    private static final long NO_EDGE = -1L;
+
+    private final OffHeapGraph graph;
+    private long[] mstEdges;
+    private int mstEdgeCount;
+    private long totalCost;
+    private long operationCount;
+    private long executionTime;
+
+    // Indexed heap of vertices keyed by (bestWeight, bestEdge)
+    private int[] heap;
+    private int[] heapPosition;
+    private int heapSize;
+    private int[] bestWeight;
+    private long[] bestEdge;
+
+    /**
+     * Constructor
+     * @param graph Input graph
+     */
+    public OffHeapPrimAlgorithm(OffHeapGraph graph) {
+        this.graph = graph;
+        this.mstEdges = new long[0];
+    }
+
+    /**
+     * Find the Minimum Spanning Tree using Prim's algorithm
+     * @return true if MST found, false if graph is disconnected
+     */
+    public boolean findMST() {
+        long startTime = System.nanoTime();
+
+        int n = graph.getVertexCount();
+        if (n == 0) {
+            executionTime = 0;
+            return false;
+        }
+
+        // Reset
+        mstEdges = new long[n - 1];
+        mstEdgeCount = 0;
+        totalCost = 0;
+        operationCount = 0;
+        heap = new int[n];
+        heapPosition = new int[n];
+        Arrays.fill(heapPosition, -1);
+        heapSize = 0;
+        bestWeight = new int[n];
+        bestEdge = new long[n];
+        Arrays.fill(bestEdge, NO_EDGE);
+        boolean[] inMST = new boolean[n];
+
+        // Start from vertex 0
+        int inMSTCount = 0;
+        int vertex = 0;
+        while (true) {
+            inMST[vertex] = true;
+            inMSTCount++;
+            operationCount++; // Adding vertex to MST
+
+            // Offer every edge of the new vertex to its other endpoint
+            long end = graph.getAdjacencyStart(vertex + 1);
+            for (long k = graph.getAdjacencyStart(vertex); k < end; k++) {
+                long edge = graph.getAdjacentEdge(k);
+                int next = graph.opposite(edge, vertex);
+                operationCount++; // Checking edge
+                if (!inMST[next] && (bestEdge[next] == NO_EDGE
+                        || before(graph.getWeight(edge), edge, bestWeight[next], bestEdge[next]))) {
+                    bestWeight[next] = graph.getWeight(edge);
+                    bestEdge[next] = edge;
+                    offer(next);
+                    operationCount++; // Decrease key
+                }
+            }
+
+            if (heapSize == 0 || inMSTCount == n) {
+                break;
+            }
+
+            // Closest vertex joins the tree through its best edge
+            vertex = poll();
+            operationCount++; // Polling from PQ
+            mstEdges[mstEdgeCount++] = bestEdge[vertex];
+            totalCost += bestWeight[vertex];
+        }
+
+        // Release the per-vertex arrays between runs
+        heap = null;
+        heapPosition = null;
+        bestWeight = null;
+        bestEdge = null;
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000; // Convert to milliseconds
+        return inMSTCount == n;
+    }
+
+    /**
+     * Heap order: by weight, ties by edge id
+     */
+    private static boolean before(int weight, long edge, int otherWeight, long otherEdge) {
+        return weight < otherWeight || (weight == otherWeight && edge < otherEdge);
+    }
+
+    private boolean before(int a, int b) {
+        return before(bestWeight[a], bestEdge[a], bestWeight[b], bestEdge[b]);
+    }
+
+    /**
+     * Insert a vertex, or move it up after its key decreased
+     */
+    private void offer(int vertex) {
+        int i = heapPosition[vertex];
+        if (i < 0) {
+            i = heapSize++;
+        }
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (!before(vertex, heap[up])) break;
+            heap[i] = heap[up];
+            heapPosition[heap[i]] = i;
+            i = up;
+        }
+        heap[i] = vertex;
+        heapPosition[vertex] = i;
+    }
+
+    private int poll() {
+        int top = heap[0];
+        heapPosition[top] = -1;
+        int last = heap[--heapSize];
+        if (heapSize == 0) {
+            return top;
+        }
+
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], last)) break;
+            heap[i] = heap[child];
+            heapPosition[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = last;
+        heapPosition[last] = i;
+        return top;
+    }
+
+    /**
+     * Get the ids of the MST edges in selection order
+     * @return edge ids into the graph
+     */
+    public long[] getMSTEdges() {
+        return Arrays.copyOf(mstEdges, mstEdgeCount);
+    }
+
+    /**
+     * Get the number of edges in the MST
+     * @return MST edge count
+     */
+    public int getMSTEdgeCount() {
+        return mstEdgeCount;
+    }
+
+    /**
+     * Get the total cost of MST
+     * @return total cost
+     */
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Get the number of operations performed
+     * @return operation count
+     */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Get execution time in milliseconds
+     * @return execution time
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Get formatted results string
+     * @return results string
+     */
+    public String getResultsString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Prim's Algorithm Results (off-heap):\n");
+        sb.append("Total Cost: ").append(totalCost).append("\n");
+        sb.append("Number of Edges: ").append(mstEdgeCount).append("\n");
+        sb.append("Operations: ").append(operationCount).append("\n");
+        sb.append("Execution Time: ").append(executionTime).append(" ms\n");
+        sb.append("MST Edges:\n");
+        for (int i = 0; i < mstEdgeCount; i++) {
+            long edge = mstEdges[i];
+            sb.append("  ").append(GraphGenerator.vertexName(graph.getFrom(edge)))
+              .append(" --").append(graph.getWeight(edge)).append("-- ")
+              .append(GraphGenerator.vertexName(graph.getTo(edge))).append("\n");
+        }
+        return sb.toString();
+    }
+}
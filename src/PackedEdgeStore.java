@@ -0,0 +1,262 @@
+import java.util.*;
+
+/**
+ * Compact edge storage: one long (two 32-bit vertex ids) and one int
+ * weight per edge, about 12 bytes instead of ~100 for an Edge object
+ * plus its reversed adjacency copy. Vertex ids come from a SymbolTable;
+ * a reusable View gives Edge-style accessors without allocating.
+ *
+ * @author Almas
+ */
+public class PackedEdgeStore {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final SymbolTable symbols;
+    private long[] endpoints;  // (from << 32) | to
+    private int[] weights;
+    private int size;
+
+    /**
+     * Constructor
+     * @param symbols Symbol table that names the vertex ids
+     */
+    public PackedEdgeStore(SymbolTable symbols) {
+        this(symbols, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with capacity hint
+     * @param symbols Symbol table that names the vertex ids
+     * @param capacity Expected number of edges
+     */
+    public PackedEdgeStore(SymbolTable symbols, int capacity) {
+        this.symbols = symbols;
+        this.endpoints = new long[Math.max(1, capacity)];
+        this.weights = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * Pack all edges of a graph
+     * @param graph Input graph
+     * @param symbols Symbol table used to intern vertex names
+     * @return packed store holding the graph's edges
+     */
+    public static PackedEdgeStore fromGraph(Graph graph, SymbolTable symbols) {
+        PackedEdgeStore store = new PackedEdgeStore(symbols, graph.getEdgeCount());
+        for (Edge edge : graph.getEdges()) {
+            store.addEdge(symbols.intern(edge.getFrom()), symbols.intern(edge.getTo()), edge.getWeight());
+        }
+        return store;
+    }
+
+    /**
+     * Add an edge by vertex ids
+     * @param from Starting vertex id
+     * @param to Ending vertex id
+     * @param weight Edge weight
+     */
+    public void addEdge(int from, int to, int weight) {
+        if (size == weights.length) {
+            int newCapacity = size + (size >> 1) + 1;
+            endpoints = Arrays.copyOf(endpoints, newCapacity);
+            weights = Arrays.copyOf(weights, newCapacity);
+        }
+        endpoints[size] = pack(from, to);
+        weights[size] = weight;
+        size++;
+    }
+
+    /**
+     * Add an edge by vertex names
+     * @param from Starting vertex
+     * @param to Ending vertex
+     * @param weight Edge weight
+     */
+    public void addEdge(String from, String to, int weight) {
+        addEdge(symbols.intern(from), symbols.intern(to), weight);
+    }
+
+    /**
+     * Pack two vertex ids into one long
+     * @param from Starting vertex id
+     * @param to Ending vertex id
+     * @return packed endpoints
+     */
+    public static long pack(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Get the start vertex id of an edge
+     * @param i Edge index
+     * @return vertex id
+     */
+    public int getFrom(int i) {
+        return (int) (endpoints[i] >>> 32);
+    }
+
+    /**
+     * Get the end vertex id of an edge
+     * @param i Edge index
+     * @return vertex id
+     */
+    public int getTo(int i) {
+        return (int) endpoints[i];
+    }
+
+    /**
+     * Get the packed endpoints of an edge
+     * @param i Edge index
+     * @return (from << 32) | to
+     */
+    public long getEndpoints(int i) {
+        return endpoints[i];
+    }
+
+    /**
+     * Get the weight of an edge
+     * @param i Edge index
+     * @return weight
+     */
+    public int getWeight(int i) {
+        return weights[i];
+    }
+
+    /**
+     * Get the number of edges
+     * @return edge count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the symbol table naming the vertex ids
+     * @return symbol table
+     */
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Sort edges by weight in place (stable for equal weights)
+     */
+    public void sortByWeight() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) weights[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        long[] sortedEndpoints = new long[endpoints.length];
+        int[] sortedWeights = new int[weights.length];
+        for (int k = 0; k < size; k++) {
+            int i = (int) keys[k];
+            sortedEndpoints[k] = endpoints[i];
+            sortedWeights[k] = weights[i];
+        }
+        endpoints = sortedEndpoints;
+        weights = sortedWeights;
+    }
+
+    /**
+     * Release unused capacity
+     */
+    public void trimToSize() {
+        if (size < weights.length) {
+            endpoints = Arrays.copyOf(endpoints, Math.max(1, size));
+            weights = Arrays.copyOf(weights, Math.max(1, size));
+        }
+    }
+
+    /**
+     * Materialize one edge as an Edge object
+     * @param i Edge index
+     * @return new Edge
+     */
+    public Edge toEdge(int i) {
+        return new Edge(symbols.getName(getFrom(i)), symbols.getName(getTo(i)), weights[i]);
+    }
+
+    /**
+     * Materialize all edges as Edge objects
+     * @return List of edges
+     */
+    public List<Edge> toEdges() {
+        List<Edge> edges = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            edges.add(toEdge(i));
+        }
+        return edges;
+    }
+
+    /**
+     * Create a reusable flyweight view positioned on the first edge
+     * @return view
+     */
+    public View view() {
+        return new View();
+    }
+
+    /**
+     * Flyweight with the same accessors as Edge, pointing at one packed edge
+     * Move it with moveTo instead of allocating an Edge per element
+     */
+    public class View {
+        private int index;
+
+        /**
+         * Point the view at another edge
+         * @param i Edge index
+         * @return this view
+         */
+        public View moveTo(int i) {
+            if (i < 0 || i >= size) {
+                throw new IndexOutOfBoundsException("Edge index: " + i);
+            }
+            index = i;
+            return this;
+        }
+
+        /**
+         * Get the current edge index
+         * @return index
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Get the starting vertex
+         * @return from vertex
+         */
+        public String getFrom() {
+            return symbols.getName(PackedEdgeStore.this.getFrom(index));
+        }
+
+        /**
+         * Get the ending vertex
+         * @return to vertex
+         */
+        public String getTo() {
+            return symbols.getName(PackedEdgeStore.this.getTo(index));
+        }
+
+        /**
+         * Get the weight of the edge
+         * @return weight
+         */
+        public int getWeight() {
+            return weights[index];
+        }
+
+        /**
+         * String representation of the edge
+         * @return formatted edge string
+         */
+        @Override
+        public String toString() {
+            return String.format("%s --%d-- %s", getFrom(), getWeight(), getTo());
+        }
+    }
+}
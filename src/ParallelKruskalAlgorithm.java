@@ -0,0 +1,392 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Divide-and-conquer Kruskal on a fork/join pool
+ * The edge list is split into chunks; each chunk's minimum spanning forest
+ * is computed independently (sort + union-find), and sibling forests are
+ * merged pairwise up the fork/join tree. An edge dropped from its chunk's
+ * forest closes a cycle of lighter edges, so it cannot be in the MST and
+ * merging forests instead of edges loses nothing.
+ *
+ * Forests are kept sorted by (weight, edge index), so a merge is a linear
+ * merge of two sorted lists followed by one Kruskal scan; no re-sorting.
+ * The same order is what KruskalAlgorithm's stable sort produces, so the
+ * resulting tree, and the order of its edges, match KruskalAlgorithm's.
+ *
+ * Each thread taking part in a run reuses one union-find scratch array that
+ * is reset in O(1) per task by bumping an epoch, so tasks do not allocate
+ * per vertex. The scratch belongs to the findMST call and is released when
+ * it returns, so no per-vertex memory stays pinned on the pool's threads.
+ *
+ * Benchmark: java -Xmx4g ParallelKruskalAlgorithm [vertices] [edges] [seed]
+ *
+ * @author Almas
+ */
+public class ParallelKruskalAlgorithm {
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Graph graph;
+    private final int vertexCount;
+    private final int edgeCount;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private int[] from;
+    private int[] to;
+    private int[] weight;
+    private Map<Thread, Scratch> scratch; // per thread, only during findMST
+
+    private int[] mstEdgeIndices;
+    private List<Edge> mstEdges;
+    private int totalCost;
+    private int operationCount;
+    private long executionTime;
+
+    /**
+     * Constructor - uses the common fork/join pool
+     * @param graph Input graph
+     */
+    public ParallelKruskalAlgorithm(Graph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor - a few chunks per pool thread, for load balance without
+     * paying for more merges than the cores can absorb
+     * @param graph Input graph
+     * @param pool Pool to run the chunk tasks on
+     */
+    public ParallelKruskalAlgorithm(Graph graph, ForkJoinPool pool) {
+        this(graph, pool, defaultChunkSize(graph.getEdgeCount(), pool));
+    }
+
+    /**
+     * Constructor
+     * @param graph Input graph
+     * @param pool Pool to run the chunk tasks on
+     * @param chunkSize Maximum number of edges per chunk
+     */
+    public ParallelKruskalAlgorithm(Graph graph, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.graph = graph;
+        this.vertexCount = graph.getVertexCount();
+        this.edgeCount = graph.getEdgeCount();
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.mstEdgeIndices = new int[0];
+    }
+
+    /**
+     * Constructor for large graphs given as int edge arrays (arrays are not copied)
+     * @param vertexCount Number of vertices (ids 0..vertexCount-1)
+     * @param from Edge start vertex ids
+     * @param to Edge end vertex ids
+     * @param weight Edge weights
+     * @param edgeCount Number of edges to use from the arrays
+     * @param pool Pool to run the chunk tasks on
+     * @param chunkSize Maximum number of edges per chunk
+     */
+    public ParallelKruskalAlgorithm(int vertexCount, int[] from, int[] to, int[] weight, int edgeCount,
+                                    ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.graph = null;
+        this.vertexCount = vertexCount;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.edgeCount = edgeCount;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.mstEdgeIndices = new int[0];
+    }
+
+    /**
+     * Find the Minimum Spanning Tree
+     * @return true if MST found, false if graph is disconnected
+     */
+    public boolean findMST() {
+        long startTime = System.nanoTime();
+
+        if (vertexCount == 0) {
+            executionTime = 0;
+            return false;
+        }
+
+        // Reset
+        mstEdges = null;
+        totalCost = 0;
+        operationCount = 0;
+
+        if (from == null) {
+            toIdArrays();
+        }
+
+        ForestTask root = new ForestTask(0, edgeCount);
+        long[] forest;
+        scratch = new ConcurrentHashMap<>();
+        try {
+            forest = pool.invoke(root);
+        } finally {
+            scratch = null;
+        }
+        operationCount = root.operations;
+
+        mstEdgeIndices = new int[forest.length];
+        for (int i = 0; i < forest.length; i++) {
+            mstEdgeIndices[i] = (int) forest[i];
+            totalCost += weight[mstEdgeIndices[i]];
+        }
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000; // Convert to milliseconds
+        return mstEdgeIndices.length == vertexCount - 1;
+    }
+
+    /**
+     * Resolve vertex names to ids, in parallel on the pool
+     */
+    private void toIdArrays() {
+        List<Edge> edges = graph.getEdgeView();
+        Map<String, Integer> ids = new HashMap<>(vertexCount * 2);
+        for (String vertex : graph.getVertexView()) {
+            ids.put(vertex, ids.size());
+        }
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        int[] weight = new int[edgeCount];
+        pool.submit(() -> IntStream.range(0, edgeCount).parallel().forEach(i -> {
+            Edge edge = edges.get(i);
+            from[i] = ids.get(edge.getFrom());
+            to[i] = ids.get(edge.getTo());
+            weight[i] = edge.getWeight();
+        })).join();
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+    }
+
+    static int defaultChunkSize(int edgeCount, ForkJoinPool pool) {
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        return Math.max(MIN_CHUNK_SIZE, (edgeCount + chunks - 1) / chunks);
+    }
+
+    private static long key(int weight, int edge) {
+        return ((long) weight << 32) | edge;
+    }
+
+    /**
+     * Spanning forest of an edge range, as (weight, index) keys in ascending order
+     */
+    private final class ForestTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+        private int operations;
+
+        ForestTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (end - start <= chunkSize) {
+                long[] keys = new long[end - start];
+                for (int i = start; i < end; i++) {
+                    keys[i - start] = key(weight[i], i);
+                }
+                Arrays.sort(keys);
+                operations += keys.length * (int) (Math.log(Math.max(keys.length, 1)) / Math.log(2));
+                return scan(keys, keys.length);
+            }
+
+            int middle = (start + end) >>> 1;
+            ForestTask left = new ForestTask(start, middle);
+            ForestTask right = new ForestTask(middle, end);
+            left.fork();
+            long[] rightForest = right.compute();
+            long[] leftForest = left.join();
+            operations += left.operations + right.operations;
+
+            // Merge the two sorted forests, then keep the forest of the union
+            long[] merged = new long[leftForest.length + rightForest.length];
+            int l = 0;
+            int r = 0;
+            for (int k = 0; k < merged.length; k++) {
+                merged[k] = r == rightForest.length
+                    || (l < leftForest.length && leftForest[l] < rightForest[r])
+                    ? leftForest[l++] : rightForest[r++];
+            }
+            return scan(merged, merged.length);
+        }
+
+        /**
+         * Kruskal scan over sorted keys with the thread's scratch union-find
+         * @return kept keys, still sorted
+         */
+        private long[] scan(long[] keys, int count) {
+            Scratch uf = scratch.computeIfAbsent(Thread.currentThread(), thread -> new Scratch());
+            uf.begin(vertexCount);
+            long[] kept = new long[Math.min(count, Math.max(vertexCount - 1, 0))];
+            int keptCount = 0;
+            for (int k = 0; k < count && keptCount < kept.length; k++) {
+                int edge = (int) keys[k];
+                operations++; // Processing edge
+                if (uf.union(from[edge], to[edge])) {
+                    kept[keptCount++] = keys[k];
+                    operations += 4; // Find and union operations
+                }
+            }
+            return keptCount == kept.length ? kept : Arrays.copyOf(kept, keptCount);
+        }
+    }
+
+    /**
+     * Union-find of one thread whose sets are reset by bumping an epoch
+     * A vertex whose stamp is not the current epoch is its own root.
+     */
+    private static final class Scratch {
+        private int[] parent = new int[0];
+        private int[] stamp = new int[0];
+        private int epoch;
+
+        void begin(int size) {
+            if (parent.length < size) {
+                parent = new int[size];
+                stamp = new int[size];
+                epoch = 0;
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+        }
+
+        int find(int vertex) {
+            if (stamp[vertex] != epoch) {
+                stamp[vertex] = epoch;
+                parent[vertex] = vertex;
+                return vertex;
+            }
+            while (parent[vertex] != vertex) {
+                parent[vertex] = parent[parent[vertex]];
+                vertex = parent[vertex];
+            }
+            return vertex;
+        }
+
+        boolean union(int u, int v) {
+            int rootU = find(u);
+            int rootV = find(v);
+            if (rootU == rootV) {
+                return false;
+            }
+            parent[rootU] = rootV;
+            return true;
+        }
+    }
+
+    /**
+     * Get the indices of the MST edges (into the input edge order), in Kruskal's order
+     * @return edge indices
+     */
+    public int[] getMSTEdgeIndices() {
+        return mstEdgeIndices.clone();
+    }
+
+    /**
+     * Get the MST edges
+     * @return List of edges in MST
+     */
+    public List<Edge> getMSTEdges() {
+        if (mstEdges == null) {
+            // Graph edges as given, or "V{id}" names for array input
+            mstEdges = new ArrayList<>(mstEdgeIndices.length);
+            for (int edge : mstEdgeIndices) {
+                mstEdges.add(graph != null ? graph.getEdgeView().get(edge)
+                    : new Edge(GraphGenerator.vertexName(from[edge]), GraphGenerator.vertexName(to[edge]),
+                               weight[edge]));
+            }
+        }
+        return new ArrayList<>(mstEdges);
+    }
+
+    /**
+     * Get the total cost of MST
+     * @return total cost
+     */
+    public int getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Get the number of operations performed
+     * @return operation count
+     */
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Get execution time in milliseconds
+     * @return execution time
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Get formatted results string
+     * @return results string
+     */
+    public String getResultsString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Parallel Kruskal's Algorithm Results:\n");
+        sb.append("Total Cost: ").append(totalCost).append("\n");
+        sb.append("Number of Edges: ").append(mstEdgeIndices.length).append("\n");
+        sb.append("Operations: ").append(operationCount).append("\n");
+        sb.append("Execution Time: ").append(executionTime).append(" ms\n");
+        sb.append("MST Edges:\n");
+        for (Edge edge : getMSTEdges()) {
+            sb.append("  ").append(edge).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Benchmark against KruskalAlgorithm on a generated connected graph
+     */
+    public static void main(String[] args) throws Exception {
+        int n = args.length >= 1 ? Integer.parseInt(args[0]) : 1_000_000;
+        int m = args.length >= 2 ? Integer.parseInt(args[1]) : 10_000_000;
+        long seed = args.length >= 3 ? Long.parseLong(args[2]) : 1L;
+
+        System.out.printf("Generating random graph: %d vertices, %d edges (seed %d), %d threads%n",
+                          n, m, seed, ForkJoinPool.getCommonPoolParallelism());
+        GraphBuilder builder = new GraphBuilder(n, m);
+        for (int v = 0; v < n; v++) {
+            builder.addVertex(GraphGenerator.vertexName(v));
+        }
+        new GraphGenerator(seed).randomMultigraph(n, m, true, builder::addEdge);
+        Graph graph = builder.build();
+
+        // A few rounds: the first one is mostly JIT warm-up
+        for (int round = 1; round <= 3; round++) {
+            ParallelKruskalAlgorithm parallel = new ParallelKruskalAlgorithm(graph);
+            parallel.findMST();
+            KruskalAlgorithm kruskal = new KruskalAlgorithm(graph);
+            kruskal.findMST();
+            System.out.printf("Round %d: Parallel Kruskal cost=%d time=%d ms | Kruskal cost=%d time=%d ms%n", round,
+                              parallel.getTotalCost(), parallel.getExecutionTime(),
+                              kruskal.getTotalCost(), kruskal.getExecutionTime());
+        }
+    }
+}
@@ -0,0 +1,386 @@
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Path-maximum (bottleneck) query index over a spanning tree or forest
+ * Answers "heaviest edge on the tree path between u and v" in O(log V)
+ * using binary lifting, after O(V log V) preprocessing
+ *
+ * @author Almas
+ */
+public class PathMaxIndex {
+    /** Returned when there is no edge on the path (u == v or u, v in different trees) */
+    public static final int NO_PATH = Integer.MIN_VALUE;
+
+    private static final int PARALLEL_BATCH_THRESHOLD = 1 << 16;
+
+    private final int vertexCount;
+    private final int levels;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeWeight;
+    private final int[][] up;        // up[k][v] = 2^k-th ancestor of v (root points to itself)
+    private final int[][] maxEdge;   // maxEdge[k][v] = heaviest edge on path v -> up[k][v], -1 if none
+    private final int[] depth;
+    private final int[] component;
+
+    // Only set when built from named vertices
+    private Map<String, Integer> vertexIds;
+    private List<Edge> treeEdges;
+
+    /**
+     * Constructor - builds the index over a forest given as int edge arrays
+     *
+     * @param vertexCount Number of vertices (ids 0..vertexCount-1)
+     * @param from Edge start vertex ids
+     * @param to Edge end vertex ids
+     * @param weight Edge weights
+     * @param edgeCount Number of edges to use from the arrays
+     * @throws IllegalArgumentException if the edges contain a cycle
+     */
+    public PathMaxIndex(int vertexCount, int[] from, int[] to, int[] weight, int edgeCount) {
+        this.vertexCount = vertexCount;
+        this.edgeFrom = Arrays.copyOf(from, edgeCount);
+        this.edgeTo = Arrays.copyOf(to, edgeCount);
+        this.edgeWeight = Arrays.copyOf(weight, edgeCount);
+        this.levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, vertexCount - 1)));
+        this.up = new int[levels][vertexCount];
+        this.maxEdge = new int[levels][vertexCount];
+        this.depth = new int[vertexCount];
+        this.component = new int[vertexCount];
+
+        build(edgeCount);
+    }
+
+    /**
+     * Build the index from a computed MST (e.g. getMSTEdges() of Prim or Kruskal)
+     *
+     * @param vertices All vertices of the graph
+     * @param mstEdges Edges of the spanning tree or forest
+     * @return path-max index over the tree
+     */
+    public static PathMaxIndex fromMST(Collection<String> vertices, List<Edge> mstEdges) {
+        Map<String, Integer> ids = new HashMap<>(vertices.size() * 2);
+        for (String vertex : vertices) {
+            ids.putIfAbsent(vertex, ids.size());
+        }
+
+        int m = mstEdges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            Edge edge = mstEdges.get(i);
+            Integer u = ids.get(edge.getFrom());
+            Integer v = ids.get(edge.getTo());
+            if (u == null || v == null) {
+                throw new IllegalArgumentException("Edge endpoint not in vertex set: " + edge);
+            }
+            from[i] = u;
+            to[i] = v;
+            weight[i] = edge.getWeight();
+        }
+
+        PathMaxIndex index = new PathMaxIndex(ids.size(), from, to, weight, m);
+        index.vertexIds = ids;
+        index.treeEdges = new ArrayList<>(mstEdges);
+        return index;
+    }
+
+    /**
+     * Root every tree with an iterative BFS and fill the lifting tables
+     */
+    private void build(int edgeCount) {
+        // CSR adjacency of the forest
+        int[] offset = new int[vertexCount + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offset[edgeFrom[i] + 1]++;
+            offset[edgeTo[i] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offset[v + 1] += offset[v];
+        }
+        int[] adjacent = new int[2 * edgeCount];
+        int[] fill = Arrays.copyOf(offset, vertexCount);
+        for (int i = 0; i < edgeCount; i++) {
+            adjacent[fill[edgeFrom[i]]++] = i;
+            adjacent[fill[edgeTo[i]]++] = i;
+        }
+
+        int[] parent = up[0];
+        int[] parentEdge = maxEdge[0];
+        Arrays.fill(component, -1);
+        int[] queue = new int[vertexCount];
+        int trees = 0;
+
+        for (int root = 0; root < vertexCount; root++) {
+            if (component[root] != -1) continue;
+
+            int head = 0, tail = 0;
+            queue[tail++] = root;
+            component[root] = trees;
+            parent[root] = root;
+            parentEdge[root] = -1;
+            depth[root] = 0;
+
+            while (head < tail) {
+                int v = queue[head++];
+                for (int j = offset[v]; j < offset[v + 1]; j++) {
+                    int e = adjacent[j];
+                    if (e == parentEdge[v]) continue;
+                    int w = edgeFrom[e] == v ? edgeTo[e] : edgeFrom[e];
+                    if (component[w] != -1) {
+                        throw new IllegalArgumentException("Edges do not form a forest");
+                    }
+                    component[w] = trees;
+                    parent[w] = v;
+                    parentEdge[w] = e;
+                    depth[w] = depth[v] + 1;
+                    queue[tail++] = w;
+                }
+            }
+            trees++;
+        }
+
+        for (int k = 1; k < levels; k++) {
+            int[] prevUp = up[k - 1];
+            int[] prevMax = maxEdge[k - 1];
+            int[] curUp = up[k];
+            int[] curMax = maxEdge[k];
+            for (int v = 0; v < vertexCount; v++) {
+                int mid = prevUp[v];
+                curUp[v] = prevUp[mid];
+                curMax[v] = heavier(prevMax[v], prevMax[mid]);
+            }
+        }
+    }
+
+    /**
+     * Pick the heavier of two edge indices (-1 means no edge)
+     */
+    private int heavier(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        return edgeWeight[b] > edgeWeight[a] ? b : a;
+    }
+
+    /**
+     * Find the heaviest edge on the tree path between u and v
+     *
+     * @param u First vertex id
+     * @param v Second vertex id
+     * @return edge index, or -1 if u == v or they are not connected
+     */
+    public int queryMaxEdgeIndex(int u, int v) {
+        if (component[u] != component[v]) return -1;
+
+        int best = -1;
+        if (depth[u] < depth[v]) {
+            int tmp = u; u = v; v = tmp;
+        }
+
+        int diff = depth[u] - depth[v];
+        for (int k = 0; diff != 0; k++, diff >>>= 1) {
+            if ((diff & 1) != 0) {
+                best = heavier(best, maxEdge[k][u]);
+                u = up[k][u];
+            }
+        }
+        if (u == v) return best;
+
+        for (int k = levels - 1; k >= 0; k--) {
+            if (up[k][u] != up[k][v]) {
+                best = heavier(best, maxEdge[k][u]);
+                best = heavier(best, maxEdge[k][v]);
+                u = up[k][u];
+                v = up[k][v];
+            }
+        }
+        best = heavier(best, maxEdge[0][u]);
+        return heavier(best, maxEdge[0][v]);
+    }
+
+    /**
+     * Weight of the heaviest edge on the tree path between u and v
+     *
+     * @param u First vertex id
+     * @param v Second vertex id
+     * @return maximum weight, or NO_PATH if u == v or they are not connected
+     */
+    public int queryMaxWeight(int u, int v) {
+        int e = queryMaxEdgeIndex(u, v);
+        return e < 0 ? NO_PATH : edgeWeight[e];
+    }
+
+    /**
+     * Weight of the heaviest edge on the tree path between two named vertices
+     *
+     * @param u First vertex
+     * @param v Second vertex
+     * @return maximum weight, or NO_PATH if u == v or they are not connected
+     */
+    public int queryMaxWeight(String u, String v) {
+        return queryMaxWeight(getVertexId(u), getVertexId(v));
+    }
+
+    /**
+     * Heaviest MST edge on the tree path between two named vertices
+     *
+     * @param u First vertex
+     * @param v Second vertex
+     * @return heaviest edge, or null if u == v or they are not connected
+     */
+    public Edge queryMaxEdge(String u, String v) {
+        int e = queryMaxEdgeIndex(getVertexId(u), getVertexId(v));
+        return e < 0 ? null : treeEdges.get(e);
+    }
+
+    /**
+     * Answer many path-max queries at once
+     * Large batches are split across the common fork/join pool
+     *
+     * @param us First vertex ids
+     * @param vs Second vertex ids
+     * @param out Result array (NO_PATH where there is no path)
+     */
+    public void queryBatch(int[] us, int[] vs, int[] out) {
+        int n = us.length;
+        if (vs.length != n || out.length < n) {
+            throw new IllegalArgumentException("Query arrays have different lengths");
+        }
+        if (n >= PARALLEL_BATCH_THRESHOLD) {
+            IntStream.range(0, n).parallel().forEach(i -> out[i] = queryMaxWeight(us[i], vs[i]));
+        } else {
+            for (int i = 0; i < n; i++) {
+                out[i] = queryMaxWeight(us[i], vs[i]);
+            }
+        }
+    }
+
+    /**
+     * Answer many path-max queries at once
+     *
+     * @param us First vertex ids
+     * @param vs Second vertex ids
+     * @return maximum weights (NO_PATH where there is no path)
+     */
+    public int[] queryBatch(int[] us, int[] vs) {
+        int[] out = new int[us.length];
+        queryBatch(us, vs, out);
+        return out;
+    }
+
+    /**
+     * Answer many path-max queries on named vertices at once
+     *
+     * @param us First vertices
+     * @param vs Second vertices
+     * @return maximum weights (NO_PATH where there is no path)
+     */
+    public int[] queryBatch(List<String> us, List<String> vs) {
+        int n = us.size();
+        int[] uIds = new int[n];
+        int[] vIds = new int[n];
+        for (int i = 0; i < n; i++) {
+            uIds[i] = getVertexId(us.get(i));
+            vIds[i] = getVertexId(vs.get(i));
+        }
+        return queryBatch(uIds, vIds);
+    }
+
+    /**
+     * Lowest common ancestor of u and v in the rooted forest
+     *
+     * @param u First vertex id
+     * @param v Second vertex id
+     * @return ancestor id, or -1 if they are not connected
+     */
+    public int lca(int u, int v) {
+        if (component[u] != component[v]) return -1;
+        if (depth[u] < depth[v]) {
+            int tmp = u; u = v; v = tmp;
+        }
+        int diff = depth[u] - depth[v];
+        for (int k = 0; diff != 0; k++, diff >>>= 1) {
+            if ((diff & 1) != 0) u = up[k][u];
+        }
+        if (u == v) return u;
+        for (int k = levels - 1; k >= 0; k--) {
+            if (up[k][u] != up[k][v]) {
+                u = up[k][u];
+                v = up[k][v];
+            }
+        }
+        return up[0][u];
+    }
+
+    /**
+     * Check if two vertices lie in the same tree
+     * @param u First vertex id
+     * @param v Second vertex id
+     * @return true if connected
+     */
+    public boolean connected(int u, int v) {
+        return component[u] == component[v];
+    }
+
+    /**
+     * Get the parent of a vertex in the rooted forest
+     * @param v Vertex id
+     * @return parent id (roots are their own parent)
+     */
+    public int getParent(int v) {
+        return up[0][v];
+    }
+
+    /**
+     * Get the index of the edge connecting a vertex to its parent
+     * @param v Vertex id
+     * @return edge index, or -1 for roots
+     */
+    public int getParentEdge(int v) {
+        return maxEdge[0][v];
+    }
+
+    /**
+     * Get the depth of a vertex in the rooted forest
+     * @param v Vertex id
+     * @return depth (0 for roots)
+     */
+    public int getDepth(int v) {
+        return depth[v];
+    }
+
+    /**
+     * Get the weight of a tree edge
+     * @param edgeIndex Edge index
+     * @return weight
+     */
+    public int getEdgeWeight(int edgeIndex) {
+        return edgeWeight[edgeIndex];
+    }
+
+    /**
+     * Get the number of vertices
+     * @return vertex count
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Get the id of a named vertex (only for indexes built with fromMST)
+     * @param vertex Vertex name
+     * @return vertex id
+     */
+    public int getVertexId(String vertex) {
+        if (vertexIds == null) {
+            throw new IllegalStateException("Index was built without vertex names");
+        }
+        Integer id = vertexIds.get(vertex);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown vertex: " + vertex);
+        }
+        return id;
+    }
+}
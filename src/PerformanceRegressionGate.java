@@ -0,0 +1,324 @@
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Performance regression gate for Prim and Kruskal
+ * Runs both algorithms on a fixed, seeded corpus (small / medium / large
+ * size classes), measures median time, allocated bytes and operation counts,
+ * and compares them with a stored baseline CSV. Exits with status 1 and a
+ * readable report when a metric is worse than the baseline by more than
+ * the configured tolerance. Operation counts are deterministic, so by
+ * default any increase fails the gate.
+ *
+ * The committed performance_baseline.csv was recorded on a developer
+ * machine; times and allocations are only comparable on similar hardware,
+ * so re-record it (--record) where the gate runs.
+ *
+ * Usage: java PerformanceRegressionGate [--record] [--baseline=file]
+ *                                       [--tolerance=0.30] [--alloc-tolerance=0.10]
+ *                                       [--ops-tolerance=0]
+ *
+ * @author Almas
+ */
+public class PerformanceRegressionGate {
+    private static final String DEFAULT_BASELINE = "performance_baseline.csv";
+    private static final String CSV_HEADER = "size_class,algorithm,time_ns,alloc_bytes,operations";
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 9;
+
+    /**
+     * Size class of the fixed corpus: graph count, vertices, edges per graph
+     */
+    private static final String[] CLASS_NAMES = {"small", "medium", "large"};
+    private static final int[][] CLASS_SHAPES = {
+        {50, 20, 60},
+        {10, 300, 1500},
+        {3, 1000, 10000}
+    };
+    private static final long CORPUS_SEED = 20241019L;
+
+    public static void main(String[] args) {
+        boolean record = false;
+        String baselineFile = DEFAULT_BASELINE;
+        double tolerance = 0.30;
+        double allocTolerance = 0.10;
+        double opsTolerance = 0.0;
+
+        for (String arg : args) {
+            if (arg.equals("--record")) {
+                record = true;
+            } else if (arg.startsWith("--baseline=")) {
+                baselineFile = arg.substring("--baseline=".length());
+            } else if (arg.startsWith("--tolerance=")) {
+                tolerance = Double.parseDouble(arg.substring("--tolerance=".length()));
+            } else if (arg.startsWith("--alloc-tolerance=")) {
+                allocTolerance = Double.parseDouble(arg.substring("--alloc-tolerance=".length()));
+            } else if (arg.startsWith("--ops-tolerance=")) {
+                opsTolerance = Double.parseDouble(arg.substring("--ops-tolerance=".length()));
+            } else {
+                System.err.println("Unknown option: " + arg);
+                System.exit(2);
+            }
+        }
+
+        try {
+            Map<String, Measurement> current = measureCorpus();
+
+            if (record) {
+                writeBaseline(current, baselineFile);
+                System.out.println("Baseline recorded to " + baselineFile);
+                printTable(current, null);
+                return;
+            }
+
+            Path baselinePath = Paths.get(baselineFile);
+            if (!Files.exists(baselinePath)) {
+                System.err.println("No baseline at " + baselineFile + " - run with --record first");
+                System.exit(2);
+            }
+            Map<String, Measurement> baseline = readBaseline(baselineFile);
+
+            List<String> regressions = compare(baseline, current, tolerance, allocTolerance, opsTolerance);
+            printTable(current, baseline);
+            System.out.print(report(regressions, tolerance, allocTolerance, opsTolerance));
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Run both algorithms over every size class
+     */
+    private static Map<String, Measurement> measureCorpus() {
+        Map<String, Measurement> results = new LinkedHashMap<>();
+
+        for (int c = 0; c < CLASS_NAMES.length; c++) {
+            List<Graph> corpus = buildCorpus(c);
+
+            results.put(key(CLASS_NAMES[c], "prim"), measure(corpus, graph -> {
+                PrimAlgorithm prim = new PrimAlgorithm(graph);
+                prim.findMST();
+                return prim.getOperationCount();
+            }));
+            results.put(key(CLASS_NAMES[c], "kruskal"), measure(corpus, graph -> {
+                KruskalAlgorithm kruskal = new KruskalAlgorithm(graph);
+                kruskal.findMST();
+                return kruskal.getOperationCount();
+            }));
+        }
+        return results;
+    }
+
+    /**
+     * Build the seeded graphs of one size class
+     */
+    private static List<Graph> buildCorpus(int sizeClass) {
+        int[] shape = CLASS_SHAPES[sizeClass];
+        List<Graph> corpus = new ArrayList<>();
+        for (int i = 0; i < shape[0]; i++) {
+            GraphBuilder builder = new GraphBuilder(shape[1], shape[2]);
+            try {
+                new GraphGenerator(CORPUS_SEED + sizeClass * 1000L + i)
+                    .randomMultigraph(shape[1], shape[2], true, GraphGenerator.builderSink(builder, shape[1]));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // Builder sink does no I/O
+            }
+            corpus.add(builder.build());
+        }
+        return corpus;
+    }
+
+    /**
+     * Runs one algorithm on a graph and returns its operation count
+     */
+    private interface AlgorithmRun {
+        int run(Graph graph);
+    }
+
+    /**
+     * Median time and allocation of one pass over the corpus
+     */
+    private static Measurement measure(List<Graph> corpus, AlgorithmRun algorithm) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (Graph graph : corpus) {
+                algorithm.run(graph);
+            }
+        }
+
+        long[] times = new long[MEASURED_ROUNDS];
+        long[] allocations = new long[MEASURED_ROUNDS];
+        long operations = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long allocBefore = allocatedBytes();
+            long start = System.nanoTime();
+            operations = 0;
+            for (Graph graph : corpus) {
+                operations += algorithm.run(graph);
+            }
+            times[round] = System.nanoTime() - start;
+            allocations[round] = allocatedBytes() - allocBefore;
+        }
+
+        Arrays.sort(times);
+        Arrays.sort(allocations);
+        return new Measurement(times[MEASURED_ROUNDS / 2], allocations[MEASURED_ROUNDS / 2], operations);
+    }
+
+    /**
+     * Bytes allocated by the current thread, or -1 if the JVM cannot report it
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Collect every metric that is worse than baseline beyond tolerance
+     *
+     * @param baseline Baseline measurements by key(size class, algorithm)
+     * @param current Current measurements by the same keys
+     * @param tolerance Allowed time increase (fraction)
+     * @param allocTolerance Allowed allocation increase (fraction)
+     * @param opsTolerance Allowed operation count increase (fraction)
+     * @return one line per regression, empty if the gate passes
+     */
+    static List<String> compare(Map<String, Measurement> baseline, Map<String, Measurement> current,
+                                double tolerance, double allocTolerance, double opsTolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Measurement> entry : current.entrySet()) {
+            Measurement base = baseline.get(entry.getKey());
+            if (base == null) continue; // New size class, nothing to compare
+            Measurement now = entry.getValue();
+            String name = entry.getKey().replace(',', ' ');
+
+            if (exceeds(now.timeNanos, base.timeNanos, tolerance)) {
+                regressions.add(String.format("%s: time %.3f ms -> %.3f ms (%s)",
+                    name, base.timeNanos / 1e6, now.timeNanos / 1e6, change(base.timeNanos, now.timeNanos)));
+            }
+            if (base.allocBytes >= 0 && now.allocBytes >= 0
+                    && exceeds(now.allocBytes, base.allocBytes, allocTolerance)) {
+                regressions.add(String.format("%s: allocation %d B -> %d B (%s)",
+                    name, base.allocBytes, now.allocBytes, change(base.allocBytes, now.allocBytes)));
+            }
+            if (exceeds(now.operations, base.operations, opsTolerance)) {
+                regressions.add(String.format("%s: operations %d -> %d (%s)",
+                    name, base.operations, now.operations, change(base.operations, now.operations)));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Summary printed after the table
+     *
+     * @param regressions Result of compare
+     * @return pass line, or the list of regressions
+     */
+    static String report(List<String> regressions, double tolerance, double allocTolerance,
+                         double opsTolerance) {
+        StringBuilder sb = new StringBuilder();
+        if (regressions.isEmpty()) {
+            sb.append("✅ No performance regressions (time tolerance ").append(percent(tolerance))
+              .append(", allocation tolerance ").append(percent(allocTolerance))
+              .append(", operations tolerance ").append(percent(opsTolerance)).append(")\n");
+        } else {
+            sb.append("❌ Performance regressions detected:\n");
+            for (String regression : regressions) {
+                sb.append("  - ").append(regression).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean exceeds(long now, long base, double tolerance) {
+        return now > base * (1.0 + tolerance);
+    }
+
+    private static String change(long base, long now) {
+        if (base == 0) return "new";
+        return String.format("%+.1f%%", 100.0 * (now - base) / base);
+    }
+
+    private static String percent(double fraction) {
+        return String.format("%.0f%%", fraction * 100);
+    }
+
+    /**
+     * Print current measurements, with change against baseline when given
+     */
+    private static void printTable(Map<String, Measurement> current, Map<String, Measurement> baseline) {
+        System.out.println("=".repeat(78));
+        System.out.printf("%-8s %-8s %14s %10s %16s %10s %12s%n",
+                         "class", "algo", "time(ms)", "Δtime", "alloc(B)", "Δalloc", "operations");
+        System.out.println("-".repeat(78));
+        for (Map.Entry<String, Measurement> entry : current.entrySet()) {
+            String[] parts = entry.getKey().split(",");
+            Measurement now = entry.getValue();
+            Measurement base = baseline == null ? null : baseline.get(entry.getKey());
+            System.out.printf("%-8s %-8s %14.3f %10s %16d %10s %12d%n",
+                             parts[0], parts[1], now.timeNanos / 1e6,
+                             base == null ? "-" : change(base.timeNanos, now.timeNanos),
+                             now.allocBytes,
+                             base == null ? "-" : change(base.allocBytes, now.allocBytes),
+                             now.operations);
+        }
+        System.out.println("=".repeat(78));
+    }
+
+    static String key(String sizeClass, String algorithm) {
+        return sizeClass + "," + algorithm;
+    }
+
+    private static void writeBaseline(Map<String, Measurement> results, String filename) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
+            writer.println(CSV_HEADER);
+            for (Map.Entry<String, Measurement> entry : results.entrySet()) {
+                Measurement m = entry.getValue();
+                writer.printf("%s,%d,%d,%d%n", entry.getKey(), m.timeNanos, m.allocBytes, m.operations);
+            }
+        }
+    }
+
+    private static Map<String, Measurement> readBaseline(String filename) throws IOException {
+        Map<String, Measurement> baseline = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(Paths.get(filename));
+        if (lines.isEmpty() || !lines.get(0).equals(CSV_HEADER)) {
+            throw new IOException("Invalid baseline file: " + filename);
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) continue;
+            String[] fields = line.split(",");
+            baseline.put(key(fields[0], fields[1]), new Measurement(
+                Long.parseLong(fields[2]), Long.parseLong(fields[3]), Long.parseLong(fields[4])));
+        }
+        return baseline;
+    }
+
+    /**
+     * Metrics of one (size class, algorithm) pair
+     */
+    static class Measurement {
+        final long timeNanos;
+        final long allocBytes;
+        final long operations;
+
+        Measurement(long timeNanos, long allocBytes, long operations) {
+            this.timeNanos = timeNanos;
+            this.allocBytes = allocBytes;
+            this.operations = operations;
+        }
+    }
+}
@@ -30,6 +30,8 @@ public class PrimAlgorithm {
      * @return true if MST found, false if graph is disconnected
      */
     public boolean findMST() {
+        MSTEvents.AlgorithmRun event = new MSTEvents.AlgorithmRun();
+        event.begin();
         long startTime = System.nanoTime();
         
         Set<String> vertices = graph.getVertices();
@@ -57,6 +59,8 @@ public class PrimAlgorithm {
             pq.offer(new EdgeWithVertex(edge, edge.getTo()));
             operationCount++; // Adding edge to PQ
         }
+        int peakQueueSize = pq.size();
+        long setupEnd = System.nanoTime();
         
         // Process edges until MST is complete or PQ is empty
         while (!pq.isEmpty() && inMST.size() < vertices.size()) {
@@ -86,13 +90,121 @@ public class PrimAlgorithm {
                     operationCount += 2; // Check + Add to PQ
                 }
             }
+            peakQueueSize = Math.max(peakQueueSize, pq.size());
         }
         
         long endTime = System.nanoTime();
         executionTime = (endTime - startTime) / 1_000_000; // Convert to milliseconds
         
         // Check if MST is complete
-        return inMST.size() == vertices.size();
+        boolean success = inMST.size() == vertices.size();
+        
+        if (event.shouldCommit()) {
+            event.algorithm = "Prim";
+            event.vertices = vertices.size();
+            event.edges = graph.getEdgeCount();
+            event.totalCost = totalCost;
+            event.operations = operationCount;
+            event.success = success;
+            event.setupNanos = setupEnd - startTime;
+            event.loopNanos = endTime - setupEnd;
+            event.peakQueueSize = peakQueueSize;
+            event.commit();
+        }
+        return success;
+    }
+    
+    /**
+     * Find the Minimum Spanning Tree using a reusable workspace
+     * Same algorithm as findMST(), but the priority queue and the visited set
+     * live in the workspace's primitive arrays, so repeated runs allocate
+     * almost nothing. Equal-weight edges pop in insertion order, so the
+     * chosen edges may differ from findMST() on ties (the cost does not).
+     * 
+     * @param workspace Workspace owned by the calling thread
+     * @return true if MST found, false if graph is disconnected
+     */
+    public boolean findMST(MSTWorkspace workspace) {
+        MSTEvents.AlgorithmRun event = new MSTEvents.AlgorithmRun();
+        event.begin();
+        long startTime = System.nanoTime();
+        
+        Set<String> vertices = graph.getVertexView();
+        if (vertices.isEmpty()) {
+            executionTime = 0;
+            return false;
+        }
+        
+        // Reset
+        mstEdges = new ArrayList<>(vertices.size() - 1);
+        totalCost = 0;
+        operationCount = 0;
+        workspace.beginGraph(vertices.size());
+        int inMST = 0;
+        
+        // Start from first vertex
+        String startVertex = vertices.iterator().next();
+        workspace.setMarked(workspace.idOf(startVertex));
+        inMST++;
+        operationCount++; // Adding vertex to MST
+        
+        // Add all edges from start vertex to priority queue
+        for (Edge edge : graph.getAdjacentEdges(startVertex)) {
+            workspace.push(edge);
+            operationCount++; // Adding edge to PQ
+        }
+        int peakQueueSize = workspace.getHeapSize();
+        long setupEnd = System.nanoTime();
+        
+        // Process edges until MST is complete or PQ is empty
+        while (!workspace.isHeapEmpty() && inMST < vertices.size()) {
+            Edge edge = workspace.pop();
+            operationCount++; // Polling from PQ
+            
+            String vertex = edge.getTo();
+            int vertexId = workspace.idOf(vertex);
+            
+            // Skip if vertex already in MST
+            if (workspace.isMarked(vertexId)) {
+                operationCount++; // Comparison
+                continue;
+            }
+            
+            // Add edge to MST
+            mstEdges.add(edge);
+            totalCost += edge.getWeight();
+            workspace.setMarked(vertexId);
+            inMST++;
+            operationCount += 3; // Add edge, add cost, add vertex
+            
+            // Add all adjacent edges of the new vertex
+            for (Edge adjacentEdge : graph.getAdjacentEdges(vertex)) {
+                if (!workspace.isMarked(workspace.idOf(adjacentEdge.getTo()))) {
+                    workspace.push(adjacentEdge);
+                    operationCount += 2; // Check + Add to PQ
+                }
+            }
+            peakQueueSize = Math.max(peakQueueSize, workspace.getHeapSize());
+        }
+        
+        long endTime = System.nanoTime();
+        executionTime = (endTime - startTime) / 1_000_000; // Convert to milliseconds
+        
+        boolean success = inMST == vertices.size();
+        
+        if (event.shouldCommit()) {
+            event.algorithm = "Prim";
+            event.vertices = vertices.size();
+            event.edges = graph.getEdgeCount();
+            event.totalCost = totalCost;
+            event.operations = operationCount;
+            event.success = success;
+            event.setupNanos = setupEnd - startTime;
+            event.loopNanos = endTime - setupEnd;
+            event.peakQueueSize = peakQueueSize;
+            event.commit();
+        }
+        return success;
     }
     
     /**
@@ -0,0 +1,288 @@
+import java.io.*;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes MST results one record at a time, as each graph completes
+ * Three formats:
+ *   JSON   - the pretty-printed { "results": [...] } document (same bytes as before)
+ *   NDJSON - one compact JSON object per line
+ *   CSV    - the columns of assignment3_results.csv, so generate_csv.py is not needed
+ * Nothing is buffered beyond the stream buffer, so memory does not grow
+ * with the number of results and downstream tools can read while we write.
+ * Writers opened on a file commit a ResultWrite event on close that covers
+ * the write stage, from the first record to the end of the file.
+ *
+ * @author Almas
+ */
+public class ResultStreamWriter implements Closeable {
+    public static final String CSV_HEADER = "graph_id,vertices,edges,"
+        + "prim_cost,prim_time_ms,prim_operations,"
+        + "kruskal_cost,kruskal_time_ms,kruskal_operations,"
+        + "cost_match,time_difference_ms,operations_difference";
+    private static final String CSV_LINE_END = "\r\n"; // Python's csv module default
+
+    /**
+     * Output format
+     */
+    public enum Format {
+        JSON, NDJSON, CSV;
+
+        /**
+         * Pick the format from an output file name (a trailing .gz is ignored)
+         * @param filename Output file name
+         * @return CSV for *.csv, NDJSON for *.ndjson / *.jsonl, JSON otherwise
+         */
+        public static Format fromFileName(String filename) {
+            String name = filename.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".gz")) {
+                name = name.substring(0, name.length() - 3);
+            }
+            if (name.endsWith(".csv")) return CSV;
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) return NDJSON;
+            return JSON;
+        }
+
+        /**
+         * Parse a --format option value
+         * @param value json, ndjson or csv (any case)
+         * @return format
+         */
+        public static Format parse(String value) {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final PrintWriter out;
+    private final Format format;
+    private int records;
+    private String file;              // set when opened on a file
+    private long[] fileBytes;         // bytes written to the file so far
+    private MSTEvents.ResultWrite event;
+
+    /**
+     * Constructor - writes the document header right away
+     * @param out Destination
+     * @param format Output format
+     */
+    public ResultStreamWriter(Writer out, Format format) {
+        this.out = out instanceof PrintWriter ? (PrintWriter) out : new PrintWriter(out);
+        this.format = format;
+        if (format == Format.JSON) {
+            this.out.println("{");
+            this.out.print("  \"results\": [");
+        } else if (format == Format.CSV) {
+            this.out.print(CSV_HEADER + CSV_LINE_END);
+        }
+    }
+
+    /**
+     * Open an output file (gzip-compressed if the name ends with ".gz")
+     * @param filename Output file
+     * @param format Output format
+     * @return writer
+     * @throws IOException if the file cannot be created
+     */
+    public static ResultStreamWriter open(String filename, Format format) throws IOException {
+        return open(filename, format, null);
+    }
+
+    /**
+     * Open an output file (gzip-compressed if the name ends with ".gz")
+     * @param filename Output file
+     * @param format Output format
+     * @param bytesWritten Receives each number of file bytes written, as they are flushed (may be null)
+     * @return writer
+     * @throws IOException if the file cannot be created
+     */
+    public static ResultStreamWriter open(String filename, Format format, LongConsumer bytesWritten)
+            throws IOException {
+        long[] fileBytes = new long[1];
+        ResultStreamWriter writer = new ResultStreamWriter(CompressedIO.openWriter(filename, n -> {
+            fileBytes[0] += n;
+            if (bytesWritten != null) bytesWritten.accept(n);
+        }), format);
+        writer.file = filename;
+        writer.fileBytes = fileBytes;
+        return writer;
+    }
+
+    /**
+     * Write one result
+     * @param result Result of one graph
+     */
+    public void write(ResultWriter.TestResult result) {
+        beginEvent();
+        switch (format) {
+            case JSON:
+                out.println(records == 0 ? "" : ",");
+                writeJSONRecord(result);
+                break;
+            case NDJSON:
+                writeNDJSONRecord(result);
+                break;
+            case CSV:
+                writeCSVRecord(result);
+                break;
+        }
+        records++;
+    }
+
+    /**
+     * Get the number of results written so far
+     * @return record count
+     */
+    public int getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Flush buffered records to the destination
+     */
+    public void flush() {
+        out.flush();
+    }
+
+    /**
+     * Finish the document and close the destination
+     * @throws IOException if a previous write failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (format == Format.JSON) {
+            out.println();
+            out.println("  ]");
+            out.println("}");
+        }
+        boolean failed = out.checkError();
+        out.close();
+        if (file != null) {
+            beginEvent();
+            if (event.shouldCommit()) {
+                event.file = file;
+                event.records = records;
+                event.bytes = fileBytes[0];
+                event.commit();
+            }
+        }
+        if (failed) {
+            throw new IOException("Error writing results");
+        }
+    }
+
+    /**
+     * Start timing the write stage at the first record
+     */
+    private void beginEvent() {
+        if (file != null && event == null) {
+            event = new MSTEvents.ResultWrite();
+            event.begin();
+        }
+    }
+
+    // ---- JSON ----
+
+    private void writeJSONRecord(ResultWriter.TestResult result) {
+        out.println("    {");
+        out.printf("      \"graph_id\": %d,%n", result.graphId);
+
+        // Input stats
+        out.println("      \"input_stats\": {");
+        out.printf("        \"vertices\": %d,%n", result.vertices);
+        out.printf("        \"edges\": %d%n", result.edges);
+        out.println("      },");
+
+        // Prim results
+        out.println("      \"prim\": {");
+        writeJSONAlgorithm(result.primEdges, result.primCost, result.primOperations, result.primTime);
+        out.println("      },");
+
+        // Kruskal results
+        out.println("      \"kruskal\": {");
+        writeJSONAlgorithm(result.kruskalEdges, result.kruskalCost, result.kruskalOperations, result.kruskalTime);
+        out.println("      }");
+
+        out.print("    }");
+    }
+
+    private void writeJSONAlgorithm(List<Edge> edges, int cost, int operations, long timeMicros) {
+        out.println("        \"mst_edges\": [");
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            out.printf("          {\"from\": \"%s\", \"to\": \"%s\", \"weight\": %d}",
+                      edge.getFrom(), edge.getTo(), edge.getWeight());
+            out.println(i < edges.size() - 1 ? "," : "");
+        }
+        out.println("        ],");
+        out.printf("        \"total_cost\": %d,%n", cost);
+        out.printf("        \"operations_count\": %d,%n", operations);
+        out.printf("        \"execution_time_ms\": %.2f%n", timeMicros / 1000.0);
+    }
+
+    // ---- NDJSON ----
+
+    private void writeNDJSONRecord(ResultWriter.TestResult result) {
+        StringBuilder sb = new StringBuilder(128 + 48 * (result.primEdges.size() + result.kruskalEdges.size()));
+        sb.append("{\"graph_id\":").append(result.graphId)
+          .append(",\"input_stats\":{\"vertices\":").append(result.vertices)
+          .append(",\"edges\":").append(result.edges).append('}');
+        sb.append(",\"prim\":");
+        appendNDJSONAlgorithm(sb, result.primEdges, result.primCost, result.primOperations, result.primTime);
+        sb.append(",\"kruskal\":");
+        appendNDJSONAlgorithm(sb, result.kruskalEdges, result.kruskalCost, result.kruskalOperations,
+                              result.kruskalTime);
+        sb.append('}').append('\n');
+        out.print(sb);
+    }
+
+    private static void appendNDJSONAlgorithm(StringBuilder sb, List<Edge> edges, int cost, int operations,
+                                              long timeMicros) {
+        sb.append("{\"mst_edges\":[");
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"from\":\"").append(edge.getFrom())
+              .append("\",\"to\":\"").append(edge.getTo())
+              .append("\",\"weight\":").append(edge.getWeight()).append('}');
+        }
+        sb.append("],\"total_cost\":").append(cost)
+          .append(",\"operations_count\":").append(operations)
+          .append(",\"execution_time_ms\":").append(String.format(Locale.ROOT, "%.2f", timeMicros / 1000.0))
+          .append('}');
+    }
+
+    // ---- CSV ----
+
+    /**
+     * Same bytes as generate_csv.py: times rounded to 2 decimals and
+     * printed like Python floats, cost_match as True/False, CRLF line ends
+     */
+    private void writeCSVRecord(ResultWriter.TestResult result) {
+        double primMillis = roundMillis(result.primTime / 1000.0);
+        double kruskalMillis = roundMillis(result.kruskalTime / 1000.0);
+        out.print(result.graphId + "," + result.vertices + "," + result.edges + ","
+            + result.primCost + "," + pythonFloat(primMillis) + "," + result.primOperations + ","
+            + result.kruskalCost + "," + pythonFloat(kruskalMillis) + "," + result.kruskalOperations + ","
+            + (result.primCost == result.kruskalCost ? "True" : "False") + ","
+            + pythonFloat(roundMillis(primMillis - kruskalMillis)) + ","
+            + (result.primOperations - result.kruskalOperations));
+        out.print(CSV_LINE_END);
+    }
+
+    private static double roundMillis(double millis) {
+        return Double.parseDouble(String.format(Locale.ROOT, "%.2f", millis));
+    }
+
+    /**
+     * Python's repr of a float: shortest digits like Double.toString, but
+     * without an exponent below 1e16 (Java switches at 1e7)
+     */
+    static String pythonFloat(double value) {
+        if (Math.abs(value) < 1e7) {
+            return Double.toString(value);
+        }
+        String plain = new BigDecimal(Double.toString(value)).toPlainString();
+        return plain.indexOf('.') < 0 ? plain + ".0" : plain;
+    }
+}
@@ -10,24 +10,53 @@ import java.util.*;
 public class ResultWriter {
     
     /**
-     * Write results to JSON file
+     * Write results to JSON file (gzip-compressed if the name ends with ".gz")
      * 
      * @param results List of test results
      * @param filename Output filename
      * @throws IOException if write error occurs
      */
     public static void writeResultsToJSON(List<TestResult> results, String filename) throws IOException {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
-            writer.println("{");
-            writer.println("  \"results\": [");
-            
-            for (int i = 0; i < results.size(); i++) {
-                TestResult result = results.get(i);
-                writeResult(writer, result, i == results.size() - 1);
-            }
-            
-            writer.println("  ]");
-            writer.println("}");
+        MSTEvents.ResultWrite event = new MSTEvents.ResultWrite();
+        event.begin();
+        try (PrintWriter writer = new PrintWriter(CompressedIO.openWriter(filename))) {
+            writeResults(results, writer);
+        }
+        commitWriteEvent(event, filename, results.size());
+    }
+    
+    /**
+     * Write results as a JSON document to any writer
+     * 
+     * @param results List of test results
+     * @param writer Destination
+     */
+    public static void writeResults(List<TestResult> results, PrintWriter writer) {
+        writer.println("{");
+        writer.println("  \"results\": [");
+        
+        for (int i = 0; i < results.size(); i++) {
+            TestResult result = results.get(i);
+            writeResult(writer, result, i == results.size() - 1);
+        }
+        
+        writer.println("  ]");
+        writer.println("}");
+    }
+    
+    /**
+     * Commit a JFR write event if it is enabled
+     * 
+     * @param event Event started before writing
+     * @param filename Output filename
+     * @param records Number of results written
+     */
+    public static void commitWriteEvent(MSTEvents.ResultWrite event, String filename, int records) {
+        if (event.shouldCommit()) {
+            event.file = filename;
+            event.records = records;
+            event.bytes = new File(filename).length();
+            event.commit();
         }
     }
     
@@ -0,0 +1,311 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.*;
+import javax.management.*;
+
+/**
+ * Live metrics of the batch runner, exposed through JMX
+ * All counters are atomic, so worker threads can update them concurrently.
+ * Latencies are kept in power-of-two microsecond histograms (64 buckets),
+ * so percentiles are approximate to within a factor of two.
+ * 
+ * @author Almas
+ */
+public class RunnerMetrics implements RunnerMetricsMBean {
+    /** JMX name the runner registers under */
+    public static final String OBJECT_NAME = "mst:type=RunnerMetrics";
+    
+    private static final int BUCKETS = 64;
+    
+    private final AtomicLong graphsLoaded = new AtomicLong();
+    private final AtomicLong graphsProcessed = new AtomicLong();
+    private final AtomicLong graphsSkipped = new AtomicLong();
+    private final AtomicLong graphsFailed = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLongArray primHistogram = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray kruskalHistogram = new AtomicLongArray(BUCKETS);
+    private final AtomicLong primMax = new AtomicLong();
+    private final AtomicLong kruskalMax = new AtomicLong();
+    private final AtomicLong inputQueueDepth = new AtomicLong();
+    private final AtomicLong inputQueueMax = new AtomicLong();
+    private final AtomicLong reorderDepth = new AtomicLong();
+    private final AtomicLong reorderMax = new AtomicLong();
+    private final AtomicLong backpressureNanos = new AtomicLong();
+    private volatile long startNanos = System.nanoTime();
+    private volatile long lastProgressNanos = startNanos;
+    
+    /**
+     * Create metrics and register them with the platform MBean server
+     * Falls back to unregistered metrics if JMX registration fails
+     * 
+     * @return metrics instance
+     */
+    public static RunnerMetrics register() {
+        RunnerMetrics metrics = new RunnerMetrics();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(metrics, name);
+        } catch (JMException e) {
+            System.err.println("Warning: could not register JMX metrics: " + e.getMessage());
+        }
+        return metrics;
+    }
+    
+    public void addGraphsLoaded(long count) {
+        graphsLoaded.addAndGet(count);
+    }
+    
+    public void addBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+    
+    public void addBytesWritten(long bytes) {
+        bytesWritten.addAndGet(bytes);
+    }
+    
+    /**
+     * Record a graph whose MST was computed by both algorithms
+     * @param primNanos Prim's algorithm latency
+     * @param kruskalNanos Kruskal's algorithm latency
+     */
+    public void recordProcessed(long primNanos, long kruskalNanos) {
+        record(primHistogram, primMax, primNanos);
+        record(kruskalHistogram, kruskalMax, kruskalNanos);
+        graphsProcessed.incrementAndGet();
+        lastProgressNanos = System.nanoTime();
+    }
+    
+    public void recordSkippedDisconnected() {
+        graphsSkipped.incrementAndGet();
+        lastProgressNanos = System.nanoTime();
+    }
+    
+    public void recordFailed() {
+        graphsFailed.incrementAndGet();
+        lastProgressNanos = System.nanoTime();
+    }
+    
+    /**
+     * Record the number of graphs waiting for a pipeline worker
+     * @param depth Current input queue size
+     */
+    public void recordInputQueueDepth(int depth) {
+        inputQueueDepth.set(depth);
+        inputQueueMax.accumulateAndGet(depth, Math::max);
+    }
+    
+    /**
+     * Record the number of results waiting for an earlier graph to be written
+     * @param depth Current reorder buffer size
+     */
+    public void recordReorderBufferDepth(int depth) {
+        reorderDepth.set(depth);
+        reorderMax.accumulateAndGet(depth, Math::max);
+    }
+    
+    public void addBackpressureWait(long nanos) {
+        backpressureNanos.addAndGet(nanos);
+    }
+    
+    private static void record(AtomicLongArray histogram, AtomicLong max, long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        histogram.incrementAndGet(bucketOf(micros));
+        max.accumulateAndGet(micros, Math::max);
+    }
+    
+    /**
+     * Bucket i holds values in [2^(i-1), 2^i); bucket 0 holds 0
+     */
+    static int bucketOf(long micros) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+    
+    /**
+     * Approximate percentile: upper bound of the bucket containing it
+     */
+    static long percentile(AtomicLongArray histogram, double fraction) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += histogram.get(i);
+        }
+        if (total == 0) return 0;
+        
+        long rank = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram.get(i);
+            if (seen >= rank) {
+                return i == 0 ? 0 : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+    
+    private static long[] snapshot(AtomicLongArray histogram) {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+    
+    @Override
+    public long getGraphsLoaded() {
+        return graphsLoaded.get();
+    }
+    
+    @Override
+    public long getGraphsProcessed() {
+        return graphsProcessed.get();
+    }
+    
+    @Override
+    public long getGraphsSkippedDisconnected() {
+        return graphsSkipped.get();
+    }
+    
+    @Override
+    public long getGraphsFailed() {
+        return graphsFailed.get();
+    }
+    
+    @Override
+    public long getGraphsPending() {
+        return Math.max(0, graphsLoaded.get() - graphsProcessed.get() - graphsSkipped.get() - graphsFailed.get());
+    }
+    
+    @Override
+    public double getGraphsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long done = graphsProcessed.get() + graphsSkipped.get() + graphsFailed.get();
+        return seconds > 0 ? done / seconds : 0;
+    }
+    
+    @Override
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+    
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+    
+    @Override
+    public long getUptimeMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+    
+    @Override
+    public long getMillisSinceLastProgress() {
+        return (System.nanoTime() - lastProgressNanos) / 1_000_000;
+    }
+    
+    @Override
+    public long getPrimLatencyP50Micros() {
+        return percentile(primHistogram, 0.50);
+    }
+    
+    @Override
+    public long getPrimLatencyP99Micros() {
+        return percentile(primHistogram, 0.99);
+    }
+    
+    @Override
+    public long getPrimLatencyMaxMicros() {
+        return primMax.get();
+    }
+    
+    @Override
+    public long getKruskalLatencyP50Micros() {
+        return percentile(kruskalHistogram, 0.50);
+    }
+    
+    @Override
+    public long getKruskalLatencyP99Micros() {
+        return percentile(kruskalHistogram, 0.99);
+    }
+    
+    @Override
+    public long getKruskalLatencyMaxMicros() {
+        return kruskalMax.get();
+    }
+    
+    @Override
+    public long[] getPrimLatencyHistogram() {
+        return snapshot(primHistogram);
+    }
+    
+    @Override
+    public long[] getKruskalLatencyHistogram() {
+        return snapshot(kruskalHistogram);
+    }
+    
+    @Override
+    public long getInputQueueDepth() {
+        return inputQueueDepth.get();
+    }
+    
+    @Override
+    public long getInputQueueMaxDepth() {
+        return inputQueueMax.get();
+    }
+    
+    @Override
+    public long getReorderBufferDepth() {
+        return reorderDepth.get();
+    }
+    
+    @Override
+    public long getReorderBufferMaxDepth() {
+        return reorderMax.get();
+    }
+    
+    @Override
+    public long getBackpressureWaitMillis() {
+        return backpressureNanos.get() / 1_000_000;
+    }
+    
+    @Override
+    public void reset() {
+        graphsLoaded.set(0);
+        graphsProcessed.set(0);
+        graphsSkipped.set(0);
+        graphsFailed.set(0);
+        bytesRead.set(0);
+        bytesWritten.set(0);
+        for (int i = 0; i < BUCKETS; i++) {
+            primHistogram.set(i, 0);
+            kruskalHistogram.set(i, 0);
+        }
+        primMax.set(0);
+        kruskalMax.set(0);
+        inputQueueDepth.set(0);
+        inputQueueMax.set(0);
+        reorderDepth.set(0);
+        reorderMax.set(0);
+        backpressureNanos.set(0);
+        startNanos = System.nanoTime();
+        lastProgressNanos = startNanos;
+    }
+    
+    /**
+     * One-line summary for logs
+     * @return summary string
+     */
+    @Override
+    public String toString() {
+        return String.format("processed=%d skipped=%d failed=%d pending=%d rate=%.1f graphs/s "
+                           + "prim p50/p99=%d/%dus kruskal p50/p99=%d/%dus "
+                           + "max queue=%d reorder=%d backpressure=%dms",
+                           getGraphsProcessed(), getGraphsSkippedDisconnected(), getGraphsFailed(),
+                           getGraphsPending(), getGraphsPerSecond(),
+                           getPrimLatencyP50Micros(), getPrimLatencyP99Micros(),
+                           getKruskalLatencyP50Micros(), getKruskalLatencyP99Micros(),
+                           getInputQueueMaxDepth(), getReorderBufferMaxDepth(), getBackpressureWaitMillis());
+    }
+}
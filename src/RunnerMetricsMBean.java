@@ -0,0 +1,65 @@
+/**
+ * JMX management interface for live batch runner metrics
+ * Registered as "mst:type=RunnerMetrics"; visible in JConsole / VisualVM
+ * 
+ * @author Almas
+ */
+public interface RunnerMetricsMBean {
+    
+    long getGraphsLoaded();
+    
+    long getGraphsProcessed();
+    
+    long getGraphsSkippedDisconnected();
+    
+    long getGraphsFailed();
+    
+    /** Graphs loaded but not yet processed, skipped or failed */
+    long getGraphsPending();
+    
+    /** Average throughput since the run started */
+    double getGraphsPerSecond();
+    
+    long getBytesRead();
+    
+    long getBytesWritten();
+    
+    long getUptimeMillis();
+    
+    /** Time since the last graph finished; grows during stalls */
+    long getMillisSinceLastProgress();
+    
+    long getPrimLatencyP50Micros();
+    
+    long getPrimLatencyP99Micros();
+    
+    long getPrimLatencyMaxMicros();
+    
+    long getKruskalLatencyP50Micros();
+    
+    long getKruskalLatencyP99Micros();
+    
+    long getKruskalLatencyMaxMicros();
+    
+    /** Counts per power-of-two microsecond bucket: bucket i holds [2^(i-1), 2^i) */
+    long[] getPrimLatencyHistogram();
+    
+    /** Counts per power-of-two microsecond bucket: bucket i holds [2^(i-1), 2^i) */
+    long[] getKruskalLatencyHistogram();
+    
+    /** Graphs read but not yet taken by a pipeline worker */
+    long getInputQueueDepth();
+    
+    long getInputQueueMaxDepth();
+    
+    /** Finished graphs waiting for an earlier graph before they can be written */
+    long getReorderBufferDepth();
+    
+    long getReorderBufferMaxDepth();
+    
+    /** Time the pipeline reader spent blocked because too many graphs were in flight */
+    long getBackpressureWaitMillis();
+    
+    /** Clear all counters and histograms */
+    void reset();
+}
@@ -0,0 +1,230 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Read-compute-write pipeline for the batch runner
+ * A reader thread streams graph objects from the input into a bounded
+ * queue, a pool of workers parses them and runs the algorithms, and the
+ * calling thread writes the results in input order as they become ready,
+ * so reading, computing and writing overlap.
+ *
+ * Backpressure: a semaphore caps the graphs in flight (queued, computing,
+ * or finished but waiting for an earlier graph). The reader takes a permit
+ * before reading the next graph and the writer returns it once the graph
+ * is written, so memory stays bounded for any input size and one slow
+ * graph stalls the reader instead of piling up results behind it.
+ *
+ * @author Almas
+ */
+public class RunnerPipeline {
+    private static final Task END_OF_INPUT = new Task(-1, null);
+
+    private final int workers;
+    private final int maxInFlight;
+    private final RunnerMetrics metrics;
+    private final Function<GraphReader.GraphData, ResultWriter.TestResult> processor;
+
+    /**
+     * Constructor
+     * @param workers Number of worker threads
+     * @param maxInFlight Maximum graphs read but not yet written
+     * @param metrics Metrics to update (graphs loaded, queue depths, backpressure)
+     * @param processor Computes the result of one graph (null to skip it); runs on the workers
+     */
+    public RunnerPipeline(int workers, int maxInFlight, RunnerMetrics metrics,
+                          Function<GraphReader.GraphData, ResultWriter.TestResult> processor) {
+        if (workers < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Workers and in-flight limit must be positive: "
+                                               + workers + ", " + maxInFlight);
+        }
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+        this.metrics = metrics;
+        this.processor = processor;
+    }
+
+    /**
+     * Process every graph of the input and write the results in input order
+     *
+     * @param input Graph stream to read (not closed)
+     * @param writer Destination for the results (not closed)
+     * @return number of results written
+     * @throws IOException if reading, parsing or processing a graph fails
+     */
+    public int run(GraphReader.GraphStream input, ResultStreamWriter writer) throws IOException {
+        BlockingQueue<Task> queue = new ArrayBlockingQueue<>(maxInFlight + workers);
+        BlockingQueue<Done> done = new LinkedBlockingQueue<>(); // at most maxInFlight + 1 entries
+        Semaphore permits = new Semaphore(maxInFlight);
+        AtomicInteger queued = new AtomicInteger(); // graphs in the queue, end markers excluded
+
+        Thread reader = new Thread(() -> read(input, queue, queued, done, permits), "pipeline-reader");
+        reader.setDaemon(true);
+        ExecutorService pool = Executors.newFixedThreadPool(workers, RunnerPipeline::newWorkerThread);
+        reader.start();
+        for (int w = 0; w < workers; w++) {
+            pool.execute(() -> compute(queue, queued, done));
+        }
+
+        try {
+            return write(writer, done, permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing results");
+        } finally {
+            reader.interrupt();
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Reader stage: take a permit, read one graph object, queue it
+     */
+    private void read(GraphReader.GraphStream input, BlockingQueue<Task> queue, AtomicInteger queued,
+                      BlockingQueue<Done> done, Semaphore permits) {
+        long sequence = 0;
+        try {
+            while (true) {
+                if (!permits.tryAcquire()) {
+                    long waitStart = System.nanoTime();
+                    permits.acquire();
+                    metrics.addBackpressureWait(System.nanoTime() - waitStart);
+                }
+                String graphObj = input.nextGraphObject();
+                if (graphObj == null) {
+                    break;
+                }
+                metrics.addGraphsLoaded(1);
+                metrics.recordInputQueueDepth(queued.incrementAndGet());
+                queue.put(new Task(sequence++, graphObj));
+            }
+            for (int w = 0; w < workers; w++) {
+                queue.put(END_OF_INPUT);
+            }
+            done.add(Done.endOfInput(sequence));
+        } catch (InterruptedException e) {
+            // Writer gave up; nothing left to do
+        } catch (Throwable e) {
+            // Errors too, or the writer would wait forever for the end of input
+            done.add(Done.failure(e));
+        }
+    }
+
+    /**
+     * Worker stage: parse and process graphs until the end of input
+     */
+    private void compute(BlockingQueue<Task> queue, AtomicInteger queued, BlockingQueue<Done> done) {
+        try {
+            while (true) {
+                Task task = queue.take();
+                if (task == END_OF_INPUT) {
+                    return;
+                }
+                metrics.recordInputQueueDepth(queued.decrementAndGet());
+                try {
+                    // Each graph gets its own symbol table: no shared lock, nothing kept after the graph
+                    GraphReader.GraphData graphData = GraphReader.parseGraph(task.graphObj);
+                    done.add(Done.graph(task.sequence, processor.apply(graphData)));
+                } catch (Throwable e) {
+                    // Errors too (e.g. StackOverflowError), or the writer would wait forever for this graph
+                    done.add(Done.failure(new IOException(
+                        "Failed to process graph " + (task.sequence + 1) + ": " + e, e)));
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Pipeline shut down
+        }
+    }
+
+    /**
+     * Writer stage: write results in sequence order, holding early ones back
+     */
+    private int write(ResultStreamWriter writer, BlockingQueue<Done> done, Semaphore permits)
+            throws IOException, InterruptedException {
+        // Skipped graphs are kept as null results so the sequence has no gaps
+        Map<Long, ResultWriter.TestResult> pending = new HashMap<>();
+        long next = 0;
+        long total = -1;
+        int written = 0;
+
+        while (total < 0 || next < total) {
+            Done item = done.take();
+            if (item.error != null) {
+                throw item.error instanceof IOException ? (IOException) item.error
+                    : new IOException("Failed to read graphs: " + item.error, item.error);
+            }
+            if (item.endOfInput) {
+                total = item.sequence;
+                continue;
+            }
+            pending.put(item.sequence, item.result);
+
+            while (pending.containsKey(next)) {
+                ResultWriter.TestResult result = pending.remove(next);
+                if (result != null) {
+                    writer.write(result);
+                    written++;
+                }
+                next++;
+                permits.release();
+            }
+            metrics.recordReorderBufferDepth(pending.size());
+        }
+        return written;
+    }
+
+    /**
+     * Workers are daemon threads, so a graph stuck in a long computation
+     * cannot keep the JVM alive after the pipeline has failed
+     */
+    private static Thread newWorkerThread(Runnable task) {
+        Thread thread = new Thread(task, "pipeline-worker");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * A graph object read from the input
+     */
+    private static class Task {
+        final long sequence;
+        final String graphObj;
+
+        Task(long sequence, String graphObj) {
+            this.sequence = sequence;
+            this.graphObj = graphObj;
+        }
+    }
+
+    /**
+     * A finished graph, the end of input (graph count in sequence), or a failure
+     */
+    private static class Done {
+        final long sequence;
+        final ResultWriter.TestResult result;
+        final Throwable error;
+        final boolean endOfInput;
+
+        private Done(long sequence, ResultWriter.TestResult result, Throwable error, boolean endOfInput) {
+            this.sequence = sequence;
+            this.result = result;
+            this.error = error;
+            this.endOfInput = endOfInput;
+        }
+
+        static Done graph(long sequence, ResultWriter.TestResult result) {
+            return new Done(sequence, result, null, false);
+        }
+
+        static Done endOfInput(long graphCount) {
+            return new Done(graphCount, null, null, true);
+        }
+
+        static Done failure(Throwable error) {
+            return new Done(-1, null, error, false);
+        }
+    }
+}
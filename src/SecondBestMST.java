@@ -0,0 +1,281 @@
+import java.util.*;
+
+/**
+ * Second-best spanning tree and per-edge replacement costs
+ * Computes one MST with Kruskal's algorithm, then uses path-max queries
+ * and a skip-pointer union-find over the rooted tree to find, for every
+ * MST edge, the cheapest non-tree edge that can replace it.
+ * Total work is O(E log V) instead of one Kruskal run per removed edge.
+ *
+ * @author Almas
+ */
+public class SecondBestMST {
+    /** Returned as replacement cost when an MST edge is a bridge */
+    public static final int NO_REPLACEMENT = Integer.MAX_VALUE;
+
+    private final Graph graph;
+    private List<Edge> mstEdges;
+    private int totalCost;
+    private List<Edge> secondBestEdges;
+    private int secondBestCost;
+    private Edge[] replacementEdges;
+    private int[] replacementCosts;
+    private int operationCount;
+    private long executionTime;
+
+    /**
+     * Constructor
+     * @param graph Input graph
+     */
+    public SecondBestMST(Graph graph) {
+        this.graph = graph;
+        this.mstEdges = new ArrayList<>();
+        this.secondBestEdges = null;
+        this.replacementEdges = new Edge[0];
+        this.replacementCosts = new int[0];
+    }
+
+    /**
+     * Compute the MST, the second-best spanning tree and all replacement costs
+     * @return true if the graph is connected and an MST was found
+     */
+    public boolean compute() {
+        long startTime = System.nanoTime();
+
+        // Reset
+        secondBestEdges = null;
+        secondBestCost = NO_REPLACEMENT;
+        operationCount = 0;
+
+        KruskalAlgorithm kruskal = new KruskalAlgorithm(graph);
+        boolean found = kruskal.findMST();
+        mstEdges = kruskal.getMSTEdges();
+        totalCost = kruskal.getTotalCost();
+        operationCount += kruskal.getOperationCount();
+        replacementEdges = new Edge[mstEdges.size()];
+        replacementCosts = new int[mstEdges.size()];
+        Arrays.fill(replacementCosts, NO_REPLACEMENT);
+
+        if (!found) {
+            executionTime = (System.nanoTime() - startTime) / 1_000_000;
+            return false;
+        }
+
+        PathMaxIndex index = PathMaxIndex.fromMST(graph.getVertices(), mstEdges);
+        operationCount += index.getVertexCount();
+
+        // Non-tree edges (Kruskal returns the graph's own Edge objects)
+        Set<Edge> treeEdges = Collections.newSetFromMap(new IdentityHashMap<>());
+        treeEdges.addAll(mstEdges);
+        List<Edge> nonTreeEdges = new ArrayList<>();
+        for (Edge edge : graph.getEdges()) {
+            if (!treeEdges.contains(edge)) {
+                nonTreeEdges.add(edge);
+            }
+        }
+
+        findSecondBest(index, nonTreeEdges);
+        findReplacements(index, nonTreeEdges);
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        return true;
+    }
+
+    /**
+     * Second-best tree = MST + e - (heaviest tree edge on e's cycle), minimized over e
+     */
+    private void findSecondBest(PathMaxIndex index, List<Edge> nonTreeEdges) {
+        Edge bestAdded = null;
+        int bestRemoved = -1;
+
+        for (Edge edge : nonTreeEdges) {
+            int u = index.getVertexId(edge.getFrom());
+            int v = index.getVertexId(edge.getTo());
+            int removed = index.queryMaxEdgeIndex(u, v);
+            operationCount++; // Path-max query
+            if (removed < 0) continue; // Self-loop
+
+            int cost = totalCost + edge.getWeight() - index.getEdgeWeight(removed);
+            if (bestAdded == null || cost < secondBestCost) {
+                bestAdded = edge;
+                bestRemoved = removed;
+                secondBestCost = cost;
+            }
+        }
+
+        if (bestAdded != null) {
+            secondBestEdges = new ArrayList<>(mstEdges);
+            secondBestEdges.set(bestRemoved, bestAdded);
+        }
+    }
+
+    /**
+     * Assign each tree edge the lightest non-tree edge whose cycle covers it.
+     * Non-tree edges are processed by weight; a tree edge is assigned once and
+     * then skipped via union-find pointers, so each is touched O(α) times.
+     */
+    private void findReplacements(PathMaxIndex index, List<Edge> nonTreeEdges) {
+        nonTreeEdges.sort(null);
+        operationCount += nonTreeEdges.size(); // Sorting
+
+        int n = index.getVertexCount();
+        int[] skip = new int[n];
+        for (int v = 0; v < n; v++) {
+            skip[v] = v;
+        }
+
+        for (Edge edge : nonTreeEdges) {
+            int u = index.getVertexId(edge.getFrom());
+            int v = index.getVertexId(edge.getTo());
+            int ancestor = index.lca(u, v);
+            assignPath(index, skip, u, ancestor, edge);
+            assignPath(index, skip, v, ancestor, edge);
+        }
+    }
+
+    /**
+     * Walk from vertex up to ancestor, assigning every unassigned parent edge
+     */
+    private void assignPath(PathMaxIndex index, int[] skip, int vertex, int ancestor, Edge edge) {
+        int depthLimit = index.getDepth(ancestor);
+        int x = findSkip(skip, vertex);
+        while (index.getDepth(x) > depthLimit) {
+            int treeEdge = index.getParentEdge(x);
+            replacementEdges[treeEdge] = edge;
+            replacementCosts[treeEdge] = totalCost - index.getEdgeWeight(treeEdge) + edge.getWeight();
+            operationCount++; // Assignment
+            skip[x] = index.getParent(x);
+            x = findSkip(skip, x);
+        }
+    }
+
+    /**
+     * Find the closest ancestor-or-self whose parent edge is still unassigned
+     */
+    private int findSkip(int[] skip, int v) {
+        while (skip[v] != v) {
+            skip[v] = skip[skip[v]]; // Path halving
+            v = skip[v];
+        }
+        return v;
+    }
+
+    /**
+     * Get the MST edges
+     * @return List of edges in MST
+     */
+    public List<Edge> getMSTEdges() {
+        return new ArrayList<>(mstEdges);
+    }
+
+    /**
+     * Get the total cost of MST
+     * @return total cost
+     */
+    public int getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Check if a second-best spanning tree exists (graph is not itself a tree)
+     * @return true if a second-best tree exists
+     */
+    public boolean hasSecondBest() {
+        return secondBestEdges != null;
+    }
+
+    /**
+     * Get the edges of the second-best spanning tree
+     * @return List of edges, or null if none exists
+     */
+    public List<Edge> getSecondBestEdges() {
+        return secondBestEdges == null ? null : new ArrayList<>(secondBestEdges);
+    }
+
+    /**
+     * Get the cost of the second-best spanning tree
+     * @return cost, or NO_REPLACEMENT if none exists
+     */
+    public int getSecondBestCost() {
+        return secondBestCost;
+    }
+
+    /**
+     * Get the cheapest replacement for the i-th MST edge
+     * @param mstEdgeIndex Index into getMSTEdges()
+     * @return replacement edge, or null if the edge is a bridge
+     */
+    public Edge getReplacementEdge(int mstEdgeIndex) {
+        return replacementEdges[mstEdgeIndex];
+    }
+
+    /**
+     * Get the MST cost after the i-th MST edge fails and is replaced
+     * @param mstEdgeIndex Index into getMSTEdges()
+     * @return new spanning tree cost, or NO_REPLACEMENT if the edge is a bridge
+     */
+    public int getReplacementCost(int mstEdgeIndex) {
+        return replacementCosts[mstEdgeIndex];
+    }
+
+    /**
+     * Get replacement costs for all MST edges, in getMSTEdges() order
+     * @return array of costs (NO_REPLACEMENT for bridges)
+     */
+    public int[] getReplacementCosts() {
+        return Arrays.copyOf(replacementCosts, replacementCosts.length);
+    }
+
+    /**
+     * Check if the i-th MST edge has no replacement
+     * @param mstEdgeIndex Index into getMSTEdges()
+     * @return true if removing the edge disconnects the graph
+     */
+    public boolean isBridge(int mstEdgeIndex) {
+        return replacementEdges[mstEdgeIndex] == null;
+    }
+
+    /**
+     * Get the number of operations performed
+     * @return operation count
+     */
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Get execution time in milliseconds
+     * @return execution time
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Get formatted results string
+     * @return results string
+     */
+    public String getResultsString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Second-Best MST Results:\n");
+        sb.append("MST Cost: ").append(totalCost).append("\n");
+        if (hasSecondBest()) {
+            sb.append("Second-Best Cost: ").append(secondBestCost).append("\n");
+        } else {
+            sb.append("Second-Best Cost: none (graph is a tree)\n");
+        }
+        sb.append("Operations: ").append(operationCount).append("\n");
+        sb.append("Execution Time: ").append(executionTime).append(" ms\n");
+        sb.append("Replacements:\n");
+        for (int i = 0; i < mstEdges.size(); i++) {
+            sb.append("  ").append(mstEdges.get(i)).append(" -> ");
+            if (isBridge(i)) {
+                sb.append("bridge");
+            } else {
+                sb.append(replacementEdges[i]).append(" (cost ").append(replacementCosts[i]).append(")");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+}
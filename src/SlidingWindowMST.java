@@ -0,0 +1,552 @@
+import java.util.*;
+
+/**
+ * Minimum spanning forest of a sliding time window over an edge stream
+ * Edges arrive with non-decreasing timestamps and expire windowLength time
+ * units later. The MSF of the live edges is kept in a link-cut tree:
+ *   - a new edge is linked if it joins two trees, otherwise it replaces the
+ *     heaviest edge on the cycle it closes (or is dropped if it is the heaviest)
+ *   - an expiring edge outside the MSF changes nothing
+ *   - an expiring MSF edge is cut and replaced by the lightest live edge
+ *     across the cut, if any
+ *
+ * Replacement candidates come from two more forests kept like the two
+ * stacks of a FIFO queue: "back" is the MSF of the edges added since the
+ * last flip (insert only), "front" holds the MSF of every suffix of the
+ * older edges (built newest-first at the flip, each insertion logged so it
+ * can be undone when that edge expires). MSF(window) lies within
+ * MSF(front) + MSF(back), so at most 2(V-1) candidates are checked instead
+ * of the whole window. Inserts and non-tree expiries cost O(log V)
+ * amortized, tree expiries O(V).
+ *
+ * Ties are broken by arrival order (older first), so the forest matches
+ * KruskalAlgorithm on the window's edges in arrival order.
+ *
+ * Benchmark: java SlidingWindowMST [vertices] [window edges] [stream edges] [seed]
+ *
+ * @author Almas
+ */
+public class SlidingWindowMST {
+    private static final int MAIN = 0;
+    private static final int FRONT = 1;
+    private static final int BACK = 2;
+    private static final long NO_EDGE = -1L;
+
+    private final long windowLength;
+    private final SymbolTable symbols;
+    private int[] liveDegree;
+    private int liveVertexCount;
+    private long latestTime;
+
+    // Live edges, oldest first, as a ring buffer addressed by sequence number
+    private int[] from;
+    private int[] to;
+    private int[] weight;
+    private long[] time;
+    private long[] frontRemoved;
+    private int[][] slots;
+    private int head;
+    private int size;
+    private long headSeq;
+    private long frontEnd;
+
+    private final Forest main;
+    private final Forest front;
+    private final Forest back;
+
+    // Main forest adjacency (slots per vertex) and scratch for labelling the sides of a cut
+    private int[][] treeAdjacent = new int[16][];
+    private int[] treeDegree = new int[16];
+    private int[] visited = new int[0];
+    private byte[] side = new byte[0];
+    private int[][] queue = new int[2][0];
+    private int visitEpoch;
+
+    /**
+     * Constructor
+     * @param windowLength Edges expire once the current time is windowLength past their timestamp
+     */
+    public SlidingWindowMST(long windowLength) {
+        if (windowLength <= 0) {
+            throw new IllegalArgumentException("Window length must be positive: " + windowLength);
+        }
+        this.windowLength = windowLength;
+        this.symbols = new SymbolTable();
+        this.liveDegree = new int[16];
+        this.latestTime = Long.MIN_VALUE;
+        int capacity = 16;
+        this.from = new int[capacity];
+        this.to = new int[capacity];
+        this.weight = new int[capacity];
+        this.time = new long[capacity];
+        this.frontRemoved = new long[capacity];
+        this.slots = new int[3][capacity];
+        this.main = new Forest(MAIN);
+        this.front = new Forest(FRONT);
+        this.back = new Forest(BACK);
+    }
+
+    /**
+     * Add an edge (undirected), first expiring edges that are too old for its timestamp
+     * @param from Starting vertex
+     * @param to Ending vertex
+     * @param weight Edge weight
+     * @param timestamp Arrival time (not earlier than any previous one)
+     * @throws IllegalArgumentException if timestamp goes back in time
+     */
+    public void addEdge(String from, String to, int weight, long timestamp) {
+        advanceTo(timestamp);
+        int u = vertexId(from);
+        int v = vertexId(to);
+
+        long seq = headSeq + size;
+        ensureCapacity(size + 1);
+        int p = position(seq);
+        this.from[p] = u;
+        this.to[p] = v;
+        this.weight[p] = weight;
+        this.time[p] = timestamp;
+        this.frontRemoved[p] = NO_EDGE;
+        for (int[] forestSlots : slots) {
+            forestSlots[p] = -1;
+        }
+        size++;
+        addDegree(u, 1);
+        if (u != v) addDegree(v, 1);
+
+        back.insert(seq);
+        main.insert(seq);
+    }
+
+    /**
+     * Move the clock forward, expiring edges with timestamp <= now - windowLength
+     * @param now Current time (not earlier than any previous one)
+     * @throws IllegalArgumentException if now goes back in time
+     */
+    public void advanceTo(long now) {
+        if (now < latestTime) {
+            throw new IllegalArgumentException("Time went backwards: " + now + " < " + latestTime);
+        }
+        latestTime = now;
+        while (size > 0 && time[head] <= now - windowLength) {
+            expireOldest();
+        }
+    }
+
+    private void expireOldest() {
+        long seq = headSeq;
+        if (frontEnd <= seq) {
+            flip();
+        }
+
+        // Undo the oldest edge's insertion into the front forest
+        int p = position(seq);
+        if (front.contains(seq)) {
+            front.cut(seq);
+        }
+        if (frontRemoved[p] != NO_EDGE) {
+            front.link(frontRemoved[p]);
+        }
+
+        if (main.contains(seq)) {
+            main.cut(seq);
+            long replacement = lightestAcross(from[p], to[p]);
+            if (replacement != NO_EDGE) {
+                main.link(replacement);
+            }
+        }
+
+        addDegree(from[p], -1);
+        if (from[p] != to[p]) addDegree(to[p], -1);
+        head = (head + 1) & (from.length - 1);
+        headSeq++;
+        size--;
+    }
+
+    /**
+     * Move every back edge to the front: rebuild the suffix forests newest-first
+     */
+    private void flip() {
+        back.clear();
+        long end = headSeq + size;
+        for (long seq = end - 1; seq >= headSeq; seq--) {
+            long dropped = front.insert(seq);
+            frontRemoved[position(seq)] = dropped == seq ? NO_EDGE : dropped;
+        }
+        frontEnd = end;
+    }
+
+    /**
+     * Lightest front/back forest edge joining the main-forest trees of u and v
+     * (just cut apart). A live edge with one endpoint on a side must cross to
+     * the other side, or the main forest would not be spanning, so labelling
+     * the smaller side (two interleaved BFS runs) is enough.
+     */
+    private long lightestAcross(int u, int v) {
+        if (++visitEpoch == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            visitEpoch = 1;
+        }
+        int marked = smallerSide(u, v);
+
+        long best = NO_EDGE;
+        for (Forest forest : new Forest[] {front, back}) {
+            for (int slot = 0; slot < forest.slotCount; slot++) {
+                long seq = forest.slotSeq[slot];
+                if (seq == NO_EDGE || (best != NO_EDGE && !lighter(seq, best))) continue;
+                int p = position(seq);
+                boolean a = visited[from[p]] == visitEpoch && side[from[p]] == marked;
+                boolean b = visited[to[p]] == visitEpoch && side[to[p]] == marked;
+                if (a != b) {
+                    best = seq;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Explore both trees one vertex at a time until one is exhausted
+     * @return side (0 = u's tree, 1 = v's tree) whose vertices are all labelled
+     */
+    private int smallerSide(int u, int v) {
+        int n = symbols.size();
+        if (visited.length < n) {
+            visited = Arrays.copyOf(visited, n);
+            side = Arrays.copyOf(side, n);
+            queue = new int[2][n];
+        }
+        int[] heads = new int[2];
+        int[] tails = new int[2];
+        int[] roots = {u, v};
+        for (int s = 0; s < 2; s++) {
+            visited[roots[s]] = visitEpoch;
+            side[roots[s]] = (byte) s;
+            queue[s][tails[s]++] = roots[s];
+        }
+        while (true) {
+            for (int s = 0; s < 2; s++) {
+                if (heads[s] == tails[s]) {
+                    return s;
+                }
+                int x = queue[s][heads[s]++];
+                for (int k = 0; k < treeDegree[x]; k++) {
+                    int slot = treeAdjacent[x][k];
+                    int p = position(main.slotSeq[slot]);
+                    int y = from[p] == x ? to[p] : from[p];
+                    if (visited[y] != visitEpoch) {
+                        visited[y] = visitEpoch;
+                        side[y] = (byte) s;
+                        queue[s][tails[s]++] = y;
+                    }
+                }
+            }
+        }
+    }
+
+    private void addTreeAdjacent(int vertex, int slot) {
+        if (vertex >= treeDegree.length) {
+            int size = Math.max(vertex + 1, treeDegree.length * 2);
+            treeDegree = Arrays.copyOf(treeDegree, size);
+            treeAdjacent = Arrays.copyOf(treeAdjacent, size);
+        }
+        if (treeAdjacent[vertex] == null) {
+            treeAdjacent[vertex] = new int[4];
+        } else if (treeDegree[vertex] == treeAdjacent[vertex].length) {
+            treeAdjacent[vertex] = Arrays.copyOf(treeAdjacent[vertex], treeDegree[vertex] * 2);
+        }
+        treeAdjacent[vertex][treeDegree[vertex]++] = slot;
+    }
+
+    private void removeTreeAdjacent(int vertex, int slot) {
+        int[] list = treeAdjacent[vertex];
+        for (int k = 0; k < treeDegree[vertex]; k++) {
+            if (list[k] == slot) {
+                list[k] = list[--treeDegree[vertex]];
+                return;
+            }
+        }
+    }
+
+    private boolean lighter(long a, long b) {
+        int wa = weight[position(a)];
+        int wb = weight[position(b)];
+        return wa != wb ? wa < wb : a < b;
+    }
+
+    private int position(long seq) {
+        return (int) ((head + (seq - headSeq)) & (from.length - 1));
+    }
+
+    private void ensureCapacity(int needed) {
+        int capacity = from.length;
+        if (needed <= capacity) {
+            return;
+        }
+        int newCapacity = capacity * 2;
+        from = unwrap(from, newCapacity);
+        to = unwrap(to, newCapacity);
+        weight = unwrap(weight, newCapacity);
+        for (int f = 0; f < slots.length; f++) {
+            slots[f] = unwrap(slots[f], newCapacity);
+        }
+        long[] newTime = new long[newCapacity];
+        long[] newRemoved = new long[newCapacity];
+        for (int i = 0; i < size; i++) {
+            newTime[i] = time[(head + i) & (capacity - 1)];
+            newRemoved[i] = frontRemoved[(head + i) & (capacity - 1)];
+        }
+        time = newTime;
+        frontRemoved = newRemoved;
+        head = 0;
+    }
+
+    private int[] unwrap(int[] ring, int newCapacity) {
+        int[] result = new int[newCapacity];
+        for (int i = 0; i < size; i++) {
+            result[i] = ring[(head + i) & (ring.length - 1)];
+        }
+        return result;
+    }
+
+    private int vertexId(String name) {
+        int id = symbols.intern(name);
+        if (id >= liveDegree.length) {
+            liveDegree = Arrays.copyOf(liveDegree, Math.max(id + 1, liveDegree.length * 2));
+        }
+        return id;
+    }
+
+    private void addDegree(int vertex, int delta) {
+        if (liveDegree[vertex] == 0) liveVertexCount++;
+        liveDegree[vertex] += delta;
+        if (liveDegree[vertex] == 0) liveVertexCount--;
+    }
+
+    /**
+     * One spanning forest over the live edges, in a link-cut tree
+     * Vertex v is node 2v, the edge in slot s is node 2s+1.
+     */
+    private final class Forest {
+        final LinkCutTree tree = new LinkCutTree(64);
+        final int id;
+        long[] slotSeq = new long[16];
+        int slotCount;
+        int[] freeSlots = new int[16];
+        int freeCount;
+        int edgeCount;
+        long cost;
+
+        Forest(int id) {
+            this.id = id;
+        }
+
+        boolean contains(long seq) {
+            return slots[id][position(seq)] >= 0;
+        }
+
+        /**
+         * Insert an edge, keeping the forest minimal
+         * @return the edge that is not in the forest afterwards (seq itself or the
+         *         replaced one), or NO_EDGE if the edge joined two trees
+         */
+        long insert(long seq) {
+            int p = position(seq);
+            int u = from[p];
+            int v = to[p];
+            if (u == v) {
+                return seq; // Self-loop
+            }
+            tree.ensureCapacity(2 * symbols.size());
+            if (!tree.connected(2 * u, 2 * v)) {
+                link(seq);
+                return NO_EDGE;
+            }
+            long heaviest = slotSeq[(tree.pathMax(2 * u, 2 * v) - 1) / 2];
+            if (lighter(heaviest, seq)) {
+                return seq;
+            }
+            cut(heaviest);
+            link(seq);
+            return heaviest;
+        }
+
+        void link(long seq) {
+            int p = position(seq);
+            int slot = freeCount > 0 ? freeSlots[--freeCount] : newSlot();
+            int node = 2 * slot + 1;
+            tree.ensureCapacity(Math.max(node + 1, 2 * symbols.size()));
+            tree.setKey(node, weight[p], seq);
+            tree.link(node, 2 * from[p]);
+            tree.link(2 * to[p], node);
+            slotSeq[slot] = seq;
+            slots[id][p] = slot;
+            if (id == MAIN) {
+                addTreeAdjacent(from[p], slot);
+                addTreeAdjacent(to[p], slot);
+            }
+            edgeCount++;
+            cost += weight[p];
+        }
+
+        void cut(long seq) {
+            int p = position(seq);
+            int slot = slots[id][p];
+            int node = 2 * slot + 1;
+            tree.cut(2 * from[p], node);
+            tree.cut(node, 2 * to[p]);
+            if (id == MAIN) {
+                removeTreeAdjacent(from[p], slot);
+                removeTreeAdjacent(to[p], slot);
+            }
+            slotSeq[slot] = NO_EDGE;
+            slots[id][p] = -1;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+            edgeCount--;
+            cost -= weight[p];
+        }
+
+        void clear() {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (slotSeq[slot] != NO_EDGE) {
+                    cut(slotSeq[slot]);
+                }
+            }
+        }
+
+        private int newSlot() {
+            if (slotCount == slotSeq.length) {
+                slotSeq = Arrays.copyOf(slotSeq, slotCount * 2);
+            }
+            slotSeq[slotCount] = NO_EDGE;
+            return slotCount++;
+        }
+    }
+
+    /**
+     * Get the minimum spanning forest of the live edges, lightest first
+     * @return MSF edges (same order as KruskalAlgorithm on the window)
+     */
+    public List<Edge> getMSTEdges() {
+        long[] seqs = new long[main.edgeCount];
+        int count = 0;
+        for (int slot = 0; slot < main.slotCount; slot++) {
+            if (main.slotSeq[slot] != NO_EDGE) {
+                seqs[count++] = main.slotSeq[slot];
+            }
+        }
+        Long[] sorted = new Long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = seqs[i];
+        }
+        Arrays.sort(sorted, (a, b) -> lighter(a, b) ? -1 : (a.longValue() == b.longValue() ? 0 : 1));
+
+        List<Edge> edges = new ArrayList<>(count);
+        for (long seq : sorted) {
+            int p = position(seq);
+            edges.add(new Edge(symbols.getName(from[p]), symbols.getName(to[p]), weight[p]));
+        }
+        return edges;
+    }
+
+    /**
+     * Get the total cost of the minimum spanning forest
+     * @return total cost
+     */
+    public long getTotalCost() {
+        return main.cost;
+    }
+
+    /**
+     * Get the number of edges in the minimum spanning forest
+     * @return MSF edge count
+     */
+    public int getMSTEdgeCount() {
+        return main.edgeCount;
+    }
+
+    /**
+     * Check if the live edges connect all live vertices (the forest is a tree)
+     * @return true if connected
+     */
+    public boolean isConnected() {
+        return liveVertexCount > 0 && main.edgeCount == liveVertexCount - 1;
+    }
+
+    /**
+     * Get the number of live (unexpired) edges
+     * @return window edge count
+     */
+    public int getWindowEdgeCount() {
+        return size;
+    }
+
+    /**
+     * Get the number of vertices with at least one live edge
+     * @return live vertex count
+     */
+    public int getWindowVertexCount() {
+        return liveVertexCount;
+    }
+
+    /**
+     * Get the number of link-cut tree rotations performed so far
+     * @return operation count
+     */
+    public long getOperationCount() {
+        return main.tree.getOperationCount() + front.tree.getOperationCount() + back.tree.getOperationCount();
+    }
+
+    /**
+     * Benchmark incremental slides against rebuilding the window and rerunning Kruskal
+     */
+    public static void main(String[] args) {
+        int n = args.length >= 1 ? Integer.parseInt(args[0]) : 1000;
+        int window = args.length >= 2 ? Integer.parseInt(args[1]) : 50_000;
+        int stream = args.length >= 3 ? Integer.parseInt(args[2]) : 200_000;
+        long seed = args.length >= 4 ? Long.parseLong(args[3]) : 1L;
+
+        Random random = new Random(seed);
+        String[] fromNames = new String[stream];
+        String[] toNames = new String[stream];
+        int[] weights = new int[stream];
+        for (int i = 0; i < stream; i++) {
+            fromNames[i] = GraphGenerator.vertexName(random.nextInt(n));
+            toNames[i] = GraphGenerator.vertexName(random.nextInt(n));
+            weights[i] = 1 + random.nextInt(1000);
+        }
+        System.out.printf("Stream: %d vertices, %d edges, window of %d edges%n", n, stream, window);
+
+        // One edge per time unit, so the window always holds the last `window` edges
+        SlidingWindowMST sliding = new SlidingWindowMST(window);
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < stream; i++) {
+            sliding.addEdge(fromNames[i], toNames[i], weights[i], i);
+            checksum += sliding.getTotalCost();
+        }
+        double slideMicros = (System.nanoTime() - start) / 1000.0 / stream;
+        System.out.printf("Sliding window: %.2f us per slide (final cost %d, checksum %d)%n",
+                          slideMicros, sliding.getTotalCost(), checksum);
+
+        // Recompute from scratch for a sample of slides
+        int samples = 20;
+        start = System.nanoTime();
+        int cost = 0;
+        for (int s = 0; s < samples; s++) {
+            int end = stream - s * (stream / (samples * 4));
+            Graph graph = new Graph();
+            for (int i = Math.max(0, end - window); i < end; i++) {
+                graph.addEdge(fromNames[i], toNames[i], weights[i]);
+            }
+            KruskalAlgorithm kruskal = new KruskalAlgorithm(graph);
+            kruskal.findMST();
+            cost = s == 0 ? kruskal.getTotalCost() : cost;
+        }
+        double rebuildMicros = (System.nanoTime() - start) / 1000.0 / samples;
+        System.out.printf("Rebuild + Kruskal: %.2f us per slide (final cost %d)%n", rebuildMicros, cost);
+    }
+}
@@ -0,0 +1,266 @@
+import java.util.*;
+
+/**
+ * Symbol table that interns vertex names to dense int ids
+ * Each distinct name is stored once; lookups can be made directly on a
+ * region of the input text, so parsing does not allocate a String per
+ * edge endpoint. Uses open addressing with linear probing.
+ * Not thread-safe; synchronizedTable() returns a table whose methods are
+ * synchronized so it can be shared by parser threads (bulk callers should
+ * use canonicalize to take the lock once per batch).
+ *
+ * @author Almas
+ */
+public class SymbolTable {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private String[] names;  // id -> name
+    private int[] hashes;    // id -> cached hash
+    private int[] slots;     // hash slot -> id + 1 (0 = empty)
+    private int size;
+
+    /**
+     * Constructor
+     */
+    public SymbolTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with expected number of names
+     * @param expectedSize Expected number of distinct names
+     */
+    public SymbolTable(int expectedSize) {
+        int capacity = Math.max(DEFAULT_CAPACITY, expectedSize);
+        names = new String[capacity];
+        hashes = new int[capacity];
+        slots = new int[tableSizeFor(capacity * 2)];
+    }
+
+    /**
+     * Create a table that can be shared by several threads
+     * @param expectedSize Expected number of distinct names
+     * @return table whose methods are synchronized on the table
+     */
+    public static SymbolTable synchronizedTable(int expectedSize) {
+        return new SynchronizedSymbolTable(expectedSize);
+    }
+
+    /**
+     * Check whether the table can be shared by several threads
+     * @return true for tables from synchronizedTable
+     */
+    public boolean isSynchronized() {
+        return false;
+    }
+
+    /**
+     * Intern a name
+     * @param name Vertex name
+     * @return dense id of the name
+     */
+    public int intern(String name) {
+        return intern(name, 0, name.length());
+    }
+
+    /**
+     * Intern the name source[start, end) without creating a substring
+     * unless the name has not been seen before
+     *
+     * @param source Text containing the name
+     * @param start Start index (inclusive)
+     * @param end End index (exclusive)
+     * @return dense id of the name
+     */
+    public int intern(String source, int start, int end) {
+        int hash = hash(source, start, end);
+        int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == hash && matches(names[id], source, start, end)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // New name
+        int id = size++;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+        }
+        names[id] = (start == 0 && end == source.length()) ? source : source.substring(start, end);
+        hashes[id] = hash;
+        slots[slot] = id + 1;
+
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return id;
+    }
+
+    /**
+     * Intern a batch of names (under a single lock acquisition if synchronized)
+     * @param names Names to intern
+     * @param idsOut Receives the id of each name (may be null)
+     * @return canonical String instance for each name
+     */
+    public String[] canonicalize(String[] names, int[] idsOut) {
+        String[] canonical = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            int id = intern(names[i]);
+            if (idsOut != null) idsOut[i] = id;
+            canonical[i] = this.names[id];
+        }
+        return canonical;
+    }
+
+    /**
+     * Look up the id of a name without interning it
+     * @param name Vertex name
+     * @return id, or -1 if unknown
+     */
+    public int getId(String name) {
+        int hash = hash(name, 0, name.length());
+        int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == hash && matches(names[id], name, 0, name.length())) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the canonical name of an id
+     * @param id Vertex id
+     * @return name
+     */
+    public String getName(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Unknown symbol id: " + id);
+        }
+        return names[id];
+    }
+
+    /**
+     * Get all names, indexed by id
+     * @return array of names
+     */
+    public String[] getNames() {
+        return Arrays.copyOf(names, size);
+    }
+
+    /**
+     * Get the number of interned names
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Same hash as String.hashCode, computed over a region
+     */
+    private static int hash(String source, int start, int end) {
+        if (start == 0 && end == source.length()) {
+            return source.hashCode(); // Cached by String
+        }
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + source.charAt(i);
+        }
+        return h;
+    }
+
+    /**
+     * Spread hash bits so short names do not cluster
+     */
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Compare a stored name with a region of the source text
+     */
+    private static boolean matches(String name, String source, int start, int end) {
+        return name.length() == end - start && name.regionMatches(0, source, start, end - start);
+    }
+
+    /**
+     * Grow the slot table and reinsert all ids
+     */
+    private void rehash(int newLength) {
+        slots = new int[newLength];
+        int mask = newLength - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(hashes[id]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    /**
+     * Smallest power of two >= n
+     */
+    private static int tableSizeFor(int n) {
+        return Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+    }
+
+    /**
+     * Table for sharing between threads: every public method takes the table's lock
+     */
+    private static final class SynchronizedSymbolTable extends SymbolTable {
+        SynchronizedSymbolTable(int expectedSize) {
+            super(expectedSize);
+        }
+
+        @Override
+        public boolean isSynchronized() {
+            return true;
+        }
+
+        @Override
+        public synchronized int intern(String name) {
+            return super.intern(name);
+        }
+
+        @Override
+        public synchronized int intern(String source, int start, int end) {
+            return super.intern(source, start, end);
+        }
+
+        @Override
+        public synchronized String[] canonicalize(String[] names, int[] idsOut) {
+            return super.canonicalize(names, idsOut);
+        }
+
+        @Override
+        public synchronized int getId(String name) {
+            return super.getId(name);
+        }
+
+        @Override
+        public synchronized String getName(int id) {
+            return super.getName(id);
+        }
+
+        @Override
+        public synchronized String[] getNames() {
+            return super.getNames();
+        }
+
+        @Override
+        public synchronized int size() {
+            return super.size();
+        }
+    }
+}